@@ -16,8 +16,12 @@ public class AuthorizationConfiguration {
     private static final Logger log = LoggerFactory.getLogger(AuthorizationConfiguration.class);
 
     public static final int DEFAULT_TOKEN_LIFETIME_IN_MINUTES = 60*24;
+    public static final double DEFAULT_REFRESH_THRESHOLD = 0.5;
+    public static final int DEFAULT_ROLES_VERSION_TTL_SECONDS = 30;
 
     private Integer tokenLifetimeInMinutes;
+    private Double refreshThreshold;
+    private Integer rolesVersionTtlSeconds;
     private SecretKey key;
 
     public int getTokenLifetimeInMinutes() {
@@ -32,6 +36,38 @@ public class AuthorizationConfiguration {
         this.tokenLifetimeInMinutes = expirationInMinutes;
     }
 
+    /**
+     * Fraction of the token lifetime below which an authenticated request gets a new token.
+     * 0.5 reissues once the token is half used; 1 reissues on every request.
+     */
+    public double getRefreshThreshold() {
+        double value = DEFAULT_REFRESH_THRESHOLD;
+        if(refreshThreshold != null) {
+            value = Math.min(1.0, Math.max(0.0, refreshThreshold));
+        }
+        return value;
+    }
+
+    public void setRefreshThreshold(Double refreshThreshold) {
+        this.refreshThreshold = refreshThreshold;
+    }
+
+    /**
+     * How long a user's roles version is cached before the database is asked again, which
+     * bounds how long a role change takes to reach tokens that are already issued.
+     */
+    public int getRolesVersionTtlSeconds() {
+        int value = DEFAULT_ROLES_VERSION_TTL_SECONDS;
+        if(rolesVersionTtlSeconds != null) {
+            value = rolesVersionTtlSeconds;
+        }
+        return value;
+    }
+
+    public void setRolesVersionTtlSeconds(Integer rolesVersionTtlSeconds) {
+        this.rolesVersionTtlSeconds = rolesVersionTtlSeconds;
+    }
+
     public void setSecretKeyBase(String base) {
         if (base != null) {
             this.key = Keys.hmacShaKeyFor(base.getBytes());
@@ -0,0 +1,128 @@
+package org.trackdev.api.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.trackdev.api.controller.exceptions.ServiceUnavailableException;
+import org.trackdev.api.utils.ErrorConstants;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder that runs the (deliberately CPU-heavy) delegate on a small dedicated pool.
+ *
+ * At most one hash per thread of the pool runs at a time, so a burst of logins cannot take
+ * every core away from the other requests. Callers still wait for their result; when the
+ * queue is full, or the result takes longer than the max wait, they get a
+ * {@link ServiceUnavailableException} (503 with Retry-After) instead of piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final long RETRY_AFTER_SECONDS = 2;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMs = maxWaitMs;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait")
+                .description("Time a password hash waited in the queue before running")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Password hashes refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.record(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: cancelling keeps it from ever running. Already running: it finishes unused.
+            future.cancel(false);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        rejectedCounter.increment();
+        return new ServiceUnavailableException(ErrorConstants.PASSWORD_HASHING_BUSY, RETRY_AFTER_SECONDS);
+    }
+}
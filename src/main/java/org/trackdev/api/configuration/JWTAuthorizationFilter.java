@@ -8,18 +8,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.web.util.WebUtils;
 import org.trackdev.api.model.ErrorEntity;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
-import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,12 +25,14 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
     public static final String HEADER = "Authorization";
     public static final String PREFIX = "Bearer ";
+    /** Request attribute holding the validated claims, read by the token refresh filter */
+    public static final String CLAIMS_ATTRIBUTE = "JWT_CLAIMS";
 
-    private final AuthorizationConfiguration authorizationConfiguration;
+    private final JWTTokenVerifier tokenVerifier;
     private final CookieManager cookieManager;
 
-    public JWTAuthorizationFilter(AuthorizationConfiguration authorizationConfiguration, CookieManager cookieManager) {
-        this.authorizationConfiguration = authorizationConfiguration;
+    public JWTAuthorizationFilter(JWTTokenVerifier tokenVerifier, CookieManager cookieManager) {
+        this.tokenVerifier = tokenVerifier;
         this.cookieManager = cookieManager;
     }
 
@@ -52,10 +51,11 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
         }
 
         try {
-            Claims claims = validateToken(request);
+            Claims claims = tokenVerifier.verify(request);
             if (claims != null) {
-                if (claims.get("authorities") != null) {
+                if (claims.get(JWTTokenProvider.AUTHORITIES_CLAIM) != null) {
                     setUpSpringAuthentication(claims);
+                    request.setAttribute(CLAIMS_ATTRIBUTE, claims);
                 } else {
                     SecurityContextHolder.clearContext();
                 }
@@ -115,36 +115,6 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private Claims validateToken(HttpServletRequest request) {
-        String authenticationHeader = request.getHeader(HEADER);
-        if (authenticationHeader != null) {
-            if (authenticationHeader.startsWith(PREFIX)) {
-                String token = authenticationHeader.replace(PREFIX, "");
-                return Jwts.parser()
-                           .verifyWith(authorizationConfiguration.getKey())
-                           .build()
-                           .parseSignedClaims(token)
-                           .getPayload();
-            } else {
-                return null;
-            }
-        } else {
-            Cookie tokenCookie = WebUtils.getCookie(request, "trackdev_JWT");
-            if (tokenCookie != null) {
-                String cv = tokenCookie.getValue();
-                String decoded = new String(Base64.getDecoder().decode(cv));
-                String token = decoded.replace(PREFIX, "");
-                return Jwts.parser()
-                           .verifyWith(authorizationConfiguration.getKey())
-                           .build()
-                           .parseSignedClaims(token)
-                           .getPayload();
-            } else {
-                return null;
-            }
-        }
-    }
-
     /**
      * Metodo para autenticarnos dentro del flujo de Spring
      *
@@ -152,7 +122,7 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
      */
     @SuppressWarnings("unchecked")
     private void setUpSpringAuthentication(Claims claims) {
-        List<String> authorities = (List<String>) claims.get("authorities");
+        List<String> authorities = (List<String>) claims.get(JWTTokenProvider.AUTHORITIES_CLAIM);
 
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(claims.getSubject(), null,
                 authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
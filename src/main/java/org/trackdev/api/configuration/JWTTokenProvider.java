@@ -0,0 +1,70 @@
+package org.trackdev.api.configuration;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues the JWTs used for session authentication, both at login and on sliding refresh.
+ */
+@Component
+public class JWTTokenProvider {
+
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    public static final String ROLES_VERSION_CLAIM = "rv";
+
+    private final AuthorizationConfiguration authorizationConfiguration;
+
+    public JWTTokenProvider(AuthorizationConfiguration authorizationConfiguration) {
+        this.authorizationConfiguration = authorizationConfiguration;
+    }
+
+    /**
+     * Signed token for the user, prefixed with "Bearer ".
+     *
+     * @param authorities role names already prefixed with "ROLE_"
+     * @param rolesVersion the user's roles version the authorities were read at
+     */
+    public String createToken(String userId, List<String> authorities, long rolesVersion) {
+        long now = System.currentTimeMillis();
+        long durationInMilliseconds = authorizationConfiguration.getTokenLifetimeInMinutes() * 60L * 1000L;
+
+        String token = Jwts
+                .builder()
+                .id(UUID.randomUUID().toString())  // Unique JTI for each token
+                .subject(userId)  // User UUID as subject
+                .claim(AUTHORITIES_CLAIM, authorities)
+                .claim(ROLES_VERSION_CLAIM, rolesVersion)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + durationInMilliseconds))
+                .signWith(authorizationConfiguration.getKey())
+                .compact();
+
+        return "Bearer " + token;
+    }
+
+    /**
+     * True when less than the configured fraction of the token lifetime remains.
+     */
+    public boolean isDueForRefresh(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return true;
+        }
+        long lifetimeMillis = authorizationConfiguration.getTokenLifetimeInMinutes() * 60L * 1000L;
+        long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+        return remainingMillis < lifetimeMillis * authorizationConfiguration.getRefreshThreshold();
+    }
+
+    /**
+     * Roles version the token was issued with, or -1 for tokens issued before it was recorded.
+     */
+    public static long rolesVersionOf(Claims claims) {
+        Object value = claims.get(ROLES_VERSION_CLAIM);
+        return value instanceof Number number ? number.longValue() : -1L;
+    }
+}
@@ -1,10 +1,13 @@
 package org.trackdev.api.configuration;
 
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.trackdev.api.service.UserRolesVersionCache;
 import org.trackdev.api.service.UserService;
 
 import jakarta.servlet.FilterChain;
@@ -13,15 +16,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Base64;
-import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Filter that refreshes JWT tokens on each authenticated request.
- * This implements a "sliding session" mechanism where active users
- * have their token expiration extended automatically.
- * 
+ * Filter that keeps active sessions alive with a "sliding session" mechanism.
+ *
+ * A new token is issued only once less than the configured fraction of the current token's
+ * lifetime remains, so most requests neither sign a token nor rewrite the cookie. The roles of
+ * the new token are copied from the validated claims; they are read from the database only
+ * when the user's roles version no longer matches the one the token was issued with, in which
+ * case the token is reissued right away and the current request already uses the new roles.
+ *
  * The refreshed token is returned in:
  * - X-Refreshed-Token header (for API clients)
  * - Updated trackdev_JWT cookie (for web clients)
@@ -32,17 +38,20 @@ public class JWTTokenRefreshFilter extends OncePerRequestFilter {
     private static final String COOKIE_NAME = "trackdev_JWT";
     private static final String REFRESHED_TOKEN_HEADER = "X-Refreshed-Token";
     
-    private final AuthorizationConfiguration authorizationConfiguration;
+    private final JWTTokenProvider jwtTokenProvider;
     private final CookieManager cookieManager;
     private final UserService userService;
+    private final UserRolesVersionCache rolesVersionCache;
 
     public JWTTokenRefreshFilter(
-            AuthorizationConfiguration authorizationConfiguration,
+            JWTTokenProvider jwtTokenProvider,
             CookieManager cookieManager,
-            UserService userService) {
-        this.authorizationConfiguration = authorizationConfiguration;
+            UserService userService,
+            UserRolesVersionCache rolesVersionCache) {
+        this.jwtTokenProvider = jwtTokenProvider;
         this.cookieManager = cookieManager;
         this.userService = userService;
+        this.rolesVersionCache = rolesVersionCache;
     }
 
     @Override
@@ -60,31 +69,23 @@ public class JWTTokenRefreshFilter extends OncePerRequestFilter {
         // response has already been committed (flushed to the client).
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            // Only set for JWT-authenticated requests, so PAT requests are skipped here too
+            Claims claims = (Claims) request.getAttribute(JWTAuthorizationFilter.CLAIMS_ATTRIBUTE);
 
             if (authentication != null && authentication.isAuthenticated()
-                    && authentication.getPrincipal() instanceof String) {
-
-                // Skip token refresh for PAT-authenticated requests
-                Boolean isPATAuth = (Boolean) request.getAttribute(
-                    PATAuthorizationFilter.PAT_AUTH_ATTRIBUTE);
-                if (!Boolean.TRUE.equals(isPATAuth)) {
-                    String userId = (String) authentication.getPrincipal();
-
-                    // Skip token refresh for certain endpoints
-                    String requestPath = request.getServletPath();
-                    if (!shouldSkipRefresh(requestPath)) {
-                        // Generate refreshed token
-                        String refreshedToken = generateRefreshedToken(userId);
-
-                        // Add refreshed token to response header
-                        response.setHeader(REFRESHED_TOKEN_HEADER, refreshedToken);
-
-                        // Also update the cookie for web clients
-                        String cookieTokenValue = Base64.getEncoder()
-                                .withoutPadding()
-                                .encodeToString(refreshedToken.getBytes());
-                        cookieManager.addSessionCookie(request, response, COOKIE_NAME, cookieTokenValue);
-                    }
+                    && authentication.getPrincipal() instanceof String userId
+                    && claims != null
+                    && !shouldSkipRefresh(request.getServletPath())) {
+                String refreshedToken = refreshIfNeeded(userId, claims, authentication);
+                if (refreshedToken != null) {
+                    // Add refreshed token to response header
+                    response.setHeader(REFRESHED_TOKEN_HEADER, refreshedToken);
+
+                    // Also update the cookie for web clients
+                    String cookieTokenValue = Base64.getEncoder()
+                            .withoutPadding()
+                            .encodeToString(refreshedToken.getBytes());
+                    cookieManager.addSessionCookie(request, response, COOKIE_NAME, cookieTokenValue);
                 }
             }
         } catch (Exception e) {
@@ -105,30 +106,36 @@ public class JWTTokenRefreshFilter extends OncePerRequestFilter {
             || requestPath.startsWith("/auth/recovery")
             || requestPath.startsWith("/swagger")
             || requestPath.startsWith("/v3/api-docs")
-            || requestPath.matches("/sprints/\\d+/events");
+            || requestPath.matches("/sprints/\\d+/events")
+            || requestPath.equals("/events/stream");
     }
-    
+
     /**
-     * Generate a new JWT token with refreshed expiration time.
+     * New token for the request, or null when the current one is still good.
      */
-    private String generateRefreshedToken(String userId) {
-        // Fetch user data within transactional context to avoid lazy initialization issues
-        List<String> userRoles = userService.getRoles(userId).stream()
-                .map(roleName -> "ROLE_" + roleName)
-                .collect(Collectors.toList());
-
-        long durationInMilliseconds = authorizationConfiguration.getTokenLifetimeInMinutes() * 60L * 1000L;
-
-        String token = Jwts
-                .builder()
-                .id(java.util.UUID.randomUUID().toString())  // Unique JTI for each token
-                .subject(userId)  // User UUID as subject
-                .claim("authorities", userRoles)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + durationInMilliseconds))
-                .signWith(authorizationConfiguration.getKey())
-                .compact();
+    @SuppressWarnings("unchecked")
+    private String refreshIfNeeded(String userId, Claims claims, Authentication authentication) {
+        long tokenRolesVersion = JWTTokenProvider.rolesVersionOf(claims);
+        long currentRolesVersion = rolesVersionCache.getRolesVersion(userId);
+
+        if (tokenRolesVersion != currentRolesVersion) {
+            // Fetch user data within transactional context to avoid lazy initialization issues
+            List<String> userRoles = userService.getRoles(userId).stream()
+                    .map(roleName -> "ROLE_" + roleName)
+                    .collect(Collectors.toList());
+
+            UsernamePasswordAuthenticationToken updated = new UsernamePasswordAuthenticationToken(
+                    userId, authentication.getCredentials(),
+                    userRoles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+            SecurityContextHolder.getContext().setAuthentication(updated);
+
+            return jwtTokenProvider.createToken(userId, userRoles, currentRolesVersion);
+        }
 
-        return "Bearer " + token;
+        if (jwtTokenProvider.isDueForRefresh(claims)) {
+            List<String> userRoles = (List<String>) claims.get(JWTTokenProvider.AUTHORITIES_CLAIM);
+            return jwtTokenProvider.createToken(userId, userRoles, tokenRolesVersion);
+        }
+        return null;
     }
 }
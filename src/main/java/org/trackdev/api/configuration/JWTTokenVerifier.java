@@ -0,0 +1,135 @@
+package org.trackdev.api.configuration;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies session JWTs from the Authorization header or the trackdev_JWT cookie.
+ *
+ * Tokens that passed verification are remembered, keyed by a digest of the raw header or
+ * cookie value, until their own expiration, so repeat requests of a session skip both the
+ * signature check and the cookie decoding. Only the digest is kept, never the token.
+ */
+@Component
+public class JWTTokenVerifier {
+
+    public static final String COOKIE_NAME = "trackdev_JWT";
+
+    // Upper bound on remembered tokens; past it expired entries are purged and, if the cache
+    // is still full, new tokens are verified without being remembered
+    private static final int MAX_ENTRIES = 10_000;
+
+    private record Entry(Claims claims, long expiresAtMillis) {}
+
+    private final JwtParser parser;
+    private final ConcurrentHashMap<String, Entry> verified = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public JWTTokenVerifier(AuthorizationConfiguration authorizationConfiguration, MeterRegistry meterRegistry) {
+        // Immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parser()
+                .verifyWith(authorizationConfiguration.getKey())
+                .build();
+        this.hitCounter = Counter.builder("auth.jwt.cache")
+                .tag("result", "hit")
+                .description("Session tokens served from the verified-token cache")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("auth.jwt.cache")
+                .tag("result", "miss")
+                .description("Session tokens whose signature had to be verified")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims of the request's token, or null when it carries none. An Authorization header
+     * without the Bearer prefix also yields null. Invalid or expired tokens throw the
+     * corresponding JwtException.
+     */
+    public Claims verify(HttpServletRequest request) {
+        String header = request.getHeader(JWTAuthorizationFilter.HEADER);
+        if (header != null) {
+            if (!header.startsWith(JWTAuthorizationFilter.PREFIX)) {
+                return null;
+            }
+            return verify(header, false);
+        }
+        Cookie tokenCookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (tokenCookie == null) {
+            return null;
+        }
+        return verify(tokenCookie.getValue(), true);
+    }
+
+    /**
+     * Forgets the request's token, so it is verified again if it is ever presented after logout.
+     */
+    public void invalidate(HttpServletRequest request) {
+        String header = request.getHeader(JWTAuthorizationFilter.HEADER);
+        if (header != null) {
+            verified.remove(digest(header));
+        }
+        Cookie tokenCookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (tokenCookie != null) {
+            verified.remove(digest(tokenCookie.getValue()));
+        }
+    }
+
+    private Claims verify(String rawValue, boolean cookie) {
+        long now = System.currentTimeMillis();
+        String key = digest(rawValue);
+        Entry entry = verified.get(key);
+        if (entry != null) {
+            if (entry.expiresAtMillis() > now) {
+                hitCounter.increment();
+                return entry.claims();
+            }
+            verified.remove(key);
+        }
+
+        missCounter.increment();
+        String bearer = cookie ? new String(Base64.getDecoder().decode(rawValue)) : rawValue;
+        String token = bearer.replace(JWTAuthorizationFilter.PREFIX, "");
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            remember(key, new Entry(claims, expiration.getTime()), now);
+        }
+        return claims;
+    }
+
+    private void remember(String key, Entry entry, long now) {
+        if (verified.size() >= MAX_ENTRIES) {
+            verified.values().removeIf(e -> e.expiresAtMillis() <= now);
+            if (verified.size() >= MAX_ENTRIES) {
+                return;
+            }
+        }
+        verified.put(key, entry);
+    }
+
+    private static String digest(String rawValue) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().withoutPadding()
+                    .encodeToString(sha256.digest(rawValue.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.trackdev.api.serializer.EmailPrivacyFilter;
 
 /**
  * Jackson configuration for handling Java 8 types like Optional.
@@ -18,6 +19,8 @@ public class JacksonConfiguration {
         ObjectMapper objectMapper = builder.createXmlMapper(false).build();
         // Explicitly register Jdk8Module to handle Optional<T> in request/response
         objectMapper.registerModule(new Jdk8Module());
+        // User DTOs carry the email privacy filter; outside a filtered response it writes everything
+        objectMapper.setFilterProvider(EmailPrivacyFilter.SHOW_ALL);
         return objectMapper;
     }
 }
@@ -7,10 +7,9 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.trackdev.api.entity.PersonalAccessToken;
-import org.trackdev.api.entity.User;
 import org.trackdev.api.model.ErrorEntity;
 import org.trackdev.api.service.PersonalAccessTokenService;
+import org.trackdev.api.service.PersonalAccessTokenService.PatPrincipal;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -51,16 +50,15 @@ public class PATAuthorizationFilter extends OncePerRequestFilter {
 
             if (token.startsWith(PAT_PREFIX)) {
                 try {
-                    PersonalAccessToken pat = patService.authenticate(token);
-                    if (pat != null) {
-                        User user = pat.getUser();
-                        var authorities = user.getRoles().stream()
-                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getUserType().name()))
+                    PatPrincipal principal = patService.authenticate(token);
+                    if (principal != null) {
+                        var authorities = principal.authorities().stream()
+                            .map(SimpleGrantedAuthority::new)
                             .collect(Collectors.toList());
 
                         UsernamePasswordAuthenticationToken auth =
                             new UsernamePasswordAuthenticationToken(
-                                user.getId(), null, authorities);
+                                principal.userId(), null, authorities);
 
                         SecurityContextHolder.getContext().setAuthentication(auth);
                         request.setAttribute(PAT_AUTH_ATTRIBUTE, true);
@@ -0,0 +1,175 @@
+package org.trackdev.api.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.trackdev.api.configuration.TrackDevProperties.Limit;
+import org.trackdev.api.configuration.TrackDevProperties.RateLimitGroup;
+import org.trackdev.api.model.ErrorEntity;
+import org.trackdev.api.service.RateLimitStore;
+import org.trackdev.api.service.RateLimitStore.Decision;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for the whole API.
+ *
+ * Every request draws from the bucket of the first configured endpoint group it matches, kept
+ * per authenticated user (per IP when anonymous), then from the bucket of its client IP, so a
+ * request the group rejects does not use up the address's share. Runs after authentication so
+ * the user is known. Rejected requests get 429 with Retry-After.
+ *
+ * Buckets live in the configured {@link RateLimitStore}: in memory for a single node, or in
+ * the database when several nodes must share them.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private static final int MAX_IP_LENGTH = 64;
+
+    private final TrackDevProperties.RateLimit config;
+    private final RateLimitStore store;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(TrackDevProperties trackDevProperties, RateLimitStore store, MeterRegistry meterRegistry,
+                           ObjectMapper objectMapper) {
+        this.config = trackDevProperties.getRateLimit();
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        Gauge.builder("ratelimit.buckets", store, RateLimitStore::size)
+                .description("Rate limit buckets held by this node's store (-1 when not tracked)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !config.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String ip = clientIp(request);
+        Map.Entry<String, RateLimitGroup> group = matchGroup(request);
+        Decision groupDecision = null;
+        if (group != null) {
+            String userId = currentUserId();
+            String scope = userId != null ? "user" : "ip";
+            String key = group.getKey() + ":" + (userId != null ? "u:" + userId : "ip:" + ip);
+            RateLimitGroup limit = group.getValue();
+            groupDecision = store.tryAcquire(key, limit.getCapacity(), limit.getRefillPerMinute());
+            if (!groupDecision.allowed()) {
+                reject(response, group.getKey(), scope, groupDecision);
+                return;
+            }
+        }
+
+        Limit perIp = config.getPerIp();
+        Decision decision = store.tryAcquire("ip:" + ip, perIp.getCapacity(), perIp.getRefillPerMinute());
+        if (!decision.allowed()) {
+            reject(response, "ip", "ip", decision);
+            return;
+        }
+        if (groupDecision != null) {
+            response.setHeader(LIMIT_HEADER, String.valueOf(group.getValue().getCapacity()));
+            response.setHeader(REMAINING_HEADER, String.valueOf(groupDecision.remaining()));
+        }
+        chain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelayString = "${trackdev.rate-limit.purge-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void purgeExpiredBuckets() {
+        if (config.isEnabled()) {
+            store.purgeExpired();
+        }
+    }
+
+    /**
+     * Client address. X-Forwarded-For is resolved by the container (server.forward-headers-strategy),
+     * which takes the rightmost hop not added by a trusted proxy, so the remote address is the
+     * one the reverse proxy saw; the header itself is client-controlled and never read here.
+     */
+    public static String clientIp(HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        return ip.length() > MAX_IP_LENGTH ? ip.substring(0, MAX_IP_LENGTH) : ip;
+    }
+
+    private Map.Entry<String, RateLimitGroup> matchGroup(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (Map.Entry<String, RateLimitGroup> entry : config.getGroups().entrySet()) {
+            RateLimitGroup group = entry.getValue();
+            if (!group.getMethods().isEmpty()
+                    && group.getMethods().stream().noneMatch(m -> m.equalsIgnoreCase(request.getMethod()))) {
+                continue;
+            }
+            for (String pattern : group.getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    private void reject(HttpServletResponse response, String group, String scope, Decision decision)
+            throws IOException {
+        rejectedCounters.computeIfAbsent(group + "|" + scope, k -> Counter.builder("ratelimit.rejected")
+                .description("Requests rejected by the API rate limiter")
+                .tag("group", group)
+                .tag("scope", scope)
+                .register(meterRegistry)).increment();
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DateFormattingConfiguration.SIMPLE_DATE_FORMAT);
+        ErrorEntity errorEntity = new ErrorEntity(dateFormat.format(new Date()),
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded", "Too many requests");
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(decision.retryAfterMillis() + 999));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter out = response.getWriter();
+        out.print(objectMapper.writeValueAsString(errorEntity));
+        out.flush();
+    }
+}
@@ -1,5 +1,6 @@
 package org.trackdev.api.configuration;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -8,8 +9,8 @@ import java.util.concurrent.TimeUnit;
  * Simple in-memory rate limiter for login attempts.
  * Limits requests per IP/email combination to prevent brute force attacks.
  * 
- * For production deployments with multiple instances, consider using
- * Redis-based rate limiting (e.g., Bucket4j with Redis).
+ * General request rates for the whole API are limited by {@link RateLimitFilter};
+ * this class only adds the lockout after repeated failed logins.
  */
 @Component
 public class RateLimiter {
@@ -116,9 +117,10 @@ public class RateLimiter {
     }
     
     /**
-     * Cleanup old entries (call periodically to prevent memory leaks).
+     * Cleanup old entries to prevent memory leaks.
      * Entries older than 1 hour are removed.
      */
+    @Scheduled(fixedRate = 10, timeUnit = TimeUnit.MINUTES)
     public void cleanup() {
         long now = System.currentTimeMillis();
         long maxAge = TimeUnit.HOURS.toMillis(1);
@@ -1,5 +1,9 @@
 package org.trackdev.api.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -10,13 +14,26 @@ import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
 @Configuration
 public class SecurityBeansConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityBeansConfiguration.class);
+
     /**
-     * Primary password encoder using SCrypt (more secure than BCrypt)
+     * Primary password encoder using SCrypt (more secure than BCrypt).
+     * Hashing runs on a bounded pool so login bursts cannot starve other requests.
+     * The queue is kept under half the connection pool: callers that hash inside a transaction
+     * hold a connection while queued, and must not be able to take the whole pool.
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @Primary
-    public PasswordEncoder passwordEncoder() {
-        return SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8();
+    public BoundedPasswordEncoder passwordEncoder(TrackDevProperties trackDevProperties, MeterRegistry meterRegistry,
+                                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        TrackDevProperties.Auth auth = trackDevProperties.getAuth();
+        int queueCapacity = Math.min(auth.getPasswordHashQueueCapacity(), Math.max(1, connectionPoolSize / 2));
+        if (queueCapacity < auth.getPasswordHashQueueCapacity()) {
+            log.warn("Password hash queue capped at {} for a connection pool of {}", queueCapacity, connectionPoolSize);
+        }
+        return new BoundedPasswordEncoder(SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                auth.getPasswordHashThreads(), queueCapacity,
+                auth.getPasswordHashMaxWaitMs(), meterRegistry);
     }
 
     /**
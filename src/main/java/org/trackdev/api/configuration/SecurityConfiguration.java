@@ -29,7 +29,7 @@ import jakarta.servlet.DispatcherType;
 public class SecurityConfiguration {
 
     @Autowired
-    private AuthorizationConfiguration authorizationConfiguration;
+    private JWTTokenVerifier tokenVerifier;
 
     @Autowired
     private CookieManager cookieManager;
@@ -40,6 +40,9 @@ public class SecurityConfiguration {
     @Autowired
     private PATAuthorizationFilter patAuthorizationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -62,10 +65,11 @@ public class SecurityConfiguration {
                 .requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
                 .anyRequest().authenticated())
             .addFilterBefore(
-                new JWTAuthorizationFilter(authorizationConfiguration, cookieManager),
+                new JWTAuthorizationFilter(tokenVerifier, cookieManager),
                 UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(patAuthorizationFilter, JWTAuthorizationFilter.class)
-            .addFilterAfter(jwtTokenRefreshFilter, JWTAuthorizationFilter.class);
+            .addFilterAfter(jwtTokenRefreshFilter, JWTAuthorizationFilter.class)
+            .addFilterAfter(rateLimitFilter, JWTTokenRefreshFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,30 @@
+package org.trackdev.api.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.trackdev.api.dto.SseStatsDTO;
+import org.trackdev.api.service.SseEmitterService;
+
+/**
+ * Actuator endpoint (/actuator/sse on the management port) with the live SSE connection
+ * figures of this node and the sprints with the most subscribers.
+ */
+@Component
+@Endpoint(id = "sse")
+public class SseEndpoint {
+
+    private static final int DEFAULT_TOP_SPRINTS = 10;
+    private static final int MAX_TOP_SPRINTS = 100;
+
+    @Autowired
+    private SseEmitterService sseEmitterService;
+
+    @ReadOperation
+    public SseStatsDTO stats(@Nullable Integer limit) {
+        int top = limit == null ? DEFAULT_TOP_SPRINTS : Math.min(Math.max(limit, 0), MAX_TOP_SPRINTS);
+        return sseEmitterService.getStats(top);
+    }
+}
@@ -3,6 +3,11 @@ package org.trackdev.api.configuration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties(prefix = "trackdev")
 public class TrackDevProperties {
@@ -16,6 +21,8 @@ public class TrackDevProperties {
     private final Sse sse = new Sse();
     private final StressTest stressTest = new StressTest();
     private final Firebase firebase = new Firebase();
+    private final AccessIndex accessIndex = new AccessIndex();
+    private final RateLimit rateLimit = new RateLimit();
 
     public Auth getAuth() {
         return auth;
@@ -49,12 +56,25 @@ public class TrackDevProperties {
         return stressTest;
     }
 
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public AccessIndex getAccessIndex() {
+        return accessIndex;
+    }
+
     public Firebase getFirebase() {
         return firebase;
     }
 
     public static class Auth {
         private int tokenLifetimeInMinutes;
+        private double refreshThreshold = 0.5;
+        private int rolesVersionTtlSeconds = 30;
+        private int passwordHashThreads = 0;
+        private int passwordHashQueueCapacity = 12;
+        private long passwordHashMaxWaitMs = 5000;
         private String secretKeyBase;
 
         public int getTokenLifetimeInMinutes() {
@@ -65,6 +85,47 @@ public class TrackDevProperties {
             this.tokenLifetimeInMinutes = tokenLifetimeInMinutes;
         }
 
+        public double getRefreshThreshold() {
+            return refreshThreshold;
+        }
+
+        public void setRefreshThreshold(double refreshThreshold) {
+            this.refreshThreshold = refreshThreshold;
+        }
+
+        public int getRolesVersionTtlSeconds() {
+            return rolesVersionTtlSeconds;
+        }
+
+        public void setRolesVersionTtlSeconds(int rolesVersionTtlSeconds) {
+            this.rolesVersionTtlSeconds = rolesVersionTtlSeconds;
+        }
+
+        /** Threads hashing and verifying passwords; 0 uses one per available core. */
+        public int getPasswordHashThreads() {
+            return passwordHashThreads;
+        }
+
+        public void setPasswordHashThreads(int passwordHashThreads) {
+            this.passwordHashThreads = passwordHashThreads;
+        }
+
+        public int getPasswordHashQueueCapacity() {
+            return passwordHashQueueCapacity;
+        }
+
+        public void setPasswordHashQueueCapacity(int passwordHashQueueCapacity) {
+            this.passwordHashQueueCapacity = passwordHashQueueCapacity;
+        }
+
+        public long getPasswordHashMaxWaitMs() {
+            return passwordHashMaxWaitMs;
+        }
+
+        public void setPasswordHashMaxWaitMs(long passwordHashMaxWaitMs) {
+            this.passwordHashMaxWaitMs = passwordHashMaxWaitMs;
+        }
+
         public String getSecretKeyBase() {
             return secretKeyBase;
         }
@@ -76,6 +137,11 @@ public class TrackDevProperties {
         @Override
         public String toString() {
             return "Auth{tokenLifetimeInMinutes=" + tokenLifetimeInMinutes +
+                    ", refreshThreshold=" + refreshThreshold +
+                    ", rolesVersionTtlSeconds=" + rolesVersionTtlSeconds +
+                    ", passwordHashThreads=" + passwordHashThreads +
+                    ", passwordHashQueueCapacity=" + passwordHashQueueCapacity +
+                    ", passwordHashMaxWaitMs=" + passwordHashMaxWaitMs +
                     ", secretKeyBase='***'}";
         }
     }
@@ -244,6 +310,14 @@ public class TrackDevProperties {
         private long heartbeatIntervalSeconds = 30;
         private int threadPoolSize = 4;
         private int asyncPoolSize = 10;
+        private int queueCapacity = 32;
+        private long slowConsumerTimeoutMs = 30000;
+        private int replayBufferSize = 100;
+        private long replayRetentionSeconds = 300;
+        private String bus = "local";
+        private long busPollIntervalMs = 500;
+        private long busRetentionSeconds = 600;
+        private int maxTopicsPerConnection = 100;
 
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
@@ -266,11 +340,38 @@ public class TrackDevProperties {
         public int getAsyncPoolSize() { return asyncPoolSize; }
         public void setAsyncPoolSize(int asyncPoolSize) { this.asyncPoolSize = asyncPoolSize; }
 
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public long getSlowConsumerTimeoutMs() { return slowConsumerTimeoutMs; }
+        public void setSlowConsumerTimeoutMs(long slowConsumerTimeoutMs) { this.slowConsumerTimeoutMs = slowConsumerTimeoutMs; }
+
+        public int getReplayBufferSize() { return replayBufferSize; }
+        public void setReplayBufferSize(int replayBufferSize) { this.replayBufferSize = replayBufferSize; }
+
+        public long getReplayRetentionSeconds() { return replayRetentionSeconds; }
+        public void setReplayRetentionSeconds(long replayRetentionSeconds) { this.replayRetentionSeconds = replayRetentionSeconds; }
+
+        public String getBus() { return bus; }
+        public void setBus(String bus) { this.bus = bus; }
+
+        public long getBusPollIntervalMs() { return busPollIntervalMs; }
+        public void setBusPollIntervalMs(long busPollIntervalMs) { this.busPollIntervalMs = busPollIntervalMs; }
+
+        public long getBusRetentionSeconds() { return busRetentionSeconds; }
+        public void setBusRetentionSeconds(long busRetentionSeconds) { this.busRetentionSeconds = busRetentionSeconds; }
+
+        public int getMaxTopicsPerConnection() { return maxTopicsPerConnection; }
+        public void setMaxTopicsPerConnection(int maxTopicsPerConnection) { this.maxTopicsPerConnection = maxTopicsPerConnection; }
+
         @Override
         public String toString() {
             return "Sse{enabled=" + enabled + ", maxConnections=" + maxConnections +
                     ", maxConnectionsPerUser=" + maxConnectionsPerUser +
-                    ", threadPoolSize=" + threadPoolSize + ", asyncPoolSize=" + asyncPoolSize + "}";
+                    ", threadPoolSize=" + threadPoolSize + ", asyncPoolSize=" + asyncPoolSize +
+                    ", queueCapacity=" + queueCapacity + ", slowConsumerTimeoutMs=" + slowConsumerTimeoutMs +
+                    ", replayBufferSize=" + replayBufferSize + ", bus='" + bus + "'" +
+                    ", maxTopicsPerConnection=" + maxTopicsPerConnection + "}";
         }
     }
 
@@ -318,6 +419,96 @@ public class TrackDevProperties {
         }
     }
 
+    /**
+     * The access index answers grants and denials from memory. syncIntervalMs bounds how long a
+     * membership, ownership or role change committed on another node keeps being answered the
+     * old way here; rebuildIntervalSeconds bounds it when a change escapes the change log
+     * (manual SQL, a change-log poll that keeps failing).
+     */
+    public static class AccessIndex {
+        private boolean enabled = true;
+        private long rebuildIntervalSeconds = 300;
+        private long syncIntervalMs = 2000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getRebuildIntervalSeconds() { return rebuildIntervalSeconds; }
+        public void setRebuildIntervalSeconds(long rebuildIntervalSeconds) { this.rebuildIntervalSeconds = rebuildIntervalSeconds; }
+
+        public long getSyncIntervalMs() { return syncIntervalMs; }
+        public void setSyncIntervalMs(long syncIntervalMs) { this.syncIntervalMs = syncIntervalMs; }
+
+        @Override
+        public String toString() {
+            return "AccessIndex{enabled=" + enabled + ", rebuildIntervalSeconds=" + rebuildIntervalSeconds
+                    + ", syncIntervalMs=" + syncIntervalMs + "}";
+        }
+    }
+
+    /** Token bucket: up to capacity requests at once, refilled at refillPerMinute. */
+    public static class Limit {
+        private int capacity = 100;
+        private int refillPerMinute = 300;
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public int getRefillPerMinute() { return refillPerMinute; }
+        public void setRefillPerMinute(int refillPerMinute) { this.refillPerMinute = refillPerMinute; }
+
+        @Override
+        public String toString() {
+            return "capacity=" + capacity + ", refillPerMinute=" + refillPerMinute;
+        }
+    }
+
+    /** Endpoint group, limited per authenticated user (or per IP for anonymous requests). */
+    public static class RateLimitGroup extends Limit {
+        private List<String> paths = new ArrayList<>();
+        private List<String> methods = new ArrayList<>();
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        @Override
+        public String toString() {
+            return "{paths=" + paths + ", methods=" + methods + ", " + super.toString() + "}";
+        }
+    }
+
+    public static class RateLimit {
+        private boolean enabled = true;
+        private String store = "memory";
+        private long purgeIntervalSeconds = 60;
+        private Limit perIp = new Limit();
+        private Map<String, RateLimitGroup> groups = new LinkedHashMap<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getStore() { return store; }
+        public void setStore(String store) { this.store = store; }
+
+        public long getPurgeIntervalSeconds() { return purgeIntervalSeconds; }
+        public void setPurgeIntervalSeconds(long purgeIntervalSeconds) { this.purgeIntervalSeconds = purgeIntervalSeconds; }
+
+        public Limit getPerIp() { return perIp; }
+        public void setPerIp(Limit perIp) { this.perIp = perIp; }
+
+        public Map<String, RateLimitGroup> getGroups() { return groups; }
+        public void setGroups(Map<String, RateLimitGroup> groups) { this.groups = groups; }
+
+        @Override
+        public String toString() {
+            return "RateLimit{enabled=" + enabled + ", store='" + store + "', perIp={" + perIp
+                    + "}, groups=" + groups + "}";
+        }
+    }
+
     @Override
     public String toString() {
         return "TrackDevProperties{" +
@@ -330,6 +521,8 @@ public class TrackDevProperties {
                 ",\n  sse=" + sse +
                 ",\n  stressTest=" + stressTest +
                 ",\n  firebase=" + firebase +
+                ",\n  accessIndex=" + accessIndex +
+                ",\n  rateLimit=" + rateLimit +
                 "\n}";
     }
 }
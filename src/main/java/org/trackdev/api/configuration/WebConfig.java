@@ -41,16 +41,23 @@ public class WebConfig implements WebMvcConfigurer {
      * a DB connection the entire time. With 80+ concurrent SSE connections this exhausts
      * the HikariCP pool, blocking all REST requests.
      *
-     * By excluding SSE paths, those endpoints get no OSIV EntityManager — the auth check
-     * in checkSprintAccess() uses its own @Transactional(propagation=REQUIRES_NEW) which
-     * creates and closes a dedicated EntityManager, releasing the DB connection immediately.
+     * By excluding SSE paths, those endpoints get no OSIV EntityManager — the auth checks
+     * in checkSprintAccess() and EventStreamService.resolveTopics() run in their own
+     * transactions, which create and close a dedicated EntityManager, releasing the DB
+     * connection immediately.
+     *
+     * Login, password change and invite acceptance are excluded for the same reason: they wait
+     * for a password hashing thread (up to the configured max wait), and each waiting request
+     * would otherwise hold a connection. Their services read and write in short transactions
+     * and hash in between, and the controllers only use what those transactions loaded.
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         OpenEntityManagerInViewInterceptor osiv = new OpenEntityManagerInViewInterceptor();
         osiv.setEntityManagerFactory(entityManagerFactory);
         registry.addWebRequestInterceptor(osiv)
-                .excludePathPatterns("/sprints/*/events");
+                .excludePathPatterns("/sprints/*/events", "/events/stream", "/courses/*/reports/*/compute/stream",
+                        "/auth/login", "/auth/password", "/invites/*/accept");
     }
 
     /**
@@ -9,12 +9,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.trackdev.api.dto.ActivitiesCursorResponseDTO;
 import org.trackdev.api.dto.ActivitiesResponseDTO;
 import org.trackdev.api.dto.ActivityDTO;
 import org.trackdev.api.dto.ActivityUnreadCountDTO;
 import org.trackdev.api.entity.Activity;
 import org.trackdev.api.mapper.ActivityMapper;
 import org.trackdev.api.service.ActivityService;
+import org.trackdev.api.utils.KeysetCursor;
 
 import java.security.Principal;
 import java.util.List;
@@ -62,6 +64,29 @@ public class ActivityController extends BaseController {
         );
     }
 
+    @Operation(summary = "Scroll activity feed",
+               description = "Get the next page of activities after an opaque cursor, for infinite scroll. The total is only counted when includeTotal is set")
+    @GetMapping("/scroll")
+    public ActivitiesCursorResponseDTO scrollActivities(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "projectId", required = false) Long projectId,
+            @RequestParam(name = "sprintId", required = false) Long sprintId,
+            @RequestParam(name = "actorId", required = false) String actorId,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal,
+            Principal principal) {
+        String userId = getUserId(principal);
+        KeysetCursor.Slice<Activity> slice = activityService.scrollActivitiesForUser(
+                userId, projectId, sprintId, actorId, cursor, Math.max(1, Math.min(size, 100)), includeTotal);
+
+        return new ActivitiesCursorResponseDTO(
+            activityMapper.toDTOList(slice.items()),
+            slice.nextCursor(),
+            slice.hasNext(),
+            slice.totalElements()
+        );
+    }
+
     @Operation(summary = "Get unread count", 
                description = "Get the count of unread activities since last access")
     @GetMapping("/unread-count")
@@ -1,6 +1,5 @@
 package org.trackdev.api.controller;
 
-import io.jsonwebtoken.Jwts;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,8 +8,10 @@ import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
-import org.trackdev.api.configuration.AuthorizationConfiguration;
 import org.trackdev.api.configuration.CookieManager;
+import org.trackdev.api.configuration.JWTTokenProvider;
+import org.trackdev.api.configuration.JWTTokenVerifier;
+import org.trackdev.api.configuration.RateLimitFilter;
 import org.trackdev.api.configuration.RateLimiter;
 import org.trackdev.api.controller.exceptions.ControllerException;
 import org.trackdev.api.dto.LoginResponseDTO;
@@ -31,7 +32,6 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.security.Principal;
 import java.util.Base64;
-import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,7 +49,10 @@ public class AuthController extends BaseController {
     CookieManager cookieManager;
 
     @Autowired
-    AuthorizationConfiguration authorizationConfiguration;
+    JWTTokenProvider jwtTokenProvider;
+
+    @Autowired
+    JWTTokenVerifier tokenVerifier;
 
     @Autowired
     EmailSenderService emailSenderService;
@@ -108,12 +111,7 @@ public class AuthController extends BaseController {
      * Extract client IP address, handling proxies (X-Forwarded-For header).
      */
     private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            // Get the first IP in the chain (original client)
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+        return RateLimitFilter.clientIp(request);
     }
 
     @Operation(summary = "Logout user",
@@ -123,6 +121,7 @@ public class AuthController extends BaseController {
     public ResponseEntity<Void> logout(HttpServletRequest request,
                                                      HttpServletResponse response) {
 
+        tokenVerifier.invalidate(request);
         cookieManager.removeCookie(request, response, COOKIE_NAME);
         return okNoContent();
     }
@@ -161,7 +160,7 @@ public class AuthController extends BaseController {
             throw new ControllerException(String.join(". ", errors));
         }
         String userId = super.getUserId(principal);
-        // All operations in a single transaction
+        // Short transactions around the hashes, none held while they run
         userService.changePasswordWithVerification(userId, userBody.oldPassword, userBody.newPassword);
 
         return okNoContent();
@@ -268,19 +267,7 @@ public class AuthController extends BaseController {
                 .map(role -> "ROLE_" + role.getUserType().name())
                 .collect(Collectors.toList());
 
-        long durationInMilliseconds = authorizationConfiguration.getTokenLifetimeInMinutes() * 60L * 1000L;
-
-        String token = Jwts
-                .builder()
-                .id(java.util.UUID.randomUUID().toString())  // Unique JTI for each token
-                .subject(user.getId())  // User UUID as subject
-                .claim("authorities", userRoles)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + durationInMilliseconds))
-                .signWith(authorizationConfiguration.getKey())
-                .compact();
-
-        return "Bearer " + token;
+        return jwtTokenProvider.createToken(user.getId(), userRoles, user.getRolesVersion());
     }
 
     static class LoginT {
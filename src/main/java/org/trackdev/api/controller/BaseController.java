@@ -3,9 +3,12 @@ package org.trackdev.api.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.MappingJacksonValue;
 import org.trackdev.api.controller.exceptions.ControllerException;
+import org.trackdev.api.entity.TaskStatus;
 import org.trackdev.api.utils.ErrorConstants;
 
 import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Created by imartin on 21/02/17.
@@ -39,4 +42,21 @@ public class BaseController {
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Parse a comma-separated list of task statuses, e.g. "TODO,DONE". Null when no filter is given.
+   */
+  static List<TaskStatus> parseStatusFilters(String statusParam) {
+    if (statusParam == null || statusParam.trim().isEmpty()) {
+      return null;
+    }
+    try {
+      return Arrays.stream(statusParam.split(","))
+              .map(String::trim)
+              .map(TaskStatus::valueOf)
+              .toList();
+    } catch (IllegalArgumentException e) {
+      throw new ControllerException(ErrorConstants.INVALID_STATUS_FILTER);
+    }
+  }
+
 }
@@ -4,10 +4,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.trackdev.api.configuration.UserType;
 import org.trackdev.api.controller.exceptions.ControllerException;
 import org.trackdev.api.dto.*;
@@ -83,6 +85,9 @@ public class CourseController extends BaseController {
     @Autowired
     ReportService reportService;
 
+    @Autowired
+    ReportMatrixService reportMatrixService;
+
     @Autowired
     StudentAttributeValueService studentAttributeValueService;
 
@@ -241,6 +246,30 @@ public class CourseController extends BaseController {
         return new CourseReportsResponse(reportMapper.toBasicDTOList(reports), courseId);
     }
 
+    @Operation(summary = "Compute a report for every project of a course",
+               description = "Compute a report for all the projects of a course at once, with course totals (course owner only). Optionally filter by task status (comma-separated).")
+    @GetMapping(path = "/{courseId}/reports/{reportId}/compute")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR')")
+    public CourseReportResultDTO computeCourseReport(Principal principal,
+                                                     @PathVariable(name = "courseId") Long courseId,
+                                                     @PathVariable(name = "reportId") Long reportId,
+                                                     @RequestParam(name = "status", required = false) String statusParam) {
+        String userId = super.getUserId(principal);
+        return reportMatrixService.computeForCourse(courseId, reportId, userId, parseStatusFilters(statusParam));
+    }
+
+    @Operation(summary = "Stream a report for every project of a course",
+               description = "Server-sent events with each project result as it finishes (\"project\") and the course totals at the end (\"complete\") (course owner only)")
+    @GetMapping(path = "/{courseId}/reports/{reportId}/compute/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR')")
+    public SseEmitter streamCourseReport(Principal principal,
+                                         @PathVariable(name = "courseId") Long courseId,
+                                         @PathVariable(name = "reportId") Long reportId,
+                                         @RequestParam(name = "status", required = false) String statusParam) {
+        String userId = super.getUserId(principal);
+        return reportMatrixService.streamForCourse(courseId, reportId, userId, parseStatusFilters(statusParam));
+    }
+
     @Operation(summary = "Get numeric profile attributes for report magnitude", 
                description = "Get TASK-targeted INTEGER and FLOAT attributes from the course's profile for use as report magnitude")
     @GetMapping(path = "/{courseId}/report-magnitude-attributes")
@@ -0,0 +1,61 @@
+package org.trackdev.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.trackdev.api.dto.EventStreamTopicsDTO;
+import org.trackdev.api.model.UpdateEventTopicsRequest;
+import org.trackdev.api.service.EventStreamService;
+import org.trackdev.api.service.SseEmitterService;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A single per-user SSE stream multiplexing sprint boards, project activity feeds,
+ * points review conversations and the unread activity signal.
+ */
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Activity", description = "Activity feed and notifications")
+@RestController
+@RequestMapping(path = "/events")
+public class EventStreamController extends BaseController {
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    @Autowired
+    private SseEmitterService sseEmitterService;
+
+    @Operation(summary = "Subscribe to the event stream",
+            description = "SSE endpoint delivering the events of several topics over one connection. "
+                    + "Topics: 'sprint:{id}', 'project:{id}', 'points-review:{id}' and 'unread'. "
+                    + "The 'connected' event carries the connection id used to change topics later. "
+                    + "Last-Event-ID replay works as on the sprint event stream.")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Principal principal,
+                             @RequestParam(name = "topics", required = false) List<String> topics,
+                             @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        String userId = super.getUserId(principal);
+        Set<String> resolved = eventStreamService.resolveTopics(topics, userId);
+        return sseEmitterService.subscribeTopics(userId, resolved, lastEventId);
+    }
+
+    @Operation(summary = "Change the topics of an event stream",
+            description = "Adds and removes topics on an open event stream of the current user")
+    @PatchMapping(path = "/stream/{connectionId}")
+    public EventStreamTopicsDTO updateTopics(Principal principal,
+                                             @PathVariable(name = "connectionId") String connectionId,
+                                             @RequestBody UpdateEventTopicsRequest request) {
+        String userId = super.getUserId(principal);
+        Set<String> added = eventStreamService.resolveTopics(request.getSubscribe(), userId);
+        Set<String> removed = eventStreamService.resolveTopicsToRemove(request.getUnsubscribe(), userId);
+        Set<String> topics = sseEmitterService.updateTopics(connectionId, userId, added, removed);
+        return new EventStreamTopicsDTO(connectionId, topics);
+    }
+}
@@ -18,7 +18,6 @@ import org.trackdev.api.entity.Project;
 import org.trackdev.api.entity.Report;
 import org.trackdev.api.entity.Sprint;
 import org.trackdev.api.entity.Task;
-import org.trackdev.api.entity.TaskStatus;
 import org.trackdev.api.entity.TaskType;
 import org.trackdev.api.mapper.ProjectMapper;
 import org.trackdev.api.mapper.ReportMapper;
@@ -324,17 +323,7 @@ public class ProjectController extends BaseController {
                                          @PathVariable(name = "reportId") Long reportId,
                                          @RequestParam(name = "status", required = false) String statusParam) {
         String userId = super.getUserId(principal);
-        
-        // Parse comma-separated status values
-        List<TaskStatus> statusFilters = null;
-        if (statusParam != null && !statusParam.trim().isEmpty()) {
-            statusFilters = Arrays.stream(statusParam.split(","))
-                    .map(String::trim)
-                    .map(TaskStatus::valueOf)
-                    .collect(Collectors.toList());
-        }
-        
-        return reportService.computeReportForProject(reportId, projectId, userId, statusFilters);
+        return reportService.computeReportForProject(reportId, projectId, userId, parseStatusFilters(statusParam));
     }
     @Operation(summary = "Apply a sprint pattern to a project", description = "Apply a sprint pattern to a project, creating sprints from the pattern items (professors only)")
     @PostMapping(path = "/{projectId}/apply-pattern/{patternId}")
@@ -53,7 +53,7 @@ public class SprintController extends CrudController<Sprint, SprintService> {
     @GetMapping(path = "/{id}/board")
     public SprintBoardDTO getSprintBoard(Principal principal, @PathVariable(name = "id") Long id) {
         String userId = super.getUserId(principal);
-        Sprint sprint = service.getSprint(id, userId);
+        Sprint sprint = service.getSprintBoard(id, userId);
         SprintBoardDTO boardDTO = sprintMapper.toBoardDTO(sprint);
         // Manually set tasks to avoid circular dependency between TaskMapper and SprintMapper
         boardDTO.setTasks(taskMapper.toBasicDTOCollection(sprint.getActiveTasks()));
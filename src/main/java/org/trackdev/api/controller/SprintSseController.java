@@ -27,11 +27,15 @@ public class SprintSseController extends BaseController {
     @Operation(summary = "Subscribe to sprint events",
             description = "SSE endpoint for real-time task updates. Returns a stream that may "
                     + "immediately complete with a 'disabled' or 'rejected' event if SSE is turned off "
-                    + "or connection limits are reached.")
+                    + "or connection limits are reached. Events carry ids; reconnecting with the "
+                    + "Last-Event-ID header replays missed events, or sends a single 'resync_required' "
+                    + "event when they are no longer available.")
     @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter subscribe(Principal principal, @PathVariable(name = "id") Long id) {
+    public SseEmitter subscribe(Principal principal,
+                                @PathVariable(name = "id") Long id,
+                                @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
         String userId = super.getUserId(principal);
         sprintService.checkSprintAccess(id, userId);
-        return sseEmitterService.subscribe(id, userId);
+        return sseEmitterService.subscribe(id, userId, lastEventId);
     }
 }
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -40,6 +41,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.security.Principal;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 @SecurityRequirement(name = "bearerAuth")
@@ -187,7 +189,10 @@ public class TaskController extends CrudController<Task, TaskService> {
         return taskMapper.toCompleteDTO(task);
     }
 
-    @Operation(summary = "Get history of logs of the task", description = "Get history of logs of the task")
+    @Operation(summary = "Get history of logs of the task",
+               description = "Get history of logs of the task, in the order the changes were recorded. The optional search " +
+                       "expression filters on typeColumn and author.id (e.g. \"typeColumn:name_change\"); any other " +
+                       "attribute or a malformed expression gives 400. Without search every change is returned")
     @GetMapping(path = "/{id}/history")
     public HistoryResponseDTO<TaskLogDTO> getHistory(Principal principal,
                                        @PathVariable(name = "id") Long id,
@@ -199,6 +204,33 @@ public class TaskController extends CrudController<Task, TaskService> {
         return new HistoryResponseDTO<>(historyDTO, id);
     }
 
+    @Operation(summary = "Scroll history of logs of the task",
+               description = "Get the next page of the task history, newest first, after an opaque cursor. Filters by change type, author and date range [from, to); the total is only counted when includeTotal is set")
+    @GetMapping(path = "/{id}/history/scroll")
+    public TaskHistoryCursorResponseDTO scrollHistory(Principal principal,
+                                       @PathVariable(name = "id") Long id,
+                                       @RequestParam(name = "cursor", required = false) String cursor,
+                                       @RequestParam(name = "size", defaultValue = "20") int size,
+                                       @RequestParam(name = "type", required = false) List<String> types,
+                                       @RequestParam(name = "authorId", required = false) String authorId,
+                                       @RequestParam(name = "from", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+                                       @RequestParam(name = "to", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+                                       @RequestParam(name = "search", required = false) String search,
+                                       @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        String userId = super.getUserId(principal);
+        var slice = service.scrollTaskHistory(id, userId, types, authorId, from, to, search, cursor,
+                Math.max(1, Math.min(size, 100)), includeTotal);
+        return new TaskHistoryCursorResponseDTO(
+                taskChangeMapper.toDTOList(slice.items()),
+                id,
+                slice.nextCursor(),
+                slice.hasNext(),
+                slice.totalElements()
+        );
+    }
+
     @Operation(summary = "Get PR change history for a task", description = "Get the history of all pull request changes linked to this task")
     @GetMapping(path = "/{id}/pr-history")
     public HistoryResponseDTO<PullRequestChange> getPrHistory(Principal principal, @PathVariable(name = "id") Long id) {
@@ -323,6 +355,30 @@ public class TaskController extends CrudController<Task, TaskService> {
         );
     }
 
+    @Operation(summary = "Scroll my tasks", description = "Get the next page of my tasks after an opaque cursor, for infinite scroll. The total is only counted when includeTotal is set")
+    @GetMapping("/my/scroll")
+    public TasksCursorResponseDTO scrollMyTasks(
+            Principal principal,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "type", required = false) TaskType type,
+            @RequestParam(name = "status", required = false) TaskStatus status,
+            @RequestParam(name = "assigneeId", required = false) String assigneeId,
+            @RequestParam(name = "projectId", required = false) Long projectId,
+            @RequestParam(name = "sortOrder", defaultValue = "desc") String sortOrder,
+            @RequestParam(name = "search", required = false) String search,
+            @RequestParam(name = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        String userId = super.getUserId(principal);
+        var slice = service.scrollMyTasks(userId, cursor, Math.max(1, Math.min(size, 100)), type, status,
+                assigneeId, projectId, sortOrder, search, includeTotal);
+        return new TasksCursorResponseDTO(
+                taskMapper.toBasicDTOList(slice.items()),
+                slice.nextCursor(),
+                slice.hasNext(),
+                slice.totalElements()
+        );
+    }
+
     @Operation(summary = "Freeze a task", description = "Freeze a task to prevent any modifications (PROFESSOR only)")
     @PostMapping(path = "/{taskId}/freeze")
     public TaskBasicDTO freezeTask(Principal principal, @PathVariable(name = "taskId") Long taskId) {
@@ -464,6 +464,24 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    protected ResponseEntity<Object> handleServiceUnavailable(ServiceUnavailableException ex, WebRequest request) {
+        String translatedMessage = messageResolver.getMessage(ex.getMessage(), ex.getMessageArgs());
+        log.warn("Service unavailable: {}", ex.getMessage());
+
+        ErrorEntity error = createErrorEntity("Service unavailable", HttpStatus.SERVICE_UNAVAILABLE, translatedMessage,
+                ex.getErrorCode(), request);
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("exceptionType", ex.getClass().getSimpleName());
+        details.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+        error.setDetails(details);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return new ResponseEntity<>(error, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(ControllerException.class)
     protected ResponseEntity<Object> handleControllerException(ControllerException ex, WebRequest request) {
         String translatedMessage = messageResolver.getMessage(ex.getMessage(), ex.getMessageArgs());
@@ -0,0 +1,21 @@
+package org.trackdev.api.controller.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a bounded resource is saturated and the request should be
+ * retried later. Mapped to 503 with a Retry-After header.
+ */
+public class ServiceUnavailableException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package org.trackdev.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a cursor page of activities. totalElements is only set when requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitiesCursorResponseDTO {
+    private List<ActivityDTO> activities;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
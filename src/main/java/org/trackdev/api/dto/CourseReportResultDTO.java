@@ -0,0 +1,30 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO with the results of a report for every project of a course, to compare teams.
+ */
+@Data
+public class CourseReportResultDTO {
+    private Long reportId;
+    private String reportName;
+    private Long courseId;
+
+    // One grid per project, sorted by project name
+    private List<ReportResultDTO> projects = new ArrayList<>();
+
+    // Grand total of each project: map of projectId -> total
+    private Map<Long, Integer> projectTotals = new HashMap<>();
+
+    // Projects whose report could not be computed
+    private List<Long> failedProjectIds = new ArrayList<>();
+
+    // Sum of the project grand totals
+    private int grandTotal;
+}
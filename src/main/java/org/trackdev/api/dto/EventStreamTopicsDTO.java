@@ -0,0 +1,21 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Topics a multiplexed event stream is subscribed to after a subscription change.
+ */
+@Data
+public class EventStreamTopicsDTO {
+    private String connectionId;
+    private Set<String> topics;
+
+    public EventStreamTopicsDTO() {}
+
+    public EventStreamTopicsDTO(String connectionId, Set<String> topics) {
+        this.connectionId = connectionId;
+        this.topics = topics;
+    }
+}
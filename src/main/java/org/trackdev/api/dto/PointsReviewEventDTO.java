@@ -0,0 +1,24 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+/**
+ * SSE notification that a points review conversation changed. Message DTOs depend on the
+ * viewer, so clients fetch the conversation again rather than reading the message from here.
+ */
+@Data
+public class PointsReviewEventDTO {
+    private String eventType;
+    private Long conversationId;
+    private Long messageId;
+    private String actorUserId;
+
+    public PointsReviewEventDTO() {}
+
+    public PointsReviewEventDTO(String eventType, Long conversationId, Long messageId, String actorUserId) {
+        this.eventType = eventType;
+        this.conversationId = conversationId;
+        this.messageId = messageId;
+        this.actorUserId = actorUserId;
+    }
+}
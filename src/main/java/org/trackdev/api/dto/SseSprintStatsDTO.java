@@ -0,0 +1,19 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+/**
+ * Number of live SSE connections subscribed to one sprint board.
+ */
+@Data
+public class SseSprintStatsDTO {
+    private Long sprintId;
+    private int subscribers;
+
+    public SseSprintStatsDTO() {}
+
+    public SseSprintStatsDTO(Long sprintId, int subscribers) {
+        this.sprintId = sprintId;
+        this.subscribers = subscribers;
+    }
+}
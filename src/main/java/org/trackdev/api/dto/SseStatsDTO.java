@@ -0,0 +1,21 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Snapshot of the SSE connections of this node, served by the actuator sse endpoint.
+ */
+@Data
+public class SseStatsDTO {
+    private boolean enabled;
+    private int totalConnections;
+    private int maxConnections;
+    private int connectedUsers;
+    private int maxConnectionsPerUser;
+    private int activeTopics;
+    private int replayLogs;
+    private int dispatchQueueSize;
+    private List<SseSprintStatsDTO> topSprints;
+}
@@ -29,4 +29,5 @@ public class TaskBasicDTO {
     private TaskBasicDTO parentTask;
     private Collection<SprintBasicDTO> activeSprints;
     private Collection<PullRequestDTO> pullRequests;
+    private Long eventVersion;
 }
@@ -2,11 +2,21 @@ package org.trackdev.api.dto;
 
 import lombok.Data;
 
+import java.util.Map;
+
+/**
+ * Real-time task event. Creations, and updates the server has no earlier state for, carry the
+ * full task; other updates only carry the board fields that changed. The version increases by
+ * one per event for the task: a client ignores events that are not newer than its copy, and
+ * fetches the task again when it sees a gap.
+ */
 @Data
 public class TaskEventDTO {
     private String eventType;
     private Long taskId;
+    private Long version;
     private String actorUserId;
     private String actorFullName;
     private TaskBasicDTO task;
+    private Map<String, Object> changed;
 }
@@ -0,0 +1,21 @@
+package org.trackdev.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a cursor page of a task's history. totalElements is only set when requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskHistoryCursorResponseDTO {
+    private List<TaskLogDTO> history;
+    private Long entityId;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
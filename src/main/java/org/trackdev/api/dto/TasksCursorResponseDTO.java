@@ -0,0 +1,20 @@
+package org.trackdev.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a cursor page of tasks. totalElements is only set when requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TasksCursorResponseDTO {
+    private List<TaskBasicDTO> tasks;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
@@ -0,0 +1,18 @@
+package org.trackdev.api.dto;
+
+import lombok.Data;
+
+/**
+ * SSE notification that new activity was recorded in a project, so the user's unread
+ * activity count has changed.
+ */
+@Data
+public class UnreadChangedEventDTO {
+    private Long projectId;
+
+    public UnreadChangedEventDTO() {}
+
+    public UnreadChangedEventDTO(Long projectId) {
+        this.projectId = projectId;
+    }
+}
@@ -1,6 +1,8 @@
 package org.trackdev.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
+import org.trackdev.api.serializer.EmailPrivacyFilter;
 
 import java.time.ZonedDateTime;
 import java.util.Set;
@@ -9,6 +11,7 @@ import java.util.Set;
  * DTO for User - Basic level (used in task assignments, member lists, etc.)
  */
 @Data
+@JsonFilter(EmailPrivacyFilter.FILTER_ID)
 public class UserBasicDTO {
     private String id;
     private String username;
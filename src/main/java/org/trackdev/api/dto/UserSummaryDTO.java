@@ -1,11 +1,14 @@
 package org.trackdev.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
+import org.trackdev.api.serializer.EmailPrivacyFilter;
 
 /**
  * DTO for User - Minimal info (used when embedded in tasks for project members view)
  */
 @Data
+@JsonFilter(EmailPrivacyFilter.FILTER_ID)
 public class UserSummaryDTO {
     private String id;
     private String username;
@@ -0,0 +1,62 @@
+package org.trackdev.api.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.ZonedDateTime;
+
+/**
+ * A committed change the access index depends on, written in the changing transaction so the
+ * other API nodes can refresh the same entry. Rows are short-lived and purged after a while.
+ */
+@Entity
+@Table(name = "access_index_changes")
+public class AccessIndexChange extends BaseEntityLong {
+
+    public static final int NODE_ID_LENGTH = 64;
+    public static final int KIND_LENGTH = 32;
+    public static final int ENTITY_ID_LENGTH = 64;
+
+    public enum Kind {
+        PROJECT_CHANGED,
+        PROJECT_REMOVED,
+        COURSE_CHANGED,
+        COURSE_REMOVED,
+        USER_CHANGED,
+        USER_REMOVED
+    }
+
+    @NotNull
+    @Column(name = "node_id", length = NODE_ID_LENGTH)
+    private String nodeId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(length = KIND_LENGTH)
+    private Kind kind;
+
+    /** Id of the project, course or user that changed */
+    @NotNull
+    @Column(name = "entity_id", length = ENTITY_ID_LENGTH)
+    private String entityId;
+
+    @NotNull
+    @Column(name = "created_at", columnDefinition = "TIMESTAMP(3)")
+    private ZonedDateTime createdAt;
+
+    public AccessIndexChange() {}
+
+    public AccessIndexChange(String nodeId, Kind kind, String entityId, ZonedDateTime createdAt) {
+        this.nodeId = nodeId;
+        this.kind = kind;
+        this.entityId = entityId;
+        this.createdAt = createdAt;
+    }
+
+    public String getNodeId() { return nodeId; }
+
+    public Kind getKind() { return kind; }
+
+    public String getEntityId() { return entityId; }
+
+    public ZonedDateTime getCreatedAt() { return createdAt; }
+}
@@ -14,7 +14,9 @@ import java.time.ZoneId;
 @Table(name = "activities", indexes = {
     @Index(name = "idx_activity_project", columnList = "project_id"),
     @Index(name = "idx_activity_created_at", columnList = "created_at"),
-    @Index(name = "idx_activity_user", columnList = "user_id")
+    @Index(name = "idx_activity_user", columnList = "user_id"),
+    @Index(name = "IDX_activities_project_created", columnList = "project_id, created_at, id"),
+    @Index(name = "IDX_activities_project_actor_created", columnList = "project_id, actor_id, created_at, id")
 })
 public class Activity extends BaseEntityLong {
 
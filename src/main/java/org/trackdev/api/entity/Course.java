@@ -1,5 +1,7 @@
 package org.trackdev.api.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 import jakarta.persistence.*;
@@ -8,6 +10,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 @Table(name = "courses")
 public class Course extends BaseEntityLong {
 
@@ -28,7 +32,7 @@ public class Course extends BaseEntityLong {
     @Column(length = 5)
     private String language = "en"; // Default language: English
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Subject subject;
 
     @NonNull
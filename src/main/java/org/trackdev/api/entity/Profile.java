@@ -1,6 +1,8 @@
 package org.trackdev.api.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
@@ -11,6 +13,8 @@ import java.util.List;
  * Profiles are created by professors and can be applied to courses.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 @Table(name = "profiles", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "owner_id"})
 })
@@ -36,9 +40,11 @@ public class Profile extends BaseEntityLong {
     private String ownerId;
 
     @OneToMany(mappedBy = "profile", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-enum-lists")
     private List<ProfileEnum> enums = new ArrayList<>();
 
     @OneToMany(mappedBy = "profile", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-attribute-lists")
     private List<ProfileAttribute> attributes = new ArrayList<>();
 
     public Profile() {}
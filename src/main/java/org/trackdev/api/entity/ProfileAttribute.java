@@ -1,6 +1,8 @@
 package org.trackdev.api.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 /**
@@ -8,6 +10,8 @@ import org.springframework.lang.NonNull;
  * Defines the name, type, target object, and who can apply values.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-attributes")
 @Table(name = "profile_attributes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "profile_id"})
 })
@@ -1,6 +1,8 @@
 package org.trackdev.api.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 import java.util.ArrayList;
@@ -12,6 +14,8 @@ import java.util.stream.Collectors;
  * Contains a list of possible values, each with an optional description.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-enums")
 @Table(name = "profile_enums", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "profile_id"})
 })
@@ -32,6 +36,7 @@ public class ProfileEnum extends BaseEntityLong {
     private Long profileId;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-enum-values")
     @CollectionTable(name = "profile_enum_values", joinColumns = @JoinColumn(name = "enum_id"))
     @OrderColumn(name = "order_index")
     private List<EnumValueEntry> values = new ArrayList<>();
@@ -3,6 +3,7 @@ package org.trackdev.api.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -31,7 +32,7 @@ public class Project extends BaseEntityLong {
     @Column(length = SLUG_LENGTH, unique = true)
     private String slug;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Course course;
 
     @ManyToMany(cascade = CascadeType.PERSIST)
@@ -70,6 +71,14 @@ public class Project extends BaseEntityLong {
      */
     private Integer nextTaskNumber = 1;
 
+    /**
+     * Bumped in SQL by ProjectDataVersions whenever data a report reads changes. Never written
+     * from the entity, so saving a project cannot set it back.
+     */
+    @ColumnDefault("0")
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+    private long dataVersion;
+
     //--- CONSTRUCTOR
 
     public Project() {}
@@ -116,6 +125,8 @@ public class Project extends BaseEntityLong {
         return this.tasks;
     }
 
+    public long getDataVersion() { return dataVersion; }
+
     public Collection<Sprint> getSprints() {
         return this.sprints;
     }
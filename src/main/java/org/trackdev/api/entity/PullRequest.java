@@ -35,7 +35,7 @@ public class PullRequest extends BaseEntityUUID {
     @Column(length = MAX_URL_LENGTH)
     private String url;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User author;
 
     /**
@@ -0,0 +1,34 @@
+package org.trackdev.api.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A token bucket of the database-backed rate limit store, shared by all API nodes.
+ * The row only holds the bucket's theoretical arrival time; rows in the past are purged.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    public static final int KEY_LENGTH = 191;
+
+    @Id
+    @Column(name = "bucket_key", length = KEY_LENGTH)
+    private String bucketKey;
+
+    /** Microseconds since the epoch at which the bucket is full again */
+    @Column(name = "arrival_micros", nullable = false)
+    private long arrivalMicros;
+
+    public RateLimitBucket() {}
+
+    public RateLimitBucket(String bucketKey, long arrivalMicros) {
+        this.bucketKey = bucketKey;
+        this.arrivalMicros = arrivalMicros;
+    }
+
+    public String getBucketKey() { return bucketKey; }
+
+    public long getArrivalMicros() { return arrivalMicros; }
+    public void setArrivalMicros(long arrivalMicros) { this.arrivalMicros = arrivalMicros; }
+}
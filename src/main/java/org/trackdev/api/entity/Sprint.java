@@ -36,7 +36,7 @@ public class Sprint extends BaseEntityLong {
     )
     private Collection<Task> activeTasks = new ArrayList<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
     /**
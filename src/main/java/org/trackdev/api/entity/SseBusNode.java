@@ -0,0 +1,34 @@
+package org.trackdev.api.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.ZonedDateTime;
+
+/**
+ * Presence row of an API node taking part in the database-backed SSE event bus.
+ * Each node refreshes its own row periodically; live nodes are those seen recently.
+ */
+@Entity
+@Table(name = "sse_bus_nodes")
+public class SseBusNode {
+
+    @Id
+    @Column(name = "node_id", length = SseOutboxEvent.NODE_ID_LENGTH)
+    private String nodeId;
+
+    @NotNull
+    @Column(name = "last_seen_at", columnDefinition = "TIMESTAMP")
+    private ZonedDateTime lastSeenAt;
+
+    public SseBusNode() {}
+
+    public SseBusNode(String nodeId, ZonedDateTime lastSeenAt) {
+        this.nodeId = nodeId;
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public String getNodeId() { return nodeId; }
+
+    public ZonedDateTime getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(ZonedDateTime lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+}
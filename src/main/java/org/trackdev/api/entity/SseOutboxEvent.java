@@ -0,0 +1,67 @@
+package org.trackdev.api.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.ZonedDateTime;
+
+/**
+ * An event written to the shared outbox so that every API node can deliver it to its
+ * own SSE subscribers. Rows are short-lived and purged after the configured retention.
+ */
+@Entity
+@Table(name = "sse_outbox_events")
+public class SseOutboxEvent extends BaseEntityLong {
+
+    public static final int NODE_ID_LENGTH = 64;
+    public static final int EVENT_NAME_LENGTH = 32;
+    public static final int COALESCE_KEY_LENGTH = 64;
+    public static final int TOPICS_LENGTH = 1024;
+
+    @NotNull
+    @Column(name = "node_id", length = NODE_ID_LENGTH)
+    private String nodeId;
+
+    @NotNull
+    @Column(name = "event_name", length = EVENT_NAME_LENGTH)
+    private String eventName;
+
+    @Column(name = "coalesce_key", length = COALESCE_KEY_LENGTH)
+    private String coalesceKey;
+
+    /** Comma-separated topics the event goes to */
+    @NotNull
+    @Column(length = TOPICS_LENGTH)
+    private String topics;
+
+    @NotNull
+    @Column(columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @NotNull
+    @Column(name = "created_at", columnDefinition = "TIMESTAMP(3)")
+    private ZonedDateTime createdAt;
+
+    public SseOutboxEvent() {}
+
+    public SseOutboxEvent(String nodeId, String eventName, String coalesceKey, String topics,
+                          String payload, ZonedDateTime createdAt) {
+        this.nodeId = nodeId;
+        this.eventName = eventName;
+        this.coalesceKey = coalesceKey;
+        this.topics = topics;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public String getNodeId() { return nodeId; }
+
+    public String getEventName() { return eventName; }
+
+    public String getCoalesceKey() { return coalesceKey; }
+
+    public String getTopics() { return topics; }
+
+    public String getPayload() { return payload; }
+
+    public ZonedDateTime getCreatedAt() { return createdAt; }
+}
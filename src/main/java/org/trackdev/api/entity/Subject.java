@@ -1,11 +1,15 @@
 package org.trackdev.api.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 import jakarta.persistence.*;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "subjects")
 @Table(name = "subjects")
 public class Subject extends BaseEntityLong {
 
@@ -13,13 +13,42 @@ import java.time.ZoneId;
 import java.util.*;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "IDX_tasks_project_created", columnList = "project_id, created_at, id"),
+    @Index(name = "IDX_tasks_created", columnList = "created_at, id")
+})
+@NamedEntityGraph(name = Task.GRAPH_PEOPLE,
+    attributeNodes = {
+        @NamedAttributeNode(value = "reporter", subgraph = "user"),
+        @NamedAttributeNode(value = "assignee", subgraph = "user")
+    },
+    subgraphs = @NamedSubgraph(name = "user", attributeNodes = {
+        @NamedAttributeNode("githubInfo"),
+        @NamedAttributeNode("discordInfo")
+    }))
+@NamedEntityGraph(name = Task.GRAPH_PULL_REQUESTS,
+    attributeNodes = @NamedAttributeNode("pullRequests"))
+@NamedEntityGraph(name = Task.GRAPH_LINKING,
+    attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode("pullRequests")
+    })
 @JsonIdentityInfo(
     generator = ObjectIdGenerators.PropertyGenerator.class,
     property = "id"
 )
 public class Task extends BaseEntityLong {
 
+    //-- FETCH PLANS
+    // All to-one associations are lazy; each read path names the graph it needs.
+
+    /** Reporter and assignee with their profiles: task lists, my-tasks and exports. */
+    public static final String GRAPH_PEOPLE = "Task.people";
+    /** Linked pull requests only: analysis and PR statistics over DONE tasks. */
+    public static final String GRAPH_PULL_REQUESTS = "Task.pullRequests";
+    /** Project and linked pull requests: GitHub webhook linking by task key. */
+    public static final String GRAPH_LINKING = "Task.linking";
+
     //-- ATTRIBUTES
     public static final int MIN_NAME_LENGTH = 1;
     public static final int NAME_LENGTH = 100;
@@ -40,10 +69,10 @@ public class Task extends BaseEntityLong {
     @Column(length = NAME_LENGTH)
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User reporter;
 
     @Column(columnDefinition = "TEXT")
@@ -54,7 +83,7 @@ public class Task extends BaseEntityLong {
     @Column(columnDefinition = "TIMESTAMP")
     private ZonedDateTime createdAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User assignee;
 
     private Integer estimationPoints;
@@ -68,10 +97,14 @@ public class Task extends BaseEntityLong {
     @Column(name = "`rank`")
     private Integer rank;
 
+    /** Bumped by each transaction that publishes a real-time event for the task */
+    @Column(name = "event_version", nullable = false)
+    private long eventVersion = 0;
+
     @OneToMany(mappedBy = "parentTask")
     private Collection<Task> childTasks;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Task parentTask;
 
     @Column(name = "parent_task_id", insertable = false, updatable = false)
@@ -245,6 +278,12 @@ public class Task extends BaseEntityLong {
         this.rank = rank;
     }
 
+    public long getEventVersion() { return eventVersion; }
+
+    public void setEventVersion(long eventVersion) {
+        this.eventVersion = eventVersion;
+    }
+
     public Collection<Task> getChildTasks() {
         return childTasks;
     }
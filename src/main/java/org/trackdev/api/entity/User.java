@@ -8,11 +8,15 @@ import jakarta.validation.constraints.Size;
 import java.time.ZonedDateTime;
 import java.util.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.trackdev.api.configuration.UserType;
 import org.trackdev.api.converter.EncryptedStringConverter;
 import org.trackdev.api.serializer.JsonRolesSerializer;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 public class User extends BaseEntityUUID {
 
@@ -64,6 +68,7 @@ public class User extends BaseEntityUUID {
   private Collection<Project> projects = new ArrayList<>();
 
   @ManyToMany()
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
   @JoinTable(
       name = "users_roles",
       joinColumns = @JoinColumn(name = "user_id"),
@@ -71,6 +76,10 @@ public class User extends BaseEntityUUID {
   )
   private Set<Role> roles = new HashSet<>();
 
+  /** Bumped on every role change; tokens carry the value they were issued with */
+  @Column(name = "roles_version", nullable = false)
+  private long rolesVersion = 0;
+
   private String color;
 
   @Size(min = CAPITAL_LETTERS_LENGTH, max = CAPITAL_LETTERS_LENGTH)
@@ -241,9 +250,13 @@ public class User extends BaseEntityUUID {
   public void setEnabled(Boolean enabled) { this.enabled = enabled; }
 
   public void addRole(Role role) {
-    roles.add(role);
+    if (roles.add(role)) {
+      rolesVersion++;
+    }
   }
 
+  public long getRolesVersion() { return rolesVersion; }
+
   public boolean isUserType(UserType userType) {
     boolean inRole = false;
     for(Role role: roles) {
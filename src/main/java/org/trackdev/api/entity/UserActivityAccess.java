@@ -31,18 +31,38 @@ public class UserActivityAccess extends BaseEntityLong {
     @Column(name = "last_accessed_at", columnDefinition = "TIMESTAMP")
     private ZonedDateTime lastAccessedAt;
 
+    /**
+     * Activities of the user's projects since lastAccessedAt. Incremented in batches as
+     * activities are recorded and periodically reconciled with the real count.
+     */
+    @Column(name = "unread_count", nullable = false)
+    private int unreadCount;
+
+    /**
+     * Creation time up to which unreadCount was last computed from the activities. Increments
+     * only add activities created after it, so a recount and increments still buffered on some
+     * node never count the same activity twice.
+     */
+    @Column(name = "unread_counted_at", columnDefinition = "TIMESTAMP(3)")
+    private ZonedDateTime unreadCountedAt;
+
     // Getters
     public User getUser() { return user; }
     public ZonedDateTime getLastAccessedAt() { return lastAccessedAt; }
+    public int getUnreadCount() { return unreadCount; }
+    public ZonedDateTime getUnreadCountedAt() { return unreadCountedAt; }
 
     // Setters
     public void setUser(User user) { this.user = user; }
     public void setLastAccessedAt(ZonedDateTime lastAccessedAt) { this.lastAccessedAt = lastAccessedAt; }
+    public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
+    public void setUnreadCountedAt(ZonedDateTime unreadCountedAt) { this.unreadCountedAt = unreadCountedAt; }
 
     /**
-     * Updates the last accessed timestamp to now.
+     * Updates the last accessed timestamp to now, leaving nothing unread.
      */
     public void markAsAccessed() {
         this.lastAccessedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        this.unreadCount = 0;
     }
 }
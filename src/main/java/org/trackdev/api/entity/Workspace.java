@@ -1,5 +1,7 @@
 package org.trackdev.api.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.lang.NonNull;
 
 import jakarta.persistence.*;
@@ -7,6 +9,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "workspaces")
 @Table(name = "workspaces")
 public class Workspace extends BaseEntityLong {
 
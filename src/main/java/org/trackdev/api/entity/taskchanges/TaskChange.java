@@ -12,7 +12,9 @@ import jakarta.persistence.*;
  * Uses single table inheritance with discriminator column for change types.
  */
 @Entity
-@Table(name = "task_changes")
+@Table(name = "task_changes", indexes = {
+    @Index(name = "IDX_task_changes_task_changed", columnList = "task_id, changed_at, id")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "type")
 public abstract class TaskChange extends EntityLogChange {
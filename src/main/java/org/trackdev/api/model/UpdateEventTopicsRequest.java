@@ -0,0 +1,16 @@
+package org.trackdev.api.model;
+
+import java.util.Collection;
+
+public class UpdateEventTopicsRequest {
+
+    private Collection<String> subscribe;
+
+    private Collection<String> unsubscribe;
+
+    public Collection<String> getSubscribe() { return subscribe; }
+    public void setSubscribe(Collection<String> subscribe) { this.subscribe = subscribe; }
+
+    public Collection<String> getUnsubscribe() { return unsubscribe; }
+    public void setUnsubscribe(Collection<String> unsubscribe) { this.unsubscribe = unsubscribe; }
+}
@@ -12,8 +12,9 @@ public class CriteriaParser {
 
     // Updated regex to support nested property names with dots (e.g., "task.id", "user.name")
     // Key pattern: [\w.]+ allows word characters and dots for JPA nested properties
+    // Value pattern also allows hyphens, for UUIDs
     private static Pattern SpecCriteraRegex = Pattern.compile("^([\\w.]+?)(" + Joiner.on("|")
-            .join(SearchOperation.SIMPLE_OPERATION_SET) + ")(\\p{Punct}?)([\\w.]+?)(\\p{Punct}?)$");
+            .join(SearchOperation.SIMPLE_OPERATION_SET) + ")(\\p{Punct}?)([\\w.-]+?)(\\p{Punct}?)$");
 
     private enum Operator {
         OR(1), AND(2);
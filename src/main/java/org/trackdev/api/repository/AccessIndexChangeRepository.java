@@ -0,0 +1,20 @@
+package org.trackdev.api.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.entity.AccessIndexChange;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public interface AccessIndexChangeRepository extends BaseRepositoryLong<AccessIndexChange> {
+
+    List<AccessIndexChange> findByCreatedAtAfterAndNodeIdNotOrderByIdAsc(ZonedDateTime createdAt, String nodeId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AccessIndexChange c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
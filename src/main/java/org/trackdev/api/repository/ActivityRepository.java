@@ -41,6 +41,8 @@ public interface ActivityRepository extends BaseRepositoryLong<Activity> {
      */
     long countByProjectInAndCreatedAtAfter(Collection<Project> projects, ZonedDateTime after);
 
+    long countByProjectInAndCreatedAtLessThanEqual(Collection<Project> projects, ZonedDateTime until);
+
     /**
      * Find activities for a specific project
      */
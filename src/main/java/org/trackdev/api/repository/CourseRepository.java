@@ -25,4 +25,12 @@ public interface CourseRepository extends BaseRepositoryLong<Course> {
     @Query("SELECT DISTINCT c FROM Course c LEFT JOIN FETCH c.projects LEFT JOIN FETCH c.students WHERE c.subject.workspace.id = :workspaceId")
     List<Course> findByWorkspaceId(@Param("workspaceId") Long workspaceId);
 
+    // Access index loading: rows of [courseId, ownerId, subjectOwnerId]
+
+    @Query("SELECT c.id, c.ownerId, s.ownerId FROM Course c LEFT JOIN c.subject s")
+    List<Object[]> findAllOwnerIds();
+
+    @Query("SELECT c.id, c.ownerId, s.ownerId FROM Course c LEFT JOIN c.subject s WHERE c.id = :courseId")
+    List<Object[]> findOwnerIdsById(@Param("courseId") Long courseId);
+
 }
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import org.trackdev.api.entity.Project;
 
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public interface GroupRepository extends BaseRepositoryLong<Project> {
@@ -30,4 +31,18 @@ public interface GroupRepository extends BaseRepositoryLong<Project> {
            "AND c.id = :courseId " +
            "ORDER BY p.name ASC")
     Page<Project> findProjectsForUserByCourse(@Param("userId") String userId, @Param("courseId") Long courseId, Pageable pageable);
+
+    // Access index loading: rows of [projectId, courseId] and [projectId, memberId]
+
+    @Query("SELECT p.id, p.course.id FROM Project p")
+    List<Object[]> findAllCourseIds();
+
+    @Query("SELECT p.id, m.id FROM Project p JOIN p.members m")
+    List<Object[]> findAllMemberIds();
+
+    @Query("SELECT p.course.id FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findCourseIdById(@Param("projectId") Long projectId);
+
+    @Query("SELECT m.id FROM Project p JOIN p.members m WHERE p.id = :projectId")
+    List<String> findMemberIdsById(@Param("projectId") Long projectId);
 }
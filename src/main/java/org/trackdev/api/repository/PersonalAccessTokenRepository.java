@@ -1,8 +1,14 @@
 package org.trackdev.api.repository;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.trackdev.api.entity.PersonalAccessToken;
 import org.trackdev.api.entity.User;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +16,16 @@ public interface PersonalAccessTokenRepository extends BaseRepositoryUUID<Person
 
     Optional<PersonalAccessToken> findByTokenHashAndRevokedFalse(String tokenHash);
 
+    /** Same as findByTokenHashAndRevokedFalse, with the owner and their roles in one query */
+    @Query("SELECT p FROM PersonalAccessToken p JOIN FETCH p.user u LEFT JOIN FETCH u.roles " +
+           "WHERE p.tokenHash = :tokenHash AND p.revoked = false")
+    Optional<PersonalAccessToken> findActiveWithUserRoles(@Param("tokenHash") String tokenHash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PersonalAccessToken p SET p.lastUsedAt = :lastUsedAt WHERE p.id IN :ids")
+    int updateLastUsedAt(@Param("ids") Collection<String> ids, @Param("lastUsedAt") ZonedDateTime lastUsedAt);
+
     List<PersonalAccessToken> findByUserAndRevokedFalseOrderByCreatedAtDesc(User user);
 
     List<PersonalAccessToken> findByUserOrderByCreatedAtDesc(User user);
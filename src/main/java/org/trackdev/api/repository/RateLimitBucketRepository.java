@@ -0,0 +1,24 @@
+package org.trackdev.api.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.entity.RateLimitBucket;
+
+import java.util.Optional;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM RateLimitBucket b WHERE b.bucketKey = :key")
+    Optional<RateLimitBucket> findForUpdate(@Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RateLimitBucket b WHERE b.arrivalMicros < :micros")
+    int deleteArrivedBefore(@Param("micros") long micros);
+}
@@ -1,13 +1,17 @@
 package org.trackdev.api.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Component;
 import org.trackdev.api.entity.Sprint;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public interface SprintRepository extends BaseRepositoryLong<Sprint> {
@@ -16,9 +20,11 @@ public interface SprintRepository extends BaseRepositoryLong<Sprint> {
      * Remove all sprint assignments for a single task by writing only that task's
      * rows in the join table. Avoids Hibernate's collection-rewrite strategy on
      * Sprint.activeTasks, which races under concurrent task updates that target
-     * the same sprint.
+     * the same sprint. The native-spaces hint limits second-level cache invalidation
+     * to the join table; without it every cache region would be cleared.
      */
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sprints_active_tasks"))
     @Query(nativeQuery = true, value = "DELETE FROM sprints_active_tasks WHERE task_id = :taskId")
     void clearSprintAssignmentsForTask(@Param("taskId") Long taskId);
 
@@ -27,10 +33,24 @@ public interface SprintRepository extends BaseRepositoryLong<Sprint> {
      * concurrent task moves into the same sprint don't collide.
      */
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sprints_active_tasks"))
     @Query(nativeQuery = true, value = "INSERT INTO sprints_active_tasks (sprint_id, task_id) VALUES (:sprintId, :taskId)")
     void addSprintAssignmentForTask(@Param("sprintId") Long sprintId, @Param("taskId") Long taskId);
 
 
+    /**
+     * Ids of the tasks on a sprint board, read without loading the tasks so the board
+     * loader can fetch their users first.
+     */
+    @Query("SELECT t.id FROM Sprint s JOIN s.activeTasks t WHERE s.id = :sprintId")
+    List<Long> findBoardTaskIds(@Param("sprintId") Long sprintId);
+
+    /**
+     * Initialize a sprint's active tasks in one statement.
+     */
+    @Query("SELECT s FROM Sprint s LEFT JOIN FETCH s.activeTasks WHERE s.id = :sprintId")
+    Optional<Sprint> fetchActiveTasks(@Param("sprintId") Long sprintId);
+
     @Query(nativeQuery = true, value = "SELECT * FROM sprints WHERE end_date < sysdate() AND status != 2")
     Collection<Sprint> sprintsToClose();
 
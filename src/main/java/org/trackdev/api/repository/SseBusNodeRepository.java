@@ -0,0 +1,20 @@
+package org.trackdev.api.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.entity.SseBusNode;
+
+import java.time.ZonedDateTime;
+
+public interface SseBusNodeRepository extends JpaRepository<SseBusNode, String> {
+
+    long countByLastSeenAtAfter(ZonedDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SseBusNode n WHERE n.lastSeenAt < :cutoff")
+    int deleteSeenBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
@@ -0,0 +1,26 @@
+package org.trackdev.api.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.entity.SseOutboxEvent;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SseOutboxEventRepository extends BaseRepositoryLong<SseOutboxEvent> {
+
+    List<SseOutboxEvent> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    List<SseOutboxEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM SseOutboxEvent e")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SseOutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") ZonedDateTime cutoff);
+}
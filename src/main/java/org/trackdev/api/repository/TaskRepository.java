@@ -2,6 +2,9 @@ package org.trackdev.api.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 import org.trackdev.api.entity.Project;
 import org.trackdev.api.entity.Task;
@@ -19,10 +22,25 @@ import java.util.Optional;
 public interface TaskRepository extends BaseRepositoryLong<Task> {
     
     /**
-     * Find a task by its unique task key (e.g., "a7k-1", "prj-42")
+     * Find a task by its unique task key (e.g., "a7k-1", "prj-42").
+     * Used by webhook linking, so the project and linked PRs come along.
      */
+    @EntityGraph(Task.GRAPH_LINKING)
     Optional<Task> findByTaskKey(String taskKey);
 
+    /**
+     * Filtered task pages (my-tasks), with the reporter and assignee the list shows
+     */
+    @Override
+    @EntityGraph(Task.GRAPH_PEOPLE)
+    Page<Task> findAll(Specification<Task> spec, Pageable pageable);
+
+    /**
+     * Find all tasks of a project, including subtasks, with reporter and assignee
+     */
+    @EntityGraph(Task.GRAPH_PEOPLE)
+    List<Task> findByProjectId(Long projectId);
+
     /**
      * Find all tasks where the user is reporter or assignee, ordered by creation date desc
      */
@@ -51,6 +69,7 @@ public interface TaskRepository extends BaseRepositoryLong<Task> {
     /**
      * Find latest N tasks in the given projects
      */
+    @EntityGraph(Task.GRAPH_PEOPLE)
     List<Task> findTop5ByProjectInOrderByCreatedAtDesc(Collection<Project> projects);
 
     /**
@@ -59,8 +78,9 @@ public interface TaskRepository extends BaseRepositoryLong<Task> {
     boolean existsByProjectId(Long projectId);
 
     /**
-     * Find all tasks in a project with a specific status
+     * Find all tasks in a project with a specific status, with their linked PRs
      */
+    @EntityGraph(Task.GRAPH_PULL_REQUESTS)
     List<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status);
 
     /**
@@ -68,6 +88,31 @@ public interface TaskRepository extends BaseRepositoryLong<Task> {
      */
     List<Task> findByProjectIdAndStatusAndAssigneeId(Long projectId, TaskStatus status, String assigneeId);
 
+    /**
+     * Sprint board batch fetches: each initializes one collection of the given tasks, which
+     * are already managed. Kept as separate statements since a single query can fetch only
+     * one of these bags.
+     */
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.childTasks WHERE t.id IN :taskIds")
+    List<Task> fetchChildTasks(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.activeSprints WHERE t.id IN :taskIds")
+    List<Task> fetchActiveSprints(@Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT DISTINCT t FROM Task t LEFT JOIN FETCH t.pullRequests WHERE t.id IN :taskIds")
+    List<Task> fetchPullRequests(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Bump the real-time event version of a task in the database, whatever the state of the
+     * instance that published the event. Runs in the caller's transaction.
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.eventVersion = t.eventVersion + 1 WHERE t.id = :taskId")
+    int incrementEventVersion(@Param("taskId") Long taskId);
+
+    @Query("SELECT t.eventVersion FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findEventVersion(@Param("taskId") Long taskId);
+
     /**
      * Find the maximum rank among USER_STORY tasks in a project.
      * Used to assign rank to newly created USER_STORY tasks (appended to bottom of backlog).
@@ -2,12 +2,15 @@ package org.trackdev.api.repository;
 
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.trackdev.api.entity.User;
 import org.trackdev.api.entity.UserActivityAccess;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 
 @Repository
@@ -30,4 +33,40 @@ public interface UserActivityAccessRepository extends BaseRepositoryLong<UserAct
      * Check if a user has an activity access record
      */
     boolean existsByUser(User user);
+
+    /**
+     * Unread counter of a user, read by the unique user_id key
+     */
+    @Query("SELECT uaa.unreadCount FROM UserActivityAccess uaa WHERE uaa.user.id = :userId")
+    Optional<Integer> findUnreadCount(@Param("userId") String userId);
+
+    /**
+     * Add activities created at the given instant to the counters of the project members
+     * who had not read the feed by then, unless a recount already included that instant
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserActivityAccess uaa SET uaa.unreadCount = uaa.unreadCount + :count " +
+           "WHERE uaa.user.id IN (SELECT m.id FROM Project p JOIN p.members m WHERE p.id = :projectId) " +
+           "AND (uaa.lastAccessedAt IS NULL OR uaa.lastAccessedAt < :createdAt) " +
+           "AND (uaa.unreadCountedAt IS NULL OR uaa.unreadCountedAt < :createdAt)")
+    int incrementUnreadCount(@Param("projectId") Long projectId, @Param("createdAt") ZonedDateTime createdAt,
+                             @Param("count") int count);
+
+    /**
+     * Reset the counters of a range of records to the real count of unread activities created
+     * up to countedAt, and move their watermark there
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserActivityAccess uaa SET uaa.unreadCountedAt = :countedAt, uaa.unreadCount = (" +
+           "SELECT COUNT(a) FROM Activity a JOIN a.project p JOIN p.members m " +
+           "WHERE m.id = uaa.user.id AND a.createdAt <= :countedAt " +
+           "AND (uaa.lastAccessedAt IS NULL OR a.createdAt > uaa.lastAccessedAt)) " +
+           "WHERE uaa.id BETWEEN :fromId AND :toId")
+    int reconcileUnreadCounts(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                              @Param("countedAt") ZonedDateTime countedAt);
+
+    @Query("SELECT MAX(uaa.id) FROM UserActivityAccess uaa")
+    Optional<Long> findMaxId();
 }
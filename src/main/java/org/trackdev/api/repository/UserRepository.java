@@ -1,11 +1,13 @@
 package org.trackdev.api.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.trackdev.api.configuration.UserType;
 import org.trackdev.api.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +18,39 @@ public interface UserRepository extends BaseRepositoryUUID<User> {
 
     User findByEmail(@Param("email") String email);
 
+    /** User with what a login response needs, usable once the lookup's transaction has ended */
+    @EntityGraph(attributePaths = {"roles", "githubInfo", "discordInfo"})
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    User findWithRolesByEmail(@Param("email") String email);
+
     boolean existsByEmail(@Param("email") String email);
 
     boolean existsByUsername(@Param("username") String username);
 
     List<User> findByRoles_UserType(@Param("userType") UserType userType);
 
+    // Access index loading: rows of [userId, workspaceId, userType], one per role
+
+    @Query("SELECT u.id, u.workspaceId, r.userType FROM User u LEFT JOIN u.roles r")
+    List<Object[]> findAllAccessRows();
+
+    @Query("SELECT u.id, u.workspaceId, r.userType FROM User u LEFT JOIN u.roles r WHERE u.id = :userId")
+    List<Object[]> findAccessRowsById(@Param("userId") String userId);
+
+    @Query("SELECT u.rolesVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findRolesVersionById(@Param("userId") String userId);
+
+    /**
+     * Reporters, assignees and pull request authors of the given sprint board tasks and
+     * their sub-tasks, with the profiles the board shows.
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.githubInfo LEFT JOIN FETCH u.discordInfo " +
+           "WHERE u.id IN (SELECT t.reporter.id FROM Task t WHERE t.id IN :taskIds OR t.parentTaskId IN :taskIds) " +
+           "OR u.id IN (SELECT t.assignee.id FROM Task t WHERE t.id IN :taskIds OR t.parentTaskId IN :taskIds) " +
+           "OR u.id IN (SELECT pr.author.id FROM Task t JOIN t.pullRequests pr " +
+           "WHERE t.id IN :taskIds OR t.parentTaskId IN :taskIds)")
+    List<User> findBoardUsers(@Param("taskIds") Collection<Long> taskIds);
+
     // Query methods for user deletion validation
     
     @Query("SELECT COUNT(s) FROM Subject s WHERE s.owner.id = :userId")
@@ -0,0 +1,59 @@
+package org.trackdev.api.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.trackdev.api.dto.UserBasicDTO;
+import org.trackdev.api.dto.UserSummaryDTO;
+
+/**
+ * Jackson property filter for the user DTOs annotated with {@code @JsonFilter(FILTER_ID)}.
+ *
+ * The email property is left out unless it belongs to the viewer, so a student only ever
+ * receives their own email. Redaction happens while the DTOs are written, without changing them.
+ */
+public class EmailPrivacyFilter extends SimpleBeanPropertyFilter {
+
+    public static final String FILTER_ID = "emailPrivacy";
+
+    private static final String EMAIL_PROPERTY = "email";
+
+    /** Default provider for the object mapper: every email is written. */
+    public static final SimpleFilterProvider SHOW_ALL = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+
+    private final String viewerId;
+
+    public EmailPrivacyFilter(String viewerId) {
+        this.viewerId = viewerId;
+    }
+
+    /** Provider that hides the emails of every user other than the viewer. */
+    public static SimpleFilterProvider hideOthers(String viewerId) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new EmailPrivacyFilter(viewerId));
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator jgen, SerializerProvider provider,
+                                 PropertyWriter writer) throws Exception {
+        if (EMAIL_PROPERTY.equals(writer.getName()) && !viewerId.equals(userIdOf(pojo))) {
+            if (!jgen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, jgen, provider);
+            }
+            return;
+        }
+        writer.serializeAsField(pojo, jgen, provider);
+    }
+
+    private static String userIdOf(Object pojo) {
+        if (pojo instanceof UserBasicDTO dto) {
+            return dto.getId();
+        }
+        if (pojo instanceof UserSummaryDTO dto) {
+            return dto.getId();
+        }
+        return null;
+    }
+}
@@ -38,6 +38,9 @@ public class AccessChecker {
     @Lazy
     CourseService courseService;
 
+    @Autowired
+    ProjectAccessIndex accessIndex;
+
     // SUBJECTS
 
     /**
@@ -195,7 +198,7 @@ public class AccessChecker {
 
     public void checkCanManageProject(Project project, String userId) {
         // Admins can manage any project
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         checkCanManageCourse(project.getCourse(), userId);
@@ -203,21 +206,15 @@ public class AccessChecker {
 
     public void checkCanViewProject(Project project, String userId) {
         // Project members can always view
-        if(project.isMember(userId)) {
-            return;
-        }
-        Course course = project.getCourse();
-        // Course owner can view all projects in their course
-        if(course.getOwnerId().equals(userId)) {
+        if(isProjectMember(project, userId)) {
             return;
         }
-        // Subject owner can view all projects in their subject's courses
-        Subject subject = course.getSubject();
-        if(isSubjectOwner(subject, userId)) {
+        // Course owner and subject owner can view all projects in their courses
+        if (isCourseOrSubjectOwner(project, userId)) {
             return;
         }
         // Admins can view all projects
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         // Note: Students enrolled in the course do NOT automatically get access to all projects
@@ -231,20 +228,15 @@ public class AccessChecker {
      */
     public void checkCanManageGitHubRepos(Project project, String userId) {
         // Project members can manage GitHub repos
-        if (project.isMember(userId)) {
-            return;
-        }
-        // Course owner can manage GitHub repos
-        Course course = project.getCourse();
-        if (course.getOwnerId().equals(userId)) {
+        if (isProjectMember(project, userId)) {
             return;
         }
-        // Subject owner can manage GitHub repos
-        if (isSubjectOwner(course.getSubject(), userId)) {
+        // Course owner and subject owner can manage GitHub repos
+        if (isCourseOrSubjectOwner(project, userId)) {
             return;
         }
         // Admins can manage any GitHub repos
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         throw new ServiceException(ErrorConstants.UNAUTHORIZED);
@@ -256,7 +248,7 @@ public class AccessChecker {
      */
     public void checkCanViewPullRequest(PullRequest pr, String userId) {
         // Admins can view all PRs
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         
@@ -277,14 +269,14 @@ public class AccessChecker {
     }
 
     public void checkCanViewAllTasks(String userId) {
-        if(userService.get(userId).isUserType(UserType.ADMIN)) {
+        if(isAdmin(userId)) {
             return;
         }
         throw new ServiceException(ErrorConstants.UNAUTHORIZED);
     }
 
     public boolean checkCanViewAllProjects(String userId) {
-        if(userService.get(userId).isUserType(UserType.ADMIN)) {
+        if(isAdmin(userId)) {
             return true;
         }
         else{
@@ -296,6 +288,37 @@ public class AccessChecker {
         return subject.getOwnerId().equals(userId);
     }
 
+    /*
+     * The checks below answer from the access index when it knows the user or project,
+     * and otherwise from the entities, which may load the user, course or members.
+     */
+
+    private boolean isAdmin(String userId) {
+        ProjectAccessIndex.UserAccess access = accessIndex.user(userId);
+        if (access != null) {
+            return access.hasRole(UserType.ADMIN);
+        }
+        return userService.get(userId).isUserType(UserType.ADMIN);
+    }
+
+    private boolean isProjectMember(Project project, String userId) {
+        ProjectAccessIndex.ProjectAccess access = accessIndex.project(project.getId());
+        if (access != null) {
+            return access.isMember(userId);
+        }
+        return project.isMember(userId);
+    }
+
+    private boolean isCourseOrSubjectOwner(Project project, String userId) {
+        ProjectAccessIndex.ProjectAccess projectAccess = accessIndex.project(project.getId());
+        ProjectAccessIndex.CourseAccess access = projectAccess != null ? accessIndex.course(projectAccess.courseId()) : null;
+        if (access != null) {
+            return userId.equals(access.ownerId()) || userId.equals(access.subjectOwnerId());
+        }
+        Course course = project.getCourse();
+        return course.getOwnerId().equals(userId) || isSubjectOwner(course.getSubject(), userId);
+    }
+
     /**
      * Check if user is an admin. Returns true/false without throwing.
      */
@@ -369,21 +392,15 @@ public class AccessChecker {
      */
     public void checkCanCreateSubtask(org.trackdev.api.entity.Task task, String userId) {
         // Project members can create subtasks
-        if (task.getProject().isMember(userId)) {
-            return;
-        }
-        // Subject owner (professor) can create subtasks
-        Subject subject = task.getProject().getCourse().getSubject();
-        if (isSubjectOwner(subject, userId)) {
+        if (isProjectMember(task.getProject(), userId)) {
             return;
         }
-        // Course owner (professor) can create subtasks
-        Course course = task.getProject().getCourse();
-        if (course.getOwnerId().equals(userId)) {
+        // Subject owner and course owner (professors) can create subtasks
+        if (isCourseOrSubjectOwner(task.getProject(), userId)) {
             return;
         }
         // Admin can create subtasks
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         throw new ServiceException(ErrorConstants.UNAUTHORIZED);
@@ -399,18 +416,12 @@ public class AccessChecker {
         if (isTaskAssignee(task, userId)) {
             return;
         }
-        // Course owner (professor) can modify status
-        Course course = task.getProject().getCourse();
-        if (course.getOwnerId().equals(userId)) {
-            return;
-        }
-        // Subject owner (professor) can modify status
-        Subject subject = course.getSubject();
-        if (isSubjectOwner(subject, userId)) {
+        // Course owner and subject owner (professors) can modify status
+        if (isCourseOrSubjectOwner(task.getProject(), userId)) {
             return;
         }
         // Admin can modify status
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         throw new ServiceException(ErrorConstants.ONLY_ASSIGNEE_CAN_MODIFY_STATUS);
@@ -444,7 +455,7 @@ public class AccessChecker {
 
         // For students: must be a project member AND be the assignee
         Project project = task.getProject();
-        if (project.isMember(userId) && isTaskAssignee(task, userId)) {
+        if (isProjectMember(project, userId) && isTaskAssignee(task, userId)) {
             return;
         }
 
@@ -465,7 +476,7 @@ public class AccessChecker {
 
         // For students: must be a project member AND be the assignee
         Project project = task.getProject();
-        return project.isMember(userId) && isTaskAssignee(task, userId);
+        return isProjectMember(project, userId) && isTaskAssignee(task, userId);
     }
 
     /**
@@ -477,20 +488,15 @@ public class AccessChecker {
         Project project = task.getProject();
         
         // Project members can add comments
-        if (project.isMember(userId)) {
-            return;
-        }
-        // Subject owner (professor) can add comments
-        Subject subject = project.getCourse().getSubject();
-        if (isSubjectOwner(subject, userId)) {
+        if (isProjectMember(project, userId)) {
             return;
         }
-        // Course owner can add comments
-        if (project.getCourse().getOwnerId().equals(userId)) {
+        // Subject owner and course owner (professors) can add comments
+        if (isCourseOrSubjectOwner(project, userId)) {
             return;
         }
         // Admin can add comments
-        if (userService.get(userId).isUserType(UserType.ADMIN)) {
+        if (isAdmin(userId)) {
             return;
         }
         throw new ServiceException(ErrorConstants.UNAUTHORIZED);
@@ -845,16 +851,10 @@ public class AccessChecker {
      * This includes course owner, subject owner, or admin.
      */
     public boolean isProfessorForProject(Project project, String userId) {
-        User user = userService.get(userId);
-        if (user.isUserType(UserType.ADMIN)) {
-            return true;
-        }
-        Course course = project.getCourse();
-        if (course.getOwnerId().equals(userId)) {
+        if (isAdmin(userId)) {
             return true;
         }
-        Subject subject = course.getSubject();
-        return isSubjectOwner(subject, userId);
+        return isCourseOrSubjectOwner(project, userId);
     }
 
     /**
@@ -1061,7 +1061,7 @@ public class AccessChecker {
             return false;
         }
         // Must be a project member
-        return task.getProject().isMember(userId);
+        return isProjectMember(task.getProject(), userId);
     }
 
     /**
@@ -1123,7 +1123,7 @@ public class AccessChecker {
             return false;
         }
         // Check if user can create subtasks
-        return task.getProject().isMember(userId) || isProfessor;
+        return isProjectMember(task.getProject(), userId) || isProfessor;
     }
 
     /**
@@ -1145,7 +1145,7 @@ public class AccessChecker {
             return false;
         }
         // Project members can comment
-        if (task.getProject().isMember(userId)) {
+        if (isProjectMember(task.getProject(), userId)) {
             return true;
         }
         // Professor can comment
@@ -1171,7 +1171,7 @@ public class AccessChecker {
         }
         // Must be a project member or professor
         Project project = task.getProject();
-        if (!project.isMember(userId) && !isProfessorForTask(task, userId)) {
+        if (!isProjectMember(project, userId) && !isProfessorForTask(task, userId)) {
             throw new ServiceException(ErrorConstants.UNAUTHORIZED);
         }
     }
@@ -1187,7 +1187,7 @@ public class AccessChecker {
             return false;
         }
         Project project = task.getProject();
-        return project.isMember(userId) || isProfessorForTask(task, userId);
+        return isProjectMember(project, userId) || isProfessorForTask(task, userId);
     }
 
     /**
@@ -1210,7 +1210,7 @@ public class AccessChecker {
             return true;
         }
         // Project members can view (they'll only see their own + participated conversations)
-        return task.getProject().isMember(userId);
+        return isProjectMember(task.getProject(), userId);
     }
 
     /**
@@ -3,16 +3,21 @@ package org.trackdev.api.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.trackdev.api.entity.*;
 import org.trackdev.api.repository.ActivityRepository;
 import org.trackdev.api.repository.UserActivityAccessRepository;
+import org.trackdev.api.utils.KeysetCursor;
 
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ActivityService extends BaseServiceLong<Activity, ActivityRepository> {
@@ -29,6 +34,12 @@ public class ActivityService extends BaseServiceLong<Activity, ActivityRepositor
     @Autowired
     SprintService sprintService;
 
+    @Autowired
+    SseEmitterService sseEmitterService;
+
+    @Autowired
+    ActivityUnreadCounters unreadCounters;
+
     /**
      * Record a new activity event.
      */
@@ -43,8 +54,12 @@ public class ActivityService extends BaseServiceLong<Activity, ActivityRepositor
         activity.setMessage(message);
         activity.setOldValue(oldValue);
         activity.setNewValue(newValue);
-        activity.setCreatedAt(ZonedDateTime.now(ZoneId.of("UTC")));
-        return repo().save(activity);
+        // Whole seconds, as stored by the column, so unread counters compare it like the database does
+        activity.setCreatedAt(ZonedDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS));
+        Activity saved = repo().save(activity);
+        unreadCounters.activityRecorded(saved);
+        sseEmitterService.publishActivity(saved);
+        return saved;
     }
 
     /**
@@ -111,6 +126,49 @@ public class ActivityService extends BaseServiceLong<Activity, ActivityRepositor
         }
     }
 
+    /**
+     * Scroll the activity feed by (createdAt, id), newest first, for infinite-scroll clients.
+     * Each page reads size + 1 rows from the (project_id, created_at, id) indexes whatever the
+     * depth, and the total is only counted when asked for.
+     */
+    public KeysetCursor.Slice<Activity> scrollActivitiesForUser(String userId, Long projectId, Long sprintId, String actorId,
+                                                                String cursor, int size, boolean includeTotal) {
+        User user = userService.get(userId);
+        Collection<Project> projects = user.getProjects();
+        if (projects == null || projects.isEmpty()) {
+            return KeysetCursor.Slice.empty();
+        }
+
+        Specification<Activity> spec;
+        if (projectId == null) {
+            spec = (root, query, cb) -> root.get("project").in(projects);
+        } else {
+            Project project = projectService.get(projectId);
+            if (!projects.contains(project)) {
+                return KeysetCursor.Slice.empty();
+            }
+            spec = (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+            if (sprintId != null) {
+                spec = spec.and((root, query, cb) ->
+                        cb.equal(root.join("task").join("activeSprints").get("id"), sprintId));
+            }
+            if (actorId != null) {
+                spec = spec.and((root, query, cb) -> cb.equal(root.get("actor").get("id"), actorId));
+            }
+        }
+        Long total = includeTotal ? repo().count(spec) : null;
+
+        Specification<Activity> page = cursor != null
+                ? spec.and(KeysetCursor.decode(cursor).after(Sort.Direction.DESC))
+                : spec;
+        List<Activity> rows = repo().findBy(page, q -> q
+                .sortBy(KeysetCursor.sort(Sort.Direction.DESC))
+                .limit(size + 1)
+                .project("actor", "project", "task")
+                .all());
+        return KeysetCursor.slice(rows, size, Activity::getCreatedAt, Activity::getId, total);
+    }
+
     /**
      * Get all activities for a user's projects.
      */
@@ -125,22 +183,22 @@ public class ActivityService extends BaseServiceLong<Activity, ActivityRepositor
 
     /**
      * Count unread activities for a user since their last access.
+     * Read from the user's counter. The first read of a user who never opened the feed counts
+     * every activity of their projects once and creates the counter.
      */
     public long getUnreadCount(String userId) {
+        Optional<Integer> counter = unreadCounters.find(userId);
+        if (counter.isPresent()) {
+            return counter.get();
+        }
+
         User user = userService.get(userId);
         Collection<Project> projects = user.getProjects();
-        if (projects == null || projects.isEmpty()) {
-            return 0;
-        }
-        
-        ZonedDateTime lastAccess = getLastAccessTime(user);
-        if (lastAccess == null) {
-            // User has never accessed activities, count all activities
-            // Use a date far in the past but within MySQL's valid range
-            return repo().countByProjectInAndCreatedAtAfter(projects, ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC")));
-        }
-        
-        return repo().countByProjectInAndCreatedAtAfter(projects, lastAccess);
+        ZonedDateTime countedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        long unread = projects == null || projects.isEmpty()
+                ? 0
+                : repo().countByProjectInAndCreatedAtLessThanEqual(projects, countedAt);
+        return unreadCounters.create(user, (int) unread, countedAt);
     }
 
     /**
@@ -0,0 +1,138 @@
+package org.trackdev.api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.trackdev.api.entity.Activity;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.entity.UserActivityAccess;
+import org.trackdev.api.repository.UserActivityAccessRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user unread activity counters, kept in user_activity_access so the badge is a single-row
+ * read instead of a count over the activities of every project of the user.
+ *
+ * Recorded activities are buffered per (project, created second) and added to the counters of
+ * the project members in one UPDATE per key on each flush. Only members who had not read the
+ * feed by then are incremented, which is what the real count would include. Anything the
+ * increments miss (membership changes, deleted activities, a node dying with a full buffer) is
+ * corrected by the periodic reconciliation against the real count.
+ *
+ * Every node buffers its own activities, and a reconciliation on one node cannot flush the
+ * others. Each counter therefore carries the creation time it was last recounted up to, and
+ * increments only add activities created after it: a recount and a buffered increment never
+ * count the same activity twice. An activity whose transaction commits after a recount that
+ * already passed its creation time is missed until the next reconciliation or feed read.
+ */
+@Component
+public class ActivityUnreadCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityUnreadCounters.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    @Autowired
+    UserActivityAccessRepository userActivityAccessRepository;
+
+    private final ConcurrentHashMap<PendingKey, Integer> pending = new ConcurrentHashMap<>();
+
+    private record PendingKey(Long projectId, ZonedDateTime createdAt) {}
+
+    /**
+     * Count a new activity once its transaction commits.
+     */
+    public void activityRecorded(Activity activity) {
+        PendingKey key = new PendingKey(activity.getProjectId(), activity.getCreatedAt());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.merge(key, 1, Integer::sum);
+                }
+            });
+        } else {
+            pending.merge(key, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Unread count of a user, or empty when the user has never opened the feed.
+     */
+    public Optional<Integer> find(String userId) {
+        return userActivityAccessRepository.findUnreadCount(userId);
+    }
+
+    /**
+     * Creates the counter of a user who never opened the feed, holding the given count of the
+     * activities created up to countedAt, so later badge reads are single-row reads too.
+     * @return the user's unread count
+     */
+    public int create(User user, int unreadCount, ZonedDateTime countedAt) {
+        UserActivityAccess access = new UserActivityAccess();
+        access.setUser(user);
+        access.setUnreadCount(unreadCount);
+        access.setUnreadCountedAt(countedAt);
+        try {
+            userActivityAccessRepository.saveAndFlush(access);
+            return unreadCount;
+        } catch (DataIntegrityViolationException e) {
+            // Created meanwhile by another badge read or by opening the feed
+            return find(user.getId()).orElse(unreadCount);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trackdev.activity.unread-flush-interval-ms:2000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (PendingKey key : new ArrayList<>(pending.keySet())) {
+            Integer count = pending.remove(key);
+            if (count == null) {
+                continue;
+            }
+            try {
+                userActivityAccessRepository.incrementUnreadCount(key.projectId(), key.createdAt(), count);
+            } catch (RuntimeException e) {
+                // Reconciliation will pick these up
+                log.warn("Could not count {} activities of project {} as unread: {}", count, key.projectId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reset every counter to the real count, a range of records per statement.
+     */
+    @Scheduled(fixedDelayString = "${trackdev.activity.unread-reconcile-interval-seconds:900}",
+            initialDelayString = "${trackdev.activity.unread-reconcile-interval-seconds:900}",
+            timeUnit = TimeUnit.SECONDS)
+    public void reconcile() {
+        flush();
+        ZonedDateTime countedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        long maxId = userActivityAccessRepository.findMaxId().orElse(0L);
+        int updated = 0;
+        for (long from = 1; from <= maxId; from += RECONCILE_BATCH_SIZE) {
+            try {
+                updated += userActivityAccessRepository.reconcileUnreadCounts(from, from + RECONCILE_BATCH_SIZE - 1,
+                        countedAt);
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile unread counters {} to {}: {}", from, from + RECONCILE_BATCH_SIZE - 1, e.getMessage());
+            }
+        }
+        log.debug("Reconciled {} unread activity counters", updated);
+    }
+}
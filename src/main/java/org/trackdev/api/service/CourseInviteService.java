@@ -4,7 +4,9 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.trackdev.api.configuration.UserType;
 import org.trackdev.api.controller.exceptions.EntityNotFound;
 import org.trackdev.api.controller.exceptions.ServiceException;
@@ -54,6 +56,12 @@ public class CourseInviteService extends BaseServiceLong<CourseInvite, CourseInv
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ProjectAccessIndex accessIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /**
      * Create and send invitations for a list of entries.
      * Each entry should be in format: "Full Name", email
@@ -139,9 +147,23 @@ public class CourseInviteService extends BaseServiceLong<CourseInvite, CourseInv
     /**
      * Accept an invitation by token.
      * If user exists, enroll them. If not, create a new user with temporary password.
+     *
+     * Not transactional: the new account's password is hashed before the transaction starts, so
+     * waiting for a hashing thread holds no database connection.
      */
-    @Transactional
     public AcceptInviteResult acceptInvitation(String token, String password) {
+        String encodedPassword = null;
+        if (password != null && password.length() >= 8) {
+            CourseInvite invite = getInviteByToken(token);
+            if (invite.isPending() && !userService.existsEmail(invite.getEmail())) {
+                encodedPassword = passwordEncoder.encode(password);
+            }
+        }
+        String hash = encodedPassword;
+        return new TransactionTemplate(transactionManager).execute(status -> acceptInvitation(token, password, hash));
+    }
+
+    private AcceptInviteResult acceptInvitation(String token, String password, String encodedPassword) {
         CourseInvite invite = repo.findByToken(token)
                 .orElseThrow(() -> new EntityNotFound(ErrorConstants.INVITE_NOT_FOUND));
 
@@ -175,12 +197,15 @@ public class CourseInviteService extends BaseServiceLong<CourseInvite, CourseInv
             String fullName = invite.getFullName() != null && !invite.getFullName().isBlank() 
                     ? invite.getFullName() 
                     : username;
-            user = new User(username, fullName, email, passwordEncoder.encode(password));
+            // Only hashed here if the account was deleted between the check and the transaction
+            String hash = encodedPassword != null ? encodedPassword : passwordEncoder.encode(password);
+            user = new User(username, fullName, email, hash);
             user.setChangePassword(false);
             user.setEnabled(true);
             Role studentRole = roleService.get(UserType.STUDENT);
             user.addRole(studentRole);
             user = userService.save(user);
+            accessIndex.userChanged(user);
             newUserCreated = true;
         }
 
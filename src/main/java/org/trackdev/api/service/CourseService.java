@@ -39,6 +39,9 @@ public class CourseService extends BaseServiceLong<Course, CourseRepository> {
     @Autowired
     ProfileMapper profileMapper;
 
+    @Autowired
+    ProjectAccessIndex accessIndex;
+
     @Transactional(readOnly = true)
     public Collection<Course> getAll(){
         return repo.findAllWithProjectsAndStudents();
@@ -84,6 +87,7 @@ public class CourseService extends BaseServiceLong<Course, CourseRepository> {
         course.setGithubOrganization(organization);
         course.setOwner(userService.get(loggedInUserId));
         subject.addCourse(course);
+        accessIndex.courseChanged(course);
         return course;
     }
 
@@ -99,6 +103,7 @@ public class CourseService extends BaseServiceLong<Course, CourseRepository> {
             course.setLanguage(language);
         }
         repo.save(course);
+        accessIndex.courseChanged(course);
         return course;
     }
 
@@ -106,6 +111,7 @@ public class CourseService extends BaseServiceLong<Course, CourseRepository> {
         Course course = get(courseId);
         accessChecker.checkCanManageCourse(course, loggedInUserId);
         repo.delete(course);
+        accessIndex.courseRemoved(courseId);
     }
 
     /**
@@ -0,0 +1,57 @@
+package org.trackdev.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.trackdev.api.entity.RateLimitBucket;
+import org.trackdev.api.repository.RateLimitBucketRepository;
+
+/**
+ * Multi-node bucket store backed by the rate_limit_buckets table, so every API node draws
+ * from the same buckets. Each request locks its bucket row for one short transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "trackdev.rate-limit", name = "store", havingValue = "database")
+public class DatabaseRateLimitStore implements RateLimitStore {
+
+    @Autowired
+    private RateLimitBucketRepository bucketRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseRateLimitStore(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Decision tryAcquire(String key, int capacity, int refillPerMinute) {
+        try {
+            return transactionTemplate.execute(status -> acquire(key, capacity, refillPerMinute));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the bucket first; the row exists now, so lock it
+            return transactionTemplate.execute(status -> acquire(key, capacity, refillPerMinute));
+        }
+    }
+
+    private Decision acquire(String key, int capacity, int refillPerMinute) {
+        RateLimitBucket bucket = bucketRepository.findForUpdate(key).orElse(null);
+        long arrival = bucket != null ? bucket.getArrivalMicros() : 0L;
+        Step step = RateLimitStore.step(arrival, RateLimitStore.nowMicros(), capacity, refillPerMinute);
+        if (step.decision().allowed()) {
+            if (bucket == null) {
+                bucketRepository.saveAndFlush(new RateLimitBucket(key, step.arrivalMicros()));
+            } else {
+                bucket.setArrivalMicros(step.arrivalMicros());
+            }
+        }
+        return step.decision();
+    }
+
+    @Override
+    public void purgeExpired() {
+        bucketRepository.deleteArrivedBefore(RateLimitStore.nowMicros());
+    }
+}
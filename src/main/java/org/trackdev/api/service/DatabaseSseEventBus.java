@@ -0,0 +1,290 @@
+package org.trackdev.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.entity.SseBusNode;
+import org.trackdev.api.entity.SseOutboxEvent;
+import org.trackdev.api.repository.SseBusNodeRepository;
+import org.trackdev.api.repository.SseOutboxEventRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Multi-node event bus backed by the sse_outbox_events table.
+ *
+ * Every node appends its events to the outbox and polls it for rows after the last id it has
+ * delivered, so all nodes see all events in outbox-id order, and the outbox id doubles as the
+ * SSE event id. Needs no broker, only the application database.
+ *
+ * Auto-increment ids are allocated before commit, so a lower id can become visible after a
+ * higher one. The poll waits a short grace period at a gap, then moves past it but keeps
+ * looking for the missing ids until the outbox retention ends: most are rolled-back inserts,
+ * but an event whose transaction committed late is still delivered, out of id order.
+ */
+@Component
+@ConditionalOnProperty(prefix = "trackdev.sse", name = "bus", havingValue = "database")
+public class DatabaseSseEventBus implements SseEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSseEventBus.class);
+
+    private static final long NODE_HEARTBEAT_SECONDS = 10;
+    private static final long NODE_LIVENESS_SECONDS = 3 * NODE_HEARTBEAT_SECONDS;
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+
+    // A gap is waited for this long before the poll moves past it and tracks the missing ids
+    private static final long GAP_GRACE_MS = 2000;
+    private static final int MAX_SKIPPED_IDS = 1_000;
+    private static final int PUBLISH_QUEUE_CAPACITY = 1_000;
+
+    @Autowired
+    private SseOutboxEventRepository outboxRepository;
+
+    @Autowired
+    private SseBusNodeRepository nodeRepository;
+
+    @Autowired
+    private TrackDevProperties trackDevProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong lastDeliveredId = new AtomicLong(0);
+    private final AtomicLong lagMillis = new AtomicLong(0);
+    private final AtomicLong liveNodes = new AtomicLong(1);
+
+    // Poll thread only: ids moved past at a gap, with when they were skipped
+    private final Map<Long, Long> skippedIds = new LinkedHashMap<>();
+    long gapGraceMillis = GAP_GRACE_MS;
+
+    private long gapSinceMillis = 0L;
+    private ScheduledExecutorService scheduler;
+    private ThreadPoolExecutor publisher;
+    private volatile Consumer<List<SseEnvelope>> localDelivery;
+    private Counter publishedCounter;
+    private Counter deliveredCounter;
+    private Counter lateCounter;
+    private Counter rejectedPublishCounter;
+
+    @Override
+    public void start(Consumer<List<SseEnvelope>> localDelivery) {
+        this.localDelivery = localDelivery;
+        this.publishedCounter = Counter.builder("sse.bus.published")
+                .description("Events this node wrote to the outbox")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("sse.bus.delivered")
+                .description("Outbox events this node read and delivered to its subscribers")
+                .register(meterRegistry);
+        this.lateCounter = Counter.builder("sse.bus.late")
+                .description("Outbox events delivered after the poll had moved past their id")
+                .register(meterRegistry);
+        this.rejectedPublishCounter = Counter.builder("sse.bus.publish.rejected")
+                .description("Event batches discarded because the outbox writer queue was full")
+                .register(meterRegistry);
+        Gauge.builder("sse.bus.skipped", skippedIds, Map::size)
+                .description("Outbox ids moved past at a gap and still awaited")
+                .register(meterRegistry);
+        Gauge.builder("sse.bus.lag", lagMillis, AtomicLong::get)
+                .description("Age of the last outbox event when this node delivered it")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("sse.bus.instances", liveNodes, AtomicLong::get)
+                .description("API nodes seen on the event bus recently")
+                .register(meterRegistry);
+
+        // Only events written from now on are delivered; older ones are covered by resync
+        lastDeliveredId.set(outboxRepository.findMaxId());
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-bus");
+            t.setDaemon(true);
+            return t;
+        });
+        // Outbox inserts get their own thread, so a slow database does not hold up the
+        // dispatcher that also fans out deliveries; one thread keeps this node's events in order
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(PUBLISH_QUEUE_CAPACITY), r -> {
+                    Thread t = new Thread(r, "sse-bus-publish");
+                    t.setDaemon(true);
+                    return t;
+                });
+        long pollMs = trackDevProperties.getSse().getBusPollIntervalMs();
+        scheduler.scheduleWithFixedDelay(guarded(this::poll), pollMs, pollMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(guarded(this::refreshNode), 0, NODE_HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(guarded(this::purge), PURGE_INTERVAL_SECONDS, PURGE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        log.info("Database SSE event bus started: node={}, fromId={}, pollIntervalMs={}",
+                nodeId, lastDeliveredId.get(), pollMs);
+    }
+
+    @Override
+    public void publish(List<SseEnvelope> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            publisher.execute(() -> write(events));
+        } catch (RejectedExecutionException e) {
+            rejectedPublishCounter.increment();
+            log.warn("SSE outbox writer queue full, discarding batch of {} events", events.size());
+        }
+    }
+
+    void write(List<SseEnvelope> events) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        List<SseOutboxEvent> rows = new ArrayList<>(events.size());
+        for (SseEnvelope event : events) {
+            String topics = String.join(",", event.topics());
+            rows.add(new SseOutboxEvent(nodeId, event.eventName(), event.coalesceKey(), topics, event.payload(), now));
+        }
+        try {
+            outboxRepository.saveAll(rows);
+            publishedCounter.increment(rows.size());
+        } catch (RuntimeException e) {
+            log.warn("SSE outbox write failed for {} events: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+        this.localDelivery = null;
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+
+    void poll() {
+        Consumer<List<SseEnvelope>> delivery = localDelivery;
+        if (delivery == null) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        List<SseOutboxEvent> rows = outboxRepository.findTop500ByIdGreaterThanOrderByIdAsc(lastDeliveredId.get());
+        long expected = lastDeliveredId.get() + 1;
+        List<SseEnvelope> batch = new ArrayList<>(rows.size());
+        for (SseOutboxEvent row : rows) {
+            if (row.getId() != expected) {
+                // A gap: wait a little for the missing insert to commit before moving past it
+                if (gapSinceMillis == 0L) {
+                    gapSinceMillis = nowMillis;
+                }
+                if (nowMillis - gapSinceMillis < gapGraceMillis) {
+                    break;
+                }
+                skip(expected, row.getId(), nowMillis);
+            }
+            gapSinceMillis = 0L;
+            batch.add(toEnvelope(row));
+            expected = row.getId() + 1;
+            lagMillis.set(Math.max(0L, nowMillis - row.getCreatedAt().toInstant().toEpochMilli()));
+        }
+        if (!batch.isEmpty()) {
+            lastDeliveredId.set(batch.get(batch.size() - 1).id());
+            delivery.accept(batch);
+            deliveredCounter.increment(batch.size());
+        }
+        deliverLate(delivery, nowMillis);
+    }
+
+    /** Track the ids of a gap [fromId, toId) the poll is moving past. */
+    private void skip(long fromId, long toId, long nowMillis) {
+        log.debug("Moving past SSE outbox ids {} to {} after waiting {} ms", fromId, toId - 1, gapGraceMillis);
+        for (long id = fromId; id < toId; id++) {
+            if (skippedIds.size() >= MAX_SKIPPED_IDS) {
+                log.warn("Too many SSE outbox gaps awaited, ids {} to {} will not be delivered if they commit later",
+                        id, toId - 1);
+                return;
+            }
+            skippedIds.put(id, nowMillis);
+        }
+    }
+
+    /**
+     * Deliver skipped ids whose transaction has committed since, and stop awaiting those older
+     * than the outbox retention: by then the row would have been purged anyway.
+     */
+    private void deliverLate(Consumer<List<SseEnvelope>> delivery, long nowMillis) {
+        if (skippedIds.isEmpty()) {
+            return;
+        }
+        long retentionMillis = TimeUnit.SECONDS.toMillis(trackDevProperties.getSse().getBusRetentionSeconds());
+        skippedIds.values().removeIf(skippedAt -> nowMillis - skippedAt > retentionMillis);
+        if (skippedIds.isEmpty()) {
+            return;
+        }
+        List<SseOutboxEvent> late = outboxRepository.findByIdInOrderByIdAsc(new ArrayList<>(skippedIds.keySet()));
+        if (late.isEmpty()) {
+            return;
+        }
+        List<SseEnvelope> batch = new ArrayList<>(late.size());
+        for (SseOutboxEvent row : late) {
+            skippedIds.remove(row.getId());
+            batch.add(toEnvelope(row));
+        }
+        log.info("Delivering {} SSE outbox events that committed after the poll moved past them", batch.size());
+        delivery.accept(batch);
+        deliveredCounter.increment(batch.size());
+        lateCounter.increment(batch.size());
+    }
+
+    private SseEnvelope toEnvelope(SseOutboxEvent row) {
+        Set<String> topics = new HashSet<>();
+        for (String topic : row.getTopics().split(",")) {
+            if (!topic.isBlank()) {
+                topics.add(topic.trim());
+            }
+        }
+        return new SseEnvelope(row.getId(), row.getEventName(), row.getCoalesceKey(), topics, row.getPayload());
+    }
+
+    private void refreshNode() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        nodeRepository.save(new SseBusNode(nodeId, now));
+        liveNodes.set(nodeRepository.countByLastSeenAtAfter(now.minusSeconds(NODE_LIVENESS_SECONDS)));
+    }
+
+    private void purge() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        int removed = outboxRepository.deleteCreatedBefore(
+                now.minusSeconds(trackDevProperties.getSse().getBusRetentionSeconds()));
+        nodeRepository.deleteSeenBefore(now.minusHours(1));
+        if (removed > 0) {
+            log.debug("Purged {} SSE outbox events", removed);
+        }
+    }
+
+    /** Keeps a failing run (e.g. the database being briefly unavailable) from cancelling the schedule. */
+    private Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("SSE event bus task failed: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -533,7 +533,7 @@ public class DemoDataSeeder {
         
         Profile demoProfile = createDemoProfile(professorPDS);
         courseService.applyProfile(coursePDS.getId(), demoProfile.getId(), professorPDS.getId());
-        logger.info("Created demo profile '{}' and applied to course '{}'", demoProfile.getName(), coursePDS.getSubject().getName());
+        logger.info("Created demo profile '{}' and applied to course '{}'", demoProfile.getName(), subjectPDS.getName());
 
         // ============================================
         // 14. CREATE PERMISSION TEST DATA
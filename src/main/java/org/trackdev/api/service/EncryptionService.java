@@ -1,5 +1,10 @@
 package org.trackdev.api.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +17,7 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Base64;
 
 /**
@@ -19,6 +25,10 @@ import java.util.Base64;
  * The encryption key is loaded from the ENCRYPTION_KEY environment variable.
  * 
  * AES-GCM provides both confidentiality and integrity protection.
+ *
+ * Decrypted values are kept in a bounded cache keyed by ciphertext. A column value is
+ * encrypted once with a random IV and then read many times, so the ciphertext identifies
+ * it exactly, and listings that load the same users again skip the AES work.
  */
 @Service
 public class EncryptionService {
@@ -30,8 +40,22 @@ public class EncryptionService {
 
     private final SecretKey secretKey;
     private final boolean encryptionEnabled;
+    private final Cache<String, String> decrypted;
+    private final Timer decryptTimer;
+
+    public EncryptionService(@Value("${ENCRYPTION_KEY:}") String encryptionKey,
+                             @Value("${trackdev.encryption.decrypt-cache-size:10000}") long decryptCacheSize,
+                             MeterRegistry meterRegistry) {
+        this.decrypted = Caffeine.newBuilder()
+                .maximumSize(decryptCacheSize)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, decrypted, "encryption.decrypt");
+        this.decryptTimer = Timer.builder("encryption.decrypt.time")
+                .description("Time spent on AES decryptions that missed the cache")
+                .register(meterRegistry);
 
-    public EncryptionService(@Value("${ENCRYPTION_KEY:}") String encryptionKey) {
         if (encryptionKey == null || encryptionKey.isEmpty()) {
             logger.warn("ENCRYPTION_KEY not set. Encryption is DISABLED. Set ENCRYPTION_KEY environment variable for production use.");
             this.secretKey = null;
@@ -99,7 +123,10 @@ public class EncryptionService {
             byteBuffer.put(ciphertext);
 
             // Return as Base64 with prefix to identify encrypted values
-            return "ENC:" + Base64.getEncoder().encodeToString(byteBuffer.array());
+            String encrypted = "ENC:" + Base64.getEncoder().encodeToString(byteBuffer.array());
+            // The value is usually read back right after it is written
+            decrypted.put(encrypted, plaintext);
+            return encrypted;
         } catch (Exception e) {
             logger.error("Encryption failed", e);
             throw new RuntimeException("Encryption failed", e);
@@ -130,6 +157,10 @@ public class EncryptionService {
             throw new RuntimeException("Cannot decrypt: ENCRYPTION_KEY not configured");
         }
 
+        return decrypted.get(ciphertext, key -> decryptTimer.record(() -> decryptUncached(key)));
+    }
+
+    private String decryptUncached(String ciphertext) {
         try {
             // Remove prefix and decode Base64
             String base64Data = ciphertext.substring(4);
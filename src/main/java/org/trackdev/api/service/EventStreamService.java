@@ -0,0 +1,114 @@
+package org.trackdev.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.entity.PointsReviewConversation;
+import org.trackdev.api.entity.Project;
+import org.trackdev.api.entity.Sprint;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.utils.ErrorConstants;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Validates the topics of the multiplexed event stream (/events/stream) and checks that the
+ * user may follow them. The topics themselves are served by {@link SseEmitterService}.
+ *
+ * Accepted topics: "sprint:{id}", "project:{id}" (activity feed), "points-review:{id}"
+ * (conversation id) and "unread", which stands for the unread activity signal of every
+ * project the user is a member of.
+ */
+@Service
+public class EventStreamService {
+
+    @Autowired
+    SprintService sprintService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    PointsReviewConversationService conversationService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    AccessChecker accessChecker;
+
+    /**
+     * Resolve the topics a user asks to follow, checking access to each one.
+     * Runs in its own short transaction: the stream endpoint has no OSIV session, and the
+     * connection must not hold a DB connection while it is open.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> resolveTopics(Collection<String> requested, String userId) {
+        return resolve(requested, userId, true);
+    }
+
+    /**
+     * Resolve topics a user stops following. Only the names are validated.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> resolveTopicsToRemove(Collection<String> requested, String userId) {
+        return resolve(requested, userId, false);
+    }
+
+    private Set<String> resolve(Collection<String> requested, String userId, boolean checkAccess) {
+        Set<String> topics = new HashSet<>();
+        if (requested == null) {
+            return topics;
+        }
+        for (String raw : requested) {
+            String topic = raw == null ? "" : raw.trim();
+            if (SseTopics.UNREAD.equals(topic)) {
+                User user = userService.get(userId);
+                for (Project project : user.getProjects()) {
+                    topics.add(SseTopics.unread(project.getId()));
+                }
+                continue;
+            }
+
+            int separator = topic.indexOf(':');
+            if (separator <= 0) {
+                throw new ServiceException(ErrorConstants.SSE_INVALID_TOPIC);
+            }
+            String kind = topic.substring(0, separator);
+            long id;
+            try {
+                id = Long.parseLong(topic.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new ServiceException(ErrorConstants.SSE_INVALID_TOPIC);
+            }
+
+            switch (kind) {
+                case SseTopics.SPRINT -> {
+                    if (checkAccess) {
+                        Sprint sprint = sprintService.get(id);
+                        accessChecker.checkCanViewProject(sprint.getProject(), userId);
+                    }
+                    topics.add(SseTopics.sprint(id));
+                }
+                case SseTopics.PROJECT -> {
+                    if (checkAccess) {
+                        accessChecker.checkCanViewProject(projectService.get(id), userId);
+                    }
+                    topics.add(SseTopics.project(id));
+                }
+                case SseTopics.POINTS_REVIEW -> {
+                    if (checkAccess) {
+                        PointsReviewConversation conversation = conversationService.get(id);
+                        accessChecker.checkCanViewPointsReviewConversation(conversation, userId);
+                    }
+                    topics.add(SseTopics.pointsReview(id));
+                }
+                default -> throw new ServiceException(ErrorConstants.SSE_INVALID_TOPIC);
+            }
+        }
+        return topics;
+    }
+}
@@ -0,0 +1,47 @@
+package org.trackdev.api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Single-node event bus: events are delivered straight back to this JVM's subscribers.
+ * Used unless trackdev.sse.bus is set to "database".
+ */
+@Component
+@ConditionalOnProperty(prefix = "trackdev.sse", name = "bus", havingValue = "local", matchIfMissing = true)
+public class InJvmSseEventBus implements SseEventBus {
+
+    // Ids are seeded from the clock so they keep increasing across restarts; a client
+    // holding an id from before a restart falls below every new replay log's floor and resyncs.
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private volatile Consumer<List<SseEnvelope>> localDelivery;
+
+    @Override
+    public void start(Consumer<List<SseEnvelope>> localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    @Override
+    public void publish(List<SseEnvelope> events) {
+        Consumer<List<SseEnvelope>> delivery = localDelivery;
+        if (delivery == null || events.isEmpty()) {
+            return;
+        }
+        List<SseEnvelope> numbered = new ArrayList<>(events.size());
+        for (SseEnvelope event : events) {
+            numbered.add(event.withId(sequence.incrementAndGet()));
+        }
+        delivery.accept(numbered);
+    }
+
+    @Override
+    public void stop() {
+        this.localDelivery = null;
+    }
+}
@@ -0,0 +1,54 @@
+package org.trackdev.api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-node bucket store. Each bucket is one AtomicLong updated with compare-and-set, so
+ * requests never take a lock, and the map's own striping keeps unrelated keys apart.
+ */
+@Component
+@ConditionalOnProperty(prefix = "trackdev.rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    // Marks a bucket the purge has claimed; callers holding it look the key up again
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public Decision tryAcquire(String key, int capacity, int refillPerMinute) {
+        while (true) {
+            AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(0L));
+            long current = bucket.get();
+            if (current == REMOVED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+            Step step = RateLimitStore.step(current, RateLimitStore.nowMicros(), capacity, refillPerMinute);
+            if (!step.decision().allowed() || bucket.compareAndSet(current, step.arrivalMicros())) {
+                return step.decision();
+            }
+        }
+    }
+
+    @Override
+    public void purgeExpired() {
+        long now = RateLimitStore.nowMicros();
+        buckets.forEach((key, bucket) -> {
+            long current = bucket.get();
+            if (current != REMOVED && current <= now && bucket.compareAndSet(current, REMOVED)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    @Override
+    public long size() {
+        return buckets.size();
+    }
+}
@@ -3,24 +3,33 @@ package org.trackdev.api.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.trackdev.api.controller.exceptions.ServiceException;
 import org.trackdev.api.entity.PersonalAccessToken;
 import org.trackdev.api.entity.User;
 import org.trackdev.api.repository.PersonalAccessTokenRepository;
 import org.trackdev.api.utils.ErrorConstants;
 
+import jakarta.annotation.PreDestroy;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.ZonedDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class PersonalAccessTokenService
@@ -34,6 +43,22 @@ public class PersonalAccessTokenService
     public static final int TOKEN_RANDOM_BYTES = 48;
     public static final int DISPLAY_PREFIX_LENGTH = 10;
 
+    // Bounds how long a revocation or a disabled user takes to reach other nodes
+    private static final long AUTH_CACHE_TTL_MS = 60_000;
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final long LAST_USED_FLUSH_INTERVAL_MS = 30_000;
+    private static final int LAST_USED_BATCH_SIZE = 500;
+
+    /** Owner and authorities of an authenticated personal access token. */
+    public record PatPrincipal(String tokenId, String userId, List<String> authorities, ZonedDateTime expiresAt) {}
+
+    private record CachedPrincipal(PatPrincipal principal, long loadedAtMillis) {}
+
+    // Keyed by token hash
+    private final ConcurrentHashMap<String, CachedPrincipal> authCache = new ConcurrentHashMap<>();
+    // Token id -> last use not yet written to the database
+    private final ConcurrentHashMap<String, ZonedDateTime> pendingLastUsed = new ConcurrentHashMap<>();
+
     @Autowired
     private UserService userService;
 
@@ -80,10 +105,42 @@ public class PersonalAccessTokenService
         return new PersonalAccessTokenWithPlaintext(pat, plaintextToken);
     }
 
-    @Transactional
-    public PersonalAccessToken authenticate(String plaintextToken) {
+    /**
+     * Resolves a plaintext token to its owner and authorities, or null when it is unknown,
+     * revoked, expired or belongs to a disabled user.
+     *
+     * Resolved tokens are cached for a short time, and the use is only recorded in memory;
+     * {@link #flushLastUsed()} writes it to the database in batches. A token revoked on this
+     * node is evicted as its revocation commits; a revocation or disabled user on another
+     * node takes effect once the cache entry expires.
+     */
+    public PatPrincipal authenticate(String plaintextToken) {
         String tokenHash = hashToken(plaintextToken);
-        Optional<PersonalAccessToken> optToken = repo().findByTokenHashAndRevokedFalse(tokenHash);
+        long now = System.currentTimeMillis();
+
+        CachedPrincipal cached = authCache.get(tokenHash);
+        if (cached == null || now - cached.loadedAtMillis() >= AUTH_CACHE_TTL_MS) {
+            PatPrincipal principal = loadPrincipal(tokenHash);
+            if (principal == null) {
+                authCache.remove(tokenHash);
+                return null;
+            }
+            cached = new CachedPrincipal(principal, now);
+            cacheAuthentication(tokenHash, cached, now);
+        }
+
+        PatPrincipal principal = cached.principal();
+        ZonedDateTime usedAt = ZonedDateTime.now(ZoneId.of("UTC"));
+        if (principal.expiresAt() != null && usedAt.isAfter(principal.expiresAt())) {
+            authCache.remove(tokenHash);
+            return null;
+        }
+        pendingLastUsed.put(principal.tokenId(), usedAt);
+        return principal;
+    }
+
+    private PatPrincipal loadPrincipal(String tokenHash) {
+        Optional<PersonalAccessToken> optToken = repo().findActiveWithUserRoles(tokenHash);
 
         if (optToken.isEmpty()) {
             return null;
@@ -100,14 +157,50 @@ public class PersonalAccessTokenService
             return null;
         }
 
-        // Force initialization of lazy roles collection so it's available
-        // outside the transaction boundary (in the PAT filter)
-        user.getRoles().size();
+        List<String> authorities = user.getRoles().stream()
+                .map(role -> "ROLE_" + role.getUserType().name())
+                .toList();
+        return new PatPrincipal(pat.getId(), user.getId(), authorities, pat.getExpiresAt());
+    }
 
-        pat.setLastUsedAt(ZonedDateTime.now(ZoneId.of("UTC")));
-        repo().save(pat);
+    private void cacheAuthentication(String tokenHash, CachedPrincipal cached, long now) {
+        if (authCache.size() >= MAX_CACHED_TOKENS) {
+            authCache.values().removeIf(c -> now - c.loadedAtMillis() >= AUTH_CACHE_TTL_MS);
+            if (authCache.size() >= MAX_CACHED_TOKENS) {
+                return;
+            }
+        }
+        authCache.put(tokenHash, cached);
+    }
 
-        return pat;
+    /**
+     * Writes the recorded token uses to the database. Each token gets its own last use,
+     * truncated to the second, and tokens last used in the same second share one UPDATE per
+     * batch, so a flush costs at most one statement per second of the flush interval.
+     */
+    @Scheduled(fixedDelay = LAST_USED_FLUSH_INTERVAL_MS)
+    @PreDestroy
+    public void flushLastUsed() {
+        if (pendingLastUsed.isEmpty()) {
+            return;
+        }
+        Map<ZonedDateTime, List<String>> idsByUse = new TreeMap<>();
+        for (String id : new ArrayList<>(pendingLastUsed.keySet())) {
+            ZonedDateTime usedAt = pendingLastUsed.remove(id);
+            if (usedAt != null) {
+                idsByUse.computeIfAbsent(usedAt.truncatedTo(ChronoUnit.SECONDS), k -> new ArrayList<>()).add(id);
+            }
+        }
+        idsByUse.forEach((usedAt, ids) -> {
+            for (int from = 0; from < ids.size(); from += LAST_USED_BATCH_SIZE) {
+                List<String> batch = ids.subList(from, Math.min(from + LAST_USED_BATCH_SIZE, ids.size()));
+                try {
+                    repo().updateLastUsedAt(batch, usedAt);
+                } catch (RuntimeException e) {
+                    log.warn("Could not record last use of {} personal access tokens: {}", batch.size(), e.getMessage());
+                }
+            }
+        });
     }
 
     @Transactional(readOnly = true)
@@ -130,6 +223,7 @@ public class PersonalAccessTokenService
 
         pat.setRevoked(true);
         repo().save(pat);
+        evict(pat.getTokenHash());
 
         log.info("PAT revoked for user: {}, tokenId: {}", userId, tokenId);
         auditLogger.logAdminAction(userId, "PAT_REVOKED", userId, "tokenId=" + tokenId);
@@ -143,12 +237,29 @@ public class PersonalAccessTokenService
         for (PersonalAccessToken pat : activeTokens) {
             pat.setRevoked(true);
             repo().save(pat);
+            evict(pat.getTokenHash());
         }
         if (!activeTokens.isEmpty()) {
             log.info("All PATs revoked for user: {} (count: {})", userId, activeTokens.size());
         }
     }
 
+    /**
+     * Drops a revoked token from the cache now and again once the revocation commits, since a
+     * request authenticating in between still reads the active row and caches it again.
+     */
+    private void evict(String tokenHash) {
+        authCache.remove(tokenHash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    authCache.remove(tokenHash);
+                }
+            });
+        }
+    }
+
     public static class PersonalAccessTokenWithPlaintext {
         private final PersonalAccessToken token;
         private final String plaintextToken;
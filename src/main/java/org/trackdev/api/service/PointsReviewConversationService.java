@@ -35,6 +35,9 @@ public class PointsReviewConversationService extends BaseServiceLong<PointsRevie
     @Autowired
     EmailNotificationService emailNotificationService;
 
+    @Autowired
+    SseEmitterService sseEmitterService;
+
     /**
      * Create a new points review conversation on a task.
      */
@@ -172,6 +175,8 @@ public class PointsReviewConversationService extends BaseServiceLong<PointsRevie
 
         fcmNotificationService.notifyPointsReviewMessage(conversation, message);
         emailNotificationService.notifyPointsReviewMessage(conversation, message);
+        sseEmitterService.publishPointsReviewEvent(conversation, message.getId(), author,
+                SseEmitterService.POINTS_REVIEW_MESSAGE_ADDED);
 
         return message;
     }
@@ -194,6 +199,8 @@ public class PointsReviewConversationService extends BaseServiceLong<PointsRevie
 
         User editor = userService.get(userId);
         emailNotificationService.notifyPointsReviewMessageEdited(saved.getConversation(), saved, editor);
+        sseEmitterService.publishPointsReviewEvent(saved.getConversation(), saved.getId(), editor,
+                SseEmitterService.POINTS_REVIEW_MESSAGE_EDITED);
 
         return saved;
     }
@@ -211,6 +218,8 @@ public class PointsReviewConversationService extends BaseServiceLong<PointsRevie
         PointsReviewConversation conversation = message.getConversation();
         conversation.getMessages().remove(message);
         messageRepository.delete(message);
+        sseEmitterService.publishPointsReviewEvent(conversation, messageId, userService.get(userId),
+                SseEmitterService.POINTS_REVIEW_MESSAGE_DELETED);
     }
 
     /**
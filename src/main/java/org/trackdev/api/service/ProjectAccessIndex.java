@@ -0,0 +1,452 @@
+package org.trackdev.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.configuration.UserType;
+import org.trackdev.api.entity.AccessIndexChange;
+import org.trackdev.api.entity.Course;
+import org.trackdev.api.entity.Project;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.repository.AccessIndexChangeRepository;
+import org.trackdev.api.repository.CourseRepository;
+import org.trackdev.api.repository.GroupRepository;
+import org.trackdev.api.repository.UserRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the facts most access checks depend on: the members of each project, the
+ * owners of the course and subject above it, and each user's roles and workspace.
+ *
+ * The index is built at startup and kept current by the change hooks the services call when
+ * memberships, courses or users change. Each hook reloads the affected rows from the database
+ * once the transaction commits, so the index only ever holds committed state.
+ *
+ * Because denials are answered from the index too, its staleness is a security bound, not just a
+ * tuning knob: a membership, ownership or role removed on one node must stop granting access on
+ * the others. Each hook therefore also writes an access_index_changes row in the changing
+ * transaction, and every node polls that log every {@code sync-interval-ms} and applies the same
+ * refresh, so a committed change reaches all nodes within about that interval. A change that
+ * escapes the log (manual SQL, a transaction committing more than a minute after its hook ran,
+ * a poll that keeps failing) is picked up by the periodic full rebuild, which is therefore the
+ * upper bound.
+ *
+ * Lookups return null for anything the index does not know (not built yet, disabled, or created
+ * since the last refresh); {@link AccessChecker} then falls back to the entities.
+ */
+@Component
+public class ProjectAccessIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectAccessIndex.class);
+
+    // Changes created this long ago are still looked for, since the auto-increment id of a
+    // change can become visible after higher ones; older changes are left to the rebuild
+    private static final long CHANGE_WINDOW_SECONDS = 60;
+    private static final long CHANGE_RETENTION_MINUTES = 60;
+
+    /** Roles as a bit mask over UserType ordinals, plus the workspace. */
+    public record UserAccess(int roleMask, Long workspaceId) {
+        public boolean hasRole(UserType type) {
+            return (roleMask & bit(type)) != 0;
+        }
+    }
+
+    public record ProjectAccess(Long courseId, Set<String> memberIds) {
+        public boolean isMember(String userId) {
+            return memberIds.contains(userId);
+        }
+    }
+
+    public record CourseAccess(String ownerId, String subjectOwnerId) {}
+
+    private record Snapshot(Map<Long, ProjectAccess> projects,
+                            Map<Long, CourseAccess> courses,
+                            Map<String, UserAccess> users) {}
+
+    @Autowired
+    private GroupRepository projectRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessIndexChangeRepository changeRepository;
+
+    @Autowired
+    private TrackDevProperties trackDevProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Null until the first build; the maps inside are updated in place by refreshes
+    private volatile Snapshot snapshot;
+
+    // Guarded by this. Refreshes applied while a rebuild is loading are replayed on the new
+    // snapshot, since the rebuild may have read the rows before they changed.
+    private boolean rebuilding = false;
+    private final List<Runnable> refreshesDuringRebuild = new ArrayList<>();
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Sync thread only: changes of other nodes already applied, with their creation time
+    private final Map<Long, ZonedDateTime> appliedChanges = new HashMap<>();
+
+    private Timer rebuildTimer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        this.rebuildTimer = Timer.builder("access.index.rebuild")
+                .description("Time to load the project access index from the database")
+                .register(meterRegistry);
+        Gauge.builder("access.index.projects", this, index -> index.size(Snapshot::projects))
+                .description("Projects in the access index")
+                .register(meterRegistry);
+        Gauge.builder("access.index.users", this, index -> index.size(Snapshot::users))
+                .description("Users in the access index")
+                .register(meterRegistry);
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trackdev.access-index.rebuild-interval-seconds:300}",
+            initialDelayString = "${trackdev.access-index.rebuild-interval-seconds:300}",
+            timeUnit = TimeUnit.SECONDS)
+    public void scheduledRebuild() {
+        if (isEnabled()) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // Keep serving the previous snapshot, refreshes keep it current on this node
+                log.warn("Access index rebuild failed: {}", e.getMessage());
+            }
+            try {
+                changeRepository.deleteCreatedBefore(
+                        ZonedDateTime.now(ZoneId.of("UTC")).minusMinutes(CHANGE_RETENTION_MINUTES));
+            } catch (RuntimeException e) {
+                log.warn("Access index change log purge failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applies the changes other nodes committed since the last poll. Refreshes reload the
+     * current rows, so applying a change twice or out of order is harmless.
+     */
+    @Scheduled(fixedDelayString = "${trackdev.access-index.sync-interval-ms:2000}",
+            initialDelayString = "${trackdev.access-index.sync-interval-ms:2000}")
+    public void syncChanges() {
+        if (!isEnabled() || snapshot == null) {
+            return;
+        }
+        ZonedDateTime windowStart = ZonedDateTime.now(ZoneId.of("UTC")).minusSeconds(CHANGE_WINDOW_SECONDS);
+        List<AccessIndexChange> changes;
+        try {
+            changes = changeRepository.findByCreatedAtAfterAndNodeIdNotOrderByIdAsc(windowStart, nodeId);
+        } catch (RuntimeException e) {
+            // Retried on the next poll, the window covers the missed interval
+            log.warn("Access index change log poll failed: {}", e.getMessage());
+            return;
+        }
+        for (AccessIndexChange change : changes) {
+            if (appliedChanges.putIfAbsent(change.getId(), change.getCreatedAt()) == null) {
+                applyChange(change.getKind(), change.getEntityId());
+            }
+        }
+        appliedChanges.values().removeIf(createdAt -> createdAt.isBefore(windowStart));
+    }
+
+    /** Replaces the whole index with a fresh load from the database. */
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+        }
+        long start = System.nanoTime();
+        Snapshot fresh;
+        try {
+            fresh = load();
+        } catch (RuntimeException e) {
+            // The previous snapshot stays, and the refreshes were already applied to it
+            synchronized (this) {
+                rebuilding = false;
+                refreshesDuringRebuild.clear();
+            }
+            throw e;
+        }
+        List<Runnable> replay;
+        synchronized (this) {
+            snapshot = fresh;
+            rebuilding = false;
+            replay = new ArrayList<>(refreshesDuringRebuild);
+            refreshesDuringRebuild.clear();
+        }
+        replay.forEach(Runnable::run);
+        if (rebuildTimer != null) {
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        log.debug("Access index rebuilt: {} projects, {} courses, {} users",
+                snapshot.projects().size(), snapshot.courses().size(), snapshot.users().size());
+    }
+
+    // LOOKUPS
+
+    public UserAccess user(String userId) {
+        Snapshot s = snapshot;
+        return s == null || userId == null ? null : s.users().get(userId);
+    }
+
+    public ProjectAccess project(Long projectId) {
+        Snapshot s = snapshot;
+        return s == null || projectId == null ? null : s.projects().get(projectId);
+    }
+
+    public CourseAccess course(Long courseId) {
+        Snapshot s = snapshot;
+        return s == null || courseId == null ? null : s.courses().get(courseId);
+    }
+
+    // CHANGE HOOKS. Called inside the changing transaction; applied after it commits.
+
+    /** Membership or course of the project changed, or the project was created. */
+    public void projectChanged(Project project) {
+        changed(AccessIndexChange.Kind.PROJECT_CHANGED, String.valueOf(project.getId()));
+    }
+
+    public void projectRemoved(Long projectId) {
+        changed(AccessIndexChange.Kind.PROJECT_REMOVED, String.valueOf(projectId));
+    }
+
+    /** Owner or subject of the course changed, or the course was created. */
+    public void courseChanged(Course course) {
+        changed(AccessIndexChange.Kind.COURSE_CHANGED, String.valueOf(course.getId()));
+    }
+
+    /** The course and, by cascade, its projects were deleted. */
+    public void courseRemoved(Long courseId) {
+        changed(AccessIndexChange.Kind.COURSE_REMOVED, String.valueOf(courseId));
+    }
+
+    /** Roles or workspace of the user changed, or the user was created. */
+    public void userChanged(User user) {
+        changed(AccessIndexChange.Kind.USER_CHANGED, user.getId());
+    }
+
+    /** The user was deleted, which also removed their project memberships. */
+    public void userRemoved(String userId) {
+        changed(AccessIndexChange.Kind.USER_REMOVED, userId);
+    }
+
+    /**
+     * Differences between the index and the database, empty when they agree. Used by tests and
+     * for diagnosing access decisions.
+     */
+    public List<String> findInconsistencies() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of("index not built");
+        }
+        Snapshot expected = load();
+        List<String> differences = new ArrayList<>();
+        compare("project", expected.projects(), current.projects(), differences);
+        compare("course", expected.courses(), current.courses(), differences);
+        compare("user", expected.users(), current.users(), differences);
+        return differences;
+    }
+
+    // Visible for testing
+    boolean isReady() {
+        return snapshot != null;
+    }
+
+    /** Logs the change for the other nodes, and applies it here once the transaction commits. */
+    private void changed(AccessIndexChange.Kind kind, String entityId) {
+        if (!isEnabled()) {
+            return;
+        }
+        changeRepository.save(new AccessIndexChange(nodeId, kind, entityId, ZonedDateTime.now(ZoneId.of("UTC"))));
+        afterCommit(() -> applyChange(kind, entityId));
+    }
+
+    private void applyChange(AccessIndexChange.Kind kind, String entityId) {
+        switch (kind) {
+            case PROJECT_CHANGED -> refreshProject(Long.valueOf(entityId));
+            case PROJECT_REMOVED -> apply(s -> s.projects().remove(Long.valueOf(entityId)), null);
+            case COURSE_CHANGED -> refreshCourse(Long.valueOf(entityId));
+            case COURSE_REMOVED -> {
+                Long courseId = Long.valueOf(entityId);
+                apply(s -> {
+                    s.courses().remove(courseId);
+                    s.projects().values().removeIf(p -> courseId.equals(p.courseId()));
+                }, null);
+            }
+            case USER_CHANGED -> refreshUser(entityId);
+            case USER_REMOVED -> apply(s -> {
+                s.users().remove(entityId);
+                s.projects().replaceAll((id, p) -> p.isMember(entityId) ? withoutMember(p, entityId) : p);
+            }, null);
+        }
+    }
+
+    private void refreshProject(Long projectId) {
+        try {
+            ProjectAccess access = projectRepository.findCourseIdById(projectId)
+                    .map(courseId -> new ProjectAccess(courseId,
+                            Set.copyOf(projectRepository.findMemberIdsById(projectId))))
+                    .orElse(null);
+            apply(s -> putOrRemove(s.projects(), projectId, access), () -> refreshProject(projectId));
+        } catch (RuntimeException e) {
+            // An entry that could not be refreshed is dropped, so checks fall back to the database
+            log.warn("Access index refresh of project {} failed: {}", projectId, e.getMessage());
+            apply(s -> s.projects().remove(projectId), null);
+        }
+    }
+
+    private void refreshCourse(Long courseId) {
+        try {
+            List<Object[]> rows = courseRepository.findOwnerIdsById(courseId);
+            CourseAccess access = rows.isEmpty() ? null : toCourseAccess(rows.get(0));
+            apply(s -> putOrRemove(s.courses(), courseId, access), () -> refreshCourse(courseId));
+        } catch (RuntimeException e) {
+            log.warn("Access index refresh of course {} failed: {}", courseId, e.getMessage());
+            apply(s -> s.courses().remove(courseId), null);
+        }
+    }
+
+    private void refreshUser(String userId) {
+        try {
+            Map<String, UserAccess> users = toUserAccess(userRepository.findAccessRowsById(userId));
+            UserAccess access = users.get(userId);
+            apply(s -> putOrRemove(s.users(), userId, access), () -> refreshUser(userId));
+        } catch (RuntimeException e) {
+            log.warn("Access index refresh of user {} failed: {}", userId, e.getMessage());
+            apply(s -> s.users().remove(userId), null);
+        }
+    }
+
+    private void apply(Consumer<Snapshot> update, Runnable replayAfterRebuild) {
+        synchronized (this) {
+            Snapshot s = snapshot;
+            if (s != null) {
+                update.accept(s);
+            }
+            if (rebuilding && replayAfterRebuild != null) {
+                refreshesDuringRebuild.add(replayAfterRebuild);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Snapshot load() {
+        Map<Long, Set<String>> members = new HashMap<>();
+        for (Object[] row : projectRepository.findAllMemberIds()) {
+            members.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+        }
+        Map<Long, ProjectAccess> projects = new ConcurrentHashMap<>();
+        for (Object[] row : projectRepository.findAllCourseIds()) {
+            Long projectId = (Long) row[0];
+            projects.put(projectId, new ProjectAccess((Long) row[1],
+                    Set.copyOf(members.getOrDefault(projectId, Set.of()))));
+        }
+
+        Map<Long, CourseAccess> courses = new ConcurrentHashMap<>();
+        for (Object[] row : courseRepository.findAllOwnerIds()) {
+            courses.put((Long) row[0], toCourseAccess(row));
+        }
+
+        Map<String, UserAccess> users = new ConcurrentHashMap<>(toUserAccess(userRepository.findAllAccessRows()));
+        return new Snapshot(projects, courses, users);
+    }
+
+    private static CourseAccess toCourseAccess(Object[] row) {
+        return new CourseAccess((String) row[1], (String) row[2]);
+    }
+
+    /** Folds [userId, workspaceId, userType] rows, one per role, into one entry per user. */
+    private static Map<String, UserAccess> toUserAccess(List<Object[]> rows) {
+        Map<String, UserAccess> users = new HashMap<>();
+        for (Object[] row : rows) {
+            String userId = (String) row[0];
+            int roleBit = row[2] == null ? 0 : bit((UserType) row[2]);
+            UserAccess previous = users.get(userId);
+            int mask = previous == null ? roleBit : previous.roleMask() | roleBit;
+            users.put(userId, new UserAccess(mask, (Long) row[1]));
+        }
+        return users;
+    }
+
+    private static int bit(UserType type) {
+        return 1 << type.ordinal();
+    }
+
+    private static ProjectAccess withoutMember(ProjectAccess project, String userId) {
+        Set<String> members = new HashSet<>(project.memberIds());
+        members.remove(userId);
+        return new ProjectAccess(project.courseId(), Set.copyOf(members));
+    }
+
+    private static <K, V> void putOrRemove(Map<K, V> map, K key, V value) {
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    private static <K, V> void compare(String kind, Map<K, V> expected, Map<K, V> actual, List<String> differences) {
+        for (Map.Entry<K, V> entry : expected.entrySet()) {
+            V indexed = actual.get(entry.getKey());
+            if (!entry.getValue().equals(indexed)) {
+                differences.add(kind + " " + entry.getKey() + ": expected " + entry.getValue() + " but indexed " + indexed);
+            }
+        }
+        for (K key : actual.keySet()) {
+            if (!expected.containsKey(key)) {
+                differences.add(kind + " " + key + ": indexed but no longer in the database");
+            }
+        }
+    }
+
+    private double size(Function<Snapshot, Map<?, ?>> part) {
+        Snapshot s = snapshot;
+        return s == null ? 0 : part.apply(s).size();
+    }
+
+    private boolean isEnabled() {
+        return trackDevProperties.getAccessIndex().isEnabled();
+    }
+}
@@ -0,0 +1,179 @@
+package org.trackdev.api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.trackdev.api.entity.*;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Per-project data version, bumped in the same transaction as any change to what a report of
+ * the project reads: its tasks, sprints, sprint and pull request links, task attribute values
+ * and members. Cached results stamped with the current version are still valid.
+ *
+ * Changes are picked up from Hibernate's post insert/update/delete and collection events. The
+ * projects touched by a transaction are collected per session and bumped with one UPDATE right
+ * before it commits. Bulk and native writes bypass those events, so the services doing them call
+ * {@link #touchTask(Long)} themselves.
+ */
+@Component
+public class ProjectDataVersions {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private final Map<SessionImplementor, Touched> pending = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Projects and tasks (whose project is resolved in SQL) changed by one transaction. */
+    private static final class Touched {
+        final Set<Long> projectIds = new HashSet<>();
+        final Set<Long> taskIds = new HashSet<>();
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        ChangeListener listener = new ChangeListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+    }
+
+    /**
+     * Current data version of a project.
+     */
+    public long getVersion(Long projectId) {
+        return entityManager.createQuery("SELECT p.dataVersion FROM Project p WHERE p.id = :projectId", Long.class)
+                .setParameter("projectId", projectId)
+                .getResultStream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    /**
+     * Bump the version of a task's project when the current transaction commits. For writes
+     * that bypass entity events (bulk JPQL and native queries).
+     */
+    public void touchTask(Long taskId) {
+        touch(entityManager.unwrap(SessionImplementor.class), null, taskId);
+    }
+
+    private void touch(SessionImplementor session, Long projectId, Long taskId) {
+        if (projectId == null && taskId == null) {
+            return;
+        }
+        Touched touched = pending.get(session);
+        if (touched == null) {
+            touched = new Touched();
+            pending.put(session, touched);
+            session.getActionQueue().registerProcess(this::bump);
+            session.getActionQueue().registerProcess((success, s) -> pending.remove(s));
+        }
+        if (projectId != null) {
+            touched.projectIds.add(projectId);
+        } else {
+            touched.taskIds.add(taskId);
+        }
+    }
+
+    private void bump(SessionImplementor session) {
+        Touched touched = pending.remove(session);
+        if (touched == null) {
+            return;
+        }
+        session.doWork(connection -> {
+            if (!touched.projectIds.isEmpty()) {
+                execute(connection.prepareStatement("UPDATE projects SET data_version = data_version + 1 WHERE id IN ("
+                        + placeholders(touched.projectIds.size()) + ")"), touched.projectIds);
+            }
+            if (!touched.taskIds.isEmpty()) {
+                execute(connection.prepareStatement("UPDATE projects SET data_version = data_version + 1 WHERE id IN ("
+                        + "SELECT project_id FROM tasks WHERE id IN (" + placeholders(touched.taskIds.size()) + "))"), touched.taskIds);
+            }
+        });
+    }
+
+    private static void execute(PreparedStatement statement, Collection<Long> ids) throws java.sql.SQLException {
+        try (statement) {
+            int i = 1;
+            for (Long id : ids) {
+                statement.setLong(i++, id);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private final class ChangeListener implements PostInsertEventListener, PostUpdateEventListener,
+            PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getSession(), event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getSession(), event.getEntity());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getSession(), event.getEntity());
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            changed(event.getSession(), event.getAffectedOwnerOrNull());
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            changed(event.getSession(), event.getAffectedOwnerOrNull());
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            changed(event.getSession(), event.getAffectedOwnerOrNull());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        private void changed(EventSource session, Object entity) {
+            // Only ids are read: an uninitialized proxy gives its id without a select
+            if (entity instanceof Task task) {
+                touch(session, task.getProject() != null ? task.getProject().getId() : null, task.getId());
+            } else if (entity instanceof Sprint sprint && sprint.getProject() != null) {
+                touch(session, sprint.getProject().getId(), null);
+            } else if (entity instanceof Project project) {
+                touch(session, project.getId(), null);
+            } else if (entity instanceof TaskAttributeValue value) {
+                touch(session, null, value.getTask() != null ? value.getTask().getId() : value.getTaskId());
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.trackdev.api.mapper.ProjectExportMapper;
 import org.trackdev.api.repository.PullRequestAttributeValueRepository;
 import org.trackdev.api.repository.StudentAttributeValueRepository;
 import org.trackdev.api.repository.TaskAttributeValueRepository;
+import org.trackdev.api.repository.TaskRepository;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -41,6 +42,9 @@ public class ProjectExportService {
     @Autowired
     AccessChecker accessChecker;
 
+    @Autowired
+    TaskRepository taskRepository;
+
     @Autowired
     StudentAttributeValueRepository studentAttributeValueRepository;
 
@@ -87,7 +91,7 @@ public class ProjectExportService {
         Project project = projectService.get(projectId);
         accessChecker.checkCanManageProject(project, userId);
 
-        Collection<Task> tasks = project.getAllTasks();
+        Collection<Task> tasks = taskRepository.findByProjectId(projectId);
 
         List<Long> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
         Map<Long, List<TaskAttributeValue>> attrsByTaskId = taskIds.isEmpty()
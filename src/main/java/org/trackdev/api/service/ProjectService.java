@@ -34,6 +34,9 @@ public class ProjectService extends BaseServiceLong<Project, GroupRepository> {
     @Autowired
     AccessChecker accessChecker;
 
+    @Autowired
+    ProjectAccessIndex accessIndex;
+
     @Autowired
     @Lazy
     TaskService taskService;
@@ -55,6 +58,7 @@ public class ProjectService extends BaseServiceLong<Project, GroupRepository> {
             addMembers(course, project, memberIds);
         }
         repo.save(project);
+        accessIndex.projectChanged(project);
         return project;
     }
 
@@ -124,6 +128,9 @@ public class ProjectService extends BaseServiceLong<Project, GroupRepository> {
         }
         project.setQualification(qualification);
         repo.save(project);
+        if (memberIds != null || courseId != null) {
+            accessIndex.projectChanged(project);
+        }
         
         return project;
     }
@@ -163,6 +170,7 @@ public class ProjectService extends BaseServiceLong<Project, GroupRepository> {
         
         // Delete the project (sprints will be deleted via cascade)
         repo.delete(project);
+        accessIndex.projectRemoved(projectId);
     }
 
     /**
@@ -258,7 +266,7 @@ public class ProjectService extends BaseServiceLong<Project, GroupRepository> {
     public Collection<Task> getAllProjectTasks(Long projectId, String userId) {
         Project project = get(projectId);
         accessChecker.checkCanViewProject(project, userId);
-        Collection<Task> tasks = project.getAllTasks();
+        Collection<Task> tasks = taskService.findByProjectId(projectId);
         // Initialize childTasks for USER_STORY tasks to enable estimation calculation
         for (Task task : tasks) {
             if (task.getTaskType() == TaskType.USER_STORY && task.getChildTasks() != null) {
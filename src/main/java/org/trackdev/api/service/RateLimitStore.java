@@ -0,0 +1,53 @@
+package org.trackdev.api.service;
+
+/**
+ * Holds the token buckets used by the API rate limiter.
+ *
+ * A bucket is stored as a single number, its theoretical arrival time (GCRA): the moment at
+ * which the bucket would be full again. A bucket whose time has passed is full and carries no
+ * information, so stores can drop it at any time without changing any decision.
+ */
+public interface RateLimitStore {
+
+    /** Outcome of taking one token from a bucket. */
+    record Decision(boolean allowed, int remaining, long retryAfterMillis) {}
+
+    /**
+     * Takes one token from the bucket of the given key, creating a full bucket when there is
+     * none. Buckets of different keys never interact.
+     */
+    Decision tryAcquire(String key, int capacity, int refillPerMinute);
+
+    /** Drops the buckets that are full again. */
+    void purgeExpired();
+
+    /** Buckets currently held, for metrics; -1 when the store cannot tell cheaply. */
+    default long size() {
+        return -1;
+    }
+
+    /**
+     * GCRA step shared by the stores. Times are in microseconds since the epoch so that
+     * refill rates above one token per millisecond keep their precision.
+     *
+     * @return the new arrival time when the request is allowed, or the unchanged one otherwise,
+     *         together with the decision
+     */
+    static Step step(long arrivalMicros, long nowMicros, int capacity, int refillPerMinute) {
+        long interval = Math.max(1, 60_000_000L / Math.max(1, refillPerMinute));
+        long burst = interval * Math.max(1, capacity);
+        long next = Math.max(arrivalMicros, nowMicros) + interval;
+        long ahead = next - nowMicros;
+        if (ahead > burst) {
+            long retryMicros = ahead - burst;
+            return new Step(arrivalMicros, new Decision(false, 0, Math.max(1, (retryMicros + 999) / 1000)));
+        }
+        return new Step(next, new Decision(true, (int) ((burst - ahead) / interval), 0));
+    }
+
+    record Step(long arrivalMicros, Decision decision) {}
+
+    static long nowMicros() {
+        return System.currentTimeMillis() * 1000;
+    }
+}
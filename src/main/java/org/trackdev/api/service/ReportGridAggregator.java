@@ -0,0 +1,205 @@
+package org.trackdev.api.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.dto.ReportResultDTO;
+import org.trackdev.api.entity.*;
+
+import java.util.*;
+
+/**
+ * Computes the grid of a report with one aggregate query over the project tasks, grouped by
+ * the row and column axes, instead of walking every task and its associations.
+ *
+ * Each axis is a join of the task: STUDENTS joins the assignee, SPRINTS the active sprints, so a
+ * task in several sprints lands in each of them (and in every sprint pair of a sprints by sprints
+ * report), as before. The magnitude is summed by the database, except for profile attributes:
+ * their values are strings, so the query groups by value and counts tasks, and each distinct
+ * value is parsed once.
+ *
+ * Cells and totals are accumulated in primitive arrays indexed by header position. Axis ids that
+ * have no header (e.g. a task still assigned to a former member) get a position after the
+ * headers, so they keep counting in the totals.
+ */
+@Component
+public class ReportGridAggregator {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    public record Grid(Map<String, Integer> data, Map<String, Integer> rowTotals,
+                       Map<String, Integer> columnTotals, int grandTotal) {}
+
+    /**
+     * Compute the grid of a complete report for a project.
+     * @param statusFilters Task statuses to include, null or empty for all
+     */
+    @Transactional(readOnly = true)
+    public Grid compute(Report report, Long projectId, List<ReportResultDTO.AxisHeader> rowHeaders,
+                        List<ReportResultDTO.AxisHeader> columnHeaders, List<TaskStatus> statusFilters) {
+        ProfileAttribute attribute = report.getProfileAttribute();
+        List<Object[]> groups = aggregate(report, projectId, statusFilters);
+
+        AxisIndex rows = new AxisIndex(rowHeaders);
+        AxisIndex columns = new AxisIndex(columnHeaders);
+        for (Object[] group : groups) {
+            rows.indexOf(group[0]);
+            columns.indexOf(group[1]);
+        }
+
+        int columnCount = columns.size();
+        int[] cells = new int[rows.size() * columnCount];
+        int[] rowTotals = new int[rows.size()];
+        int[] columnTotals = new int[columnCount];
+        int grandTotal = 0;
+
+        int defaultValue = attribute != null ? parseAttributeValue(attribute, attribute.getDefaultValue(), 0) : 0;
+        for (Object[] group : groups) {
+            int value = attribute != null
+                    ? parseAttributeValue(attribute, (String) group[3], defaultValue) * ((Number) group[2]).intValue()
+                    : ((Number) group[2]).intValue();
+            int row = rows.indexOf(group[0]);
+            int column = columns.indexOf(group[1]);
+            cells[row * columnCount + column] += value;
+            rowTotals[row] += value;
+            columnTotals[column] += value;
+            grandTotal += value;
+        }
+
+        Map<String, Integer> data = new HashMap<>();
+        for (int row = 0; row < rows.size(); row++) {
+            for (int column = 0; column < columnCount; column++) {
+                int value = cells[row * columnCount + column];
+                if (value != 0) {
+                    data.put(rows.id(row) + ":" + columns.id(column), value);
+                }
+            }
+        }
+        return new Grid(data, rows.toMap(rowTotals), columns.toMap(columnTotals), grandTotal);
+    }
+
+    /**
+     * One row per (row id, column id) with the summed magnitude, or per (row id, column id,
+     * attribute value) with the task count for profile attributes.
+     */
+    private List<Object[]> aggregate(Report report, Long projectId, List<TaskStatus> statusFilters) {
+        ProfileAttribute attribute = report.getProfileAttribute();
+        StringBuilder jpql = new StringBuilder("SELECT r.id, c.id, ");
+        if (attribute != null) {
+            jpql.append("COUNT(t), v.value FROM Task t");
+        } else if (report.getMagnitude() == ReportMagnitude.PULL_REQUESTS) {
+            jpql.append("COUNT(pr) FROM Task t");
+        } else {
+            jpql.append("SUM(COALESCE(t.estimationPoints, 0)) FROM Task t");
+        }
+        jpql.append(axisJoin(report.getRowType(), "r"));
+        jpql.append(axisJoin(report.getColumnType(), "c"));
+        if (attribute != null) {
+            jpql.append(" LEFT JOIN TaskAttributeValue v ON v.taskId = t.id AND v.attributeId = :attributeId");
+        } else if (report.getMagnitude() == ReportMagnitude.PULL_REQUESTS) {
+            jpql.append(" JOIN t.pullRequests pr");
+        }
+
+        jpql.append(" WHERE t.project.id = :projectId");
+        // When element is TASK, only include TASK and BUG (exclude USER_STORY)
+        boolean filterTypes = report.getElement() == ReportElement.TASK;
+        if (filterTypes) {
+            jpql.append(" AND t.type IN :types");
+        }
+        boolean filterStatuses = statusFilters != null && !statusFilters.isEmpty();
+        if (filterStatuses) {
+            jpql.append(" AND t.status IN :statuses");
+        }
+        jpql.append(" GROUP BY r.id, c.id");
+        if (attribute != null) {
+            jpql.append(", v.value");
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("projectId", projectId);
+        if (attribute != null) {
+            query.setParameter("attributeId", attribute.getId());
+        }
+        if (filterTypes) {
+            query.setParameter("types", List.of(TaskType.TASK, TaskType.BUG));
+        }
+        if (filterStatuses) {
+            query.setParameter("statuses", statusFilters);
+        }
+        return query.getResultList();
+    }
+
+    private static String axisJoin(ReportAxisType axisType, String alias) {
+        return switch (axisType) {
+            case STUDENTS -> " JOIN t.assignee " + alias;
+            case SPRINTS -> " JOIN t.activeSprints " + alias;
+        };
+    }
+
+    /**
+     * Numeric value of a profile attribute, FLOAT values rounded. Missing or invalid values,
+     * and non-numeric attributes, count as the fallback.
+     */
+    private static int parseAttributeValue(ProfileAttribute attribute, String value, int fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            if (attribute.getType() == AttributeType.INTEGER) {
+                return Integer.parseInt(value);
+            } else if (attribute.getType() == AttributeType.FLOAT) {
+                return (int) Math.round(Double.parseDouble(value));
+            }
+        } catch (NumberFormatException e) {
+            // Invalid value, use the fallback
+        }
+        return fallback;
+    }
+
+    /** Positions of the axis ids: headers first, in header order, then ids with no header. */
+    private static final class AxisIndex {
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final int headerCount;
+
+        AxisIndex(List<ReportResultDTO.AxisHeader> headers) {
+            for (ReportResultDTO.AxisHeader header : headers) {
+                indexOf(header.getId());
+            }
+            headerCount = ids.size();
+        }
+
+        int indexOf(Object id) {
+            String key = String.valueOf(id);
+            Integer position = positions.get(key);
+            if (position == null) {
+                position = ids.size();
+                positions.put(key, position);
+                ids.add(key);
+            }
+            return position;
+        }
+
+        String id(int position) {
+            return ids.get(position);
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        /** Totals by id: every header, and the other ids only when they add up to something. */
+        Map<String, Integer> toMap(int[] totals) {
+            Map<String, Integer> map = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (i < headerCount || totals[i] != 0) {
+                    map.put(ids.get(i), totals[i]);
+                }
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.trackdev.api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.trackdev.api.dto.CourseReportResultDTO;
+import org.trackdev.api.dto.ReportResultDTO;
+import org.trackdev.api.entity.TaskStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Computes a report for every project of a course at once.
+ *
+ * Each project runs on its own virtual thread, in its own read-only transaction, so the slowest
+ * project bounds the response instead of the sum of all of them. A semaphore shared by every
+ * request caps how many projects are computed at the same time, and so how many database
+ * connections reports can take from the pool.
+ */
+@Service
+public class ReportMatrixService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportMatrixService.class);
+
+    private static final long STREAM_TIMEOUT_MS = 300_000;
+
+    @Autowired
+    ReportService reportService;
+
+    @Value("${trackdev.reports.parallelism:4}")
+    int parallelism;
+
+    private ExecutorService executor;
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("report-matrix-", 0).factory());
+        this.permits = new Semaphore(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Compute a report for every project of a course.
+     */
+    public CourseReportResultDTO computeForCourse(Long courseId, Long reportId, String userId, List<TaskStatus> statusFilters) {
+        ReportService.CourseReportPlan plan = reportService.planCourseReport(reportId, courseId, userId);
+        return compute(plan, statusFilters, projectResult -> {});
+    }
+
+    /**
+     * Compute a report for every project of a course, streaming a "project" event with each
+     * project result as it finishes and a final "complete" event with the course totals
+     * (without the grids, already sent). Access and configuration errors are thrown before
+     * the stream starts.
+     */
+    public SseEmitter streamForCourse(Long courseId, Long reportId, String userId, List<TaskStatus> statusFilters) {
+        ReportService.CourseReportPlan plan = reportService.planCourseReport(reportId, courseId, userId);
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        executor.execute(() -> {
+            try {
+                CourseReportResultDTO result = compute(plan, statusFilters, projectResult -> {
+                    try {
+                        emitter.send(SseEmitter.event().name("project").data(projectResult));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                result.setProjects(List.of());
+                emitter.send(SseEmitter.event().name("complete").data(result));
+                emitter.complete();
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * @param onProject Called on the calling thread with each project result as it finishes
+     */
+    private CourseReportResultDTO compute(ReportService.CourseReportPlan plan, List<TaskStatus> statusFilters,
+                                          Consumer<ReportResultDTO> onProject) {
+        Long reportId = plan.reportId();
+        CourseReportResultDTO result = new CourseReportResultDTO();
+        result.setReportId(plan.reportId());
+        result.setReportName(plan.reportName());
+        result.setCourseId(plan.courseId());
+
+        CompletionService<ReportResultDTO> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<ReportResultDTO>, Long> running = new HashMap<>();
+        for (Long projectId : plan.projectIds()) {
+            running.put(completion.submit(() -> computeProject(plan.reportId(), projectId, statusFilters)), projectId);
+        }
+
+        Map<Long, ReportResultDTO> results = new HashMap<>();
+        try {
+            for (int i = 0; i < running.size(); i++) {
+                Future<ReportResultDTO> done = completion.take();
+                Long projectId = running.get(done);
+                try {
+                    ReportResultDTO projectResult = done.get();
+                    results.put(projectId, projectResult);
+                    onProject.accept(projectResult);
+                } catch (ExecutionException e) {
+                    log.warn("Could not compute report {} for project {}: {}", reportId, projectId, e.getCause().getMessage());
+                    result.getFailedProjectIds().add(projectId);
+                }
+            }
+        } catch (InterruptedException e) {
+            running.keySet().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing report " + reportId, e);
+        } catch (RuntimeException e) {
+            // The consumer failed, e.g. the client went away: stop the projects still waiting
+            running.keySet().forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        int grandTotal = 0;
+        for (Long projectId : plan.projectIds()) {
+            ReportResultDTO projectResult = results.get(projectId);
+            if (projectResult != null) {
+                result.getProjects().add(projectResult);
+                result.getProjectTotals().put(projectId, projectResult.getGrandTotal());
+                grandTotal += projectResult.getGrandTotal();
+            }
+        }
+        result.setGrandTotal(grandTotal);
+        return result;
+    }
+
+    private ReportResultDTO computeProject(Long reportId, Long projectId, List<TaskStatus> statusFilters)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return reportService.computeReportForCourseProject(reportId, projectId, statusFilters);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.trackdev.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.trackdev.api.dto.ReportResultDTO;
+import org.trackdev.api.entity.TaskStatus;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Computed report results by (report, project, status filters), each stamped with the project
+ * data version it was computed at. A result is served while the project is still at that
+ * version, so repeated views of an unchanged project skip the task queries.
+ *
+ * Report configuration changes evict the report's results on this node. Other nodes, and
+ * header-only changes such as a student renaming themselves, catch up when entries expire.
+ */
+@Component
+public class ReportResultCache {
+
+    private record Key(Long reportId, Long projectId, Set<TaskStatus> statuses) {}
+
+    private record Entry(long dataVersion, ReportResultDTO result) {}
+
+    private final Cache<Key, Entry> results;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer computeTimer;
+
+    public ReportResultCache(@Value("${trackdev.reports.cache.max-entries:2000}") long maxEntries,
+                             @Value("${trackdev.reports.cache.ttl-minutes:60}") long ttlMinutes,
+                             MeterRegistry meterRegistry) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.hits = Counter.builder("report.results.cache")
+                .description("Report result lookups, by whether a current result was cached")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("report.results.cache")
+                .description("Report result lookups, by whether a current result was cached")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("report.results.cache.hit.ratio", this, ReportResultCache::hitRatio)
+                .description("Share of report result lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("report.results.cache.size", results, Cache::estimatedSize)
+                .description("Cached report results")
+                .register(meterRegistry);
+        this.computeTimer = Timer.builder("report.compute.time")
+                .description("Time spent computing report results that missed the cache")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached result if it was computed at the given project data version, else a fresh one.
+     * @param dataVersion Project data version read before computing, so a stored result is
+     *                    never older than its stamp
+     */
+    public ReportResultDTO get(Long reportId, Long projectId, List<TaskStatus> statusFilters, long dataVersion,
+                               Supplier<ReportResultDTO> compute) {
+        Set<TaskStatus> statuses = statusFilters == null || statusFilters.isEmpty()
+                ? Set.of()
+                : EnumSet.copyOf(statusFilters);
+        Key key = new Key(reportId, projectId, statuses);
+        Entry entry = results.getIfPresent(key);
+        if (entry != null && entry.dataVersion() == dataVersion) {
+            hits.increment();
+            return entry.result();
+        }
+
+        misses.increment();
+        ReportResultDTO result = computeTimer.record(compute);
+        // A concurrent request may have stored a result of a newer version meanwhile
+        results.asMap().merge(key, new Entry(dataVersion, result),
+                (current, computed) -> current.dataVersion() > computed.dataVersion() ? current : computed);
+        return result;
+    }
+
+    /**
+     * Drop every result of a report, after its configuration changed.
+     */
+    public void evictReport(Long reportId) {
+        results.asMap().keySet().removeIf(key -> key.reportId().equals(reportId));
+    }
+
+    private double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+}
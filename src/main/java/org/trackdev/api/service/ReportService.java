@@ -14,7 +14,6 @@ import org.trackdev.api.utils.ErrorConstants;
 import org.trackdev.api.utils.HtmlSanitizer;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class ReportService extends BaseServiceLong<Report, ReportRepository> {
@@ -35,7 +34,13 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
     ProfileService profileService;
 
     @Autowired
-    TaskAttributeValueService taskAttributeValueService;
+    ReportGridAggregator gridAggregator;
+
+    @Autowired
+    ReportResultCache resultCache;
+
+    @Autowired
+    ProjectDataVersions projectDataVersions;
 
     @Transactional
     public Report createReport(String name, String userId) {
@@ -189,6 +194,7 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
         }
         
         repo.save(report);
+        resultCache.evictReport(report.getId());
         return report;
     }
 
@@ -205,6 +211,7 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
             .orElseThrow(() -> new EntityNotFound("Report", reportId));
         
         repo.delete(report);
+        resultCache.evictReport(reportId);
     }
 
     /**
@@ -272,9 +279,55 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
             throw new ServiceException(ErrorConstants.UNAUTHORIZED);
         }
         
+        return buildReportResult(report, project, statusFilters);
+    }
+
+    /**
+     * A report to compute for every project of a course, projects sorted by name.
+     */
+    public record CourseReportPlan(Long reportId, String reportName, Long courseId, List<Long> projectIds) {}
+
+    /**
+     * Check a report can be computed for a whole course and list the projects to compute it for.
+     * Only the course owner can compare the projects of a course.
+     */
+    @Transactional(readOnly = true)
+    public CourseReportPlan planCourseReport(Long reportId, Long courseId, String userId) {
+        Course course = courseService.get(courseId);
+        Report report = repo.findById(reportId)
+            .orElseThrow(() -> new EntityNotFound("Report", reportId));
+        
+        if (course.getOwnerId() == null || !course.getOwnerId().equals(userId)) {
+            throw new ServiceException(ErrorConstants.UNAUTHORIZED);
+        }
+        checkReportComputable(report, course);
+        
+        List<Long> projectIds = course.getProjects().stream()
+            .sorted(Comparator.comparing(Project::getName))
+            .map(Project::getId)
+            .toList();
+        return new CourseReportPlan(report.getId(), report.getName(), course.getId(), projectIds);
+    }
+
+    /**
+     * Compute the report results for one project of a course report.
+     * Access to the course must have been checked with planCourseReport.
+     */
+    @Transactional(readOnly = true)
+    public ReportResultDTO computeReportForCourseProject(Long reportId, Long projectId, List<TaskStatus> statusFilters) {
+        Project project = projectService.get(projectId);
+        Report report = repo.findById(reportId)
+            .orElseThrow(() -> new EntityNotFound("Report", reportId));
+        return buildReportResult(report, project, statusFilters);
+    }
+
+    /**
+     * Verify the report is assigned to the course and its configuration is complete.
+     */
+    private void checkReportComputable(Report report, Course course) {
         // Verify report is assigned to the project's course
-        if (report.getCourse() == null || 
-            !report.getCourse().getId().equals(project.getCourse().getId())) {
+        if (report.getCourse() == null || course == null ||
+            !report.getCourse().getId().equals(course.getId())) {
             throw new ServiceException("Report is not assigned to this project's course");
         }
         
@@ -287,6 +340,19 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
             report.getElement() == null || (!hasBuiltInMagnitude && !hasProfileAttribute)) {
             throw new ServiceException("Report configuration is incomplete");
         }
+    }
+
+    private ReportResultDTO buildReportResult(Report report, Project project, List<TaskStatus> statusFilters) {
+        checkReportComputable(report, project.getCourse());
+        
+        // Served from the cache while the project data is unchanged
+        long dataVersion = projectDataVersions.getVersion(project.getId());
+        return resultCache.get(report.getId(), project.getId(), statusFilters, dataVersion,
+            () -> computeReportResult(report, project, statusFilters));
+    }
+
+    private ReportResultDTO computeReportResult(Report report, Project project, List<TaskStatus> statusFilters) {
+        boolean hasProfileAttribute = report.getProfileAttribute() != null;
         
         // Build result DTO
         ReportResultDTO result = new ReportResultDTO();
@@ -307,29 +373,6 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
             result.setMagnitude(report.getMagnitude().name());
         }
         
-        // Get all project tasks including subtasks
-        Collection<Task> allTasks = project.getAllTasks();
-        if (allTasks == null) {
-            allTasks = Collections.emptyList();
-        }
-
-        // Filter tasks by type: when element is TASK, only include TASK and BUG (exclude USER_STORY)
-        if (report.getElement() == ReportElement.TASK) {
-            allTasks = allTasks.stream()
-                .filter(task -> task.getTaskType() == TaskType.TASK || task.getTaskType() == TaskType.BUG)
-                .collect(Collectors.toList());
-        }
-
-        // Filter tasks by status if filters are provided
-        final Collection<Task> filteredTasks;
-        if (statusFilters != null && !statusFilters.isEmpty()) {
-            filteredTasks = allTasks.stream()
-                .filter(task -> statusFilters.contains(task.getStatus()))
-                .collect(Collectors.toList());
-        } else {
-            filteredTasks = allTasks;
-        }
-        
         // Get row and column entities
         List<ReportResultDTO.AxisHeader> rowHeaders = getAxisHeaders(report.getRowType(), project);
         List<ReportResultDTO.AxisHeader> columnHeaders = getAxisHeaders(report.getColumnType(), project);
@@ -337,92 +380,13 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
         result.setRowHeaders(rowHeaders);
         result.setColumnHeaders(columnHeaders);
         
-        // Compute grid data
-        Map<String, Integer> data = new HashMap<>();
-        Map<String, Integer> rowTotals = new HashMap<>();
-        Map<String, Integer> columnTotals = new HashMap<>();
-        int grandTotal = 0;
+        // Compute grid data with an aggregate query over the project tasks
+        ReportGridAggregator.Grid grid = gridAggregator.compute(report, project.getId(), rowHeaders, columnHeaders, statusFilters);
         
-        // Initialize totals
-        for (ReportResultDTO.AxisHeader rowHeader : rowHeaders) {
-            rowTotals.put(rowHeader.getId(), 0);
-        }
-        for (ReportResultDTO.AxisHeader colHeader : columnHeaders) {
-            columnTotals.put(colHeader.getId(), 0);
-        }
-        
-        // If using profile attribute, load all attribute values for filtered tasks
-        Map<Long, Integer> taskAttributeValues = new HashMap<>();
-        int defaultAttrValue = 0;
-        if (hasProfileAttribute) {
-            ProfileAttribute profileAttr = report.getProfileAttribute();
-            Long attrId = profileAttr.getId();
-            
-            // Parse default value if defined
-            if (profileAttr.getDefaultValue() != null && !profileAttr.getDefaultValue().isBlank()) {
-                try {
-                    if (profileAttr.getType() == AttributeType.INTEGER) {
-                        defaultAttrValue = Integer.parseInt(profileAttr.getDefaultValue());
-                    } else if (profileAttr.getType() == AttributeType.FLOAT) {
-                        defaultAttrValue = (int) Math.round(Double.parseDouble(profileAttr.getDefaultValue()));
-                    }
-                } catch (NumberFormatException e) {
-                    // Invalid default value, keep 0
-                }
-            }
-            
-            for (Task task : filteredTasks) {
-                TaskAttributeValue attrValue = taskAttributeValueService
-                    .findByTaskIdAndAttributeId(task.getId(), attrId)
-                    .orElse(null);
-                if (attrValue != null && attrValue.getValue() != null) {
-                    try {
-                        // Parse numeric value (INTEGER or FLOAT)
-                        if (profileAttr.getType() == AttributeType.INTEGER) {
-                            taskAttributeValues.put(task.getId(), Integer.parseInt(attrValue.getValue()));
-                        } else if (profileAttr.getType() == AttributeType.FLOAT) {
-                            // Convert float to integer for aggregation (rounding)
-                            taskAttributeValues.put(task.getId(), (int) Math.round(Double.parseDouble(attrValue.getValue())));
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip invalid values, will use default
-                    }
-                }
-            }
-        }
-        
-        // Process each task
-        for (Task task : filteredTasks) {
-            // Get value based on magnitude (built-in or profile attribute)
-            int value;
-            if (hasProfileAttribute) {
-                value = taskAttributeValues.getOrDefault(task.getId(), defaultAttrValue);
-            } else {
-                value = getMagnitudeValue(task, report.getMagnitude());
-            }
-            if (value == 0) continue;
-            
-            // Get row identifiers for this task
-            List<String> rowIds = getTaskAxisIds(task, report.getRowType());
-            // Get column identifiers for this task
-            List<String> colIds = getTaskAxisIds(task, report.getColumnType());
-            
-            // Add value to each cell combination
-            for (String rowId : rowIds) {
-                for (String colId : colIds) {
-                    String key = rowId + ":" + colId;
-                    data.merge(key, value, Integer::sum);
-                    rowTotals.merge(rowId, value, Integer::sum);
-                    columnTotals.merge(colId, value, Integer::sum);
-                    grandTotal += value;
-                }
-            }
-        }
-        
-        result.setData(data);
-        result.setRowTotals(rowTotals);
-        result.setColumnTotals(columnTotals);
-        result.setGrandTotal(grandTotal);
+        result.setData(grid.data());
+        result.setRowTotals(grid.rowTotals());
+        result.setColumnTotals(grid.columnTotals());
+        result.setGrandTotal(grid.grandTotal());
         
         return result;
     }
@@ -461,51 +425,4 @@ public class ReportService extends BaseServiceLong<Report, ReportRepository> {
         
         return headers;
     }
-    
-    /**
-     * Get the magnitude value from a task.
-     */
-    private int getMagnitudeValue(Task task, ReportMagnitude magnitude) {
-        switch (magnitude) {
-            case ESTIMATION_POINTS:
-                Integer points = task.getEstimationPoints();
-                return points != null ? points : 0;
-                
-            case PULL_REQUESTS:
-                // Count number of pull requests
-                return task.hasPullRequest() ? task.getPullRequests().size() : 0;
-                
-            default:
-                return 0;
-        }
-    }
-    
-    /**
-     * Get the axis identifiers for a task (which rows/columns it belongs to).
-     */
-    private List<String> getTaskAxisIds(Task task, ReportAxisType axisType) {
-        List<String> ids = new ArrayList<>();
-        
-        switch (axisType) {
-            case STUDENTS:
-                // A task belongs to its assignee
-                User assignee = task.getAssignee();
-                if (assignee != null) {
-                    ids.add(assignee.getId());
-                }
-                break;
-                
-            case SPRINTS:
-                // A task can belong to multiple sprints
-                Collection<Sprint> sprints = task.getActiveSprints();
-                if (sprints != null) {
-                    for (Sprint sprint : sprints) {
-                        ids.add(sprint.getId().toString());
-                    }
-                }
-                break;
-        }
-        
-        return ids;
-    }
 }
@@ -0,0 +1,64 @@
+package org.trackdev.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.entity.Sprint;
+import org.trackdev.api.entity.Task;
+import org.trackdev.api.repository.SprintRepository;
+import org.trackdev.api.repository.TaskRepository;
+import org.trackdev.api.repository.UserRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Loads everything the sprint board shows in a fixed number of statements, however many
+ * tasks the sprint holds:
+ *  1. the ids of the board tasks
+ *  2. every user the board shows, with their GitHub and Discord info
+ *  3. the active tasks
+ *  4. the sub-tasks of the board tasks
+ *  5. the active sprints of the board tasks and sub-tasks
+ *  6. the pull requests of the board tasks and sub-tasks
+ *
+ * Users go first: once they are managed, the reporter, assignee and pull request author of
+ * every task resolve from the persistence context instead of needing their own selects.
+ */
+@Component
+public class SprintBoardLoader {
+
+    @Autowired
+    SprintRepository sprintRepository;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    /**
+     * Initialize the board graph of a sprint loaded in the current persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void load(Sprint sprint) {
+        List<Long> boardTaskIds = sprintRepository.findBoardTaskIds(sprint.getId());
+        if (boardTaskIds.isEmpty()) {
+            sprintRepository.fetchActiveTasks(sprint.getId());
+            return;
+        }
+
+        userRepository.findBoardUsers(boardTaskIds);
+        sprintRepository.fetchActiveTasks(sprint.getId());
+
+        Set<Long> shownTaskIds = new HashSet<>(boardTaskIds);
+        for (Task task : taskRepository.fetchChildTasks(boardTaskIds)) {
+            for (Task child : task.getChildTasks()) {
+                shownTaskIds.add(child.getId());
+            }
+        }
+        taskRepository.fetchActiveSprints(shownTaskIds);
+        taskRepository.fetchPullRequests(shownTaskIds);
+    }
+}
@@ -41,6 +41,12 @@ public class SprintService extends BaseServiceLong<Sprint, SprintRepository> {
     @Autowired
     SprintChangeService sprintChangeService;
 
+    @Autowired
+    SprintBoardLoader boardLoader;
+
+    @Autowired
+    ProjectDataVersions projectDataVersions;
+
     @Transactional
     public Sprint create(Project project, String name, ZonedDateTime startDate, ZonedDateTime endDate, String userId) {
         // Validate that end date is after start date
@@ -143,6 +149,17 @@ public class SprintService extends BaseServiceLong<Sprint, SprintRepository> {
         return sprint;
     }
 
+    /**
+     * Get a sprint for the board view, with its tasks and everything the board shows about
+     * them already loaded (see {@link SprintBoardLoader}).
+     */
+    @Transactional(readOnly = true)
+    public Sprint getSprintBoard(Long sprintId, String userId) {
+        Sprint sprint = getSprint(sprintId, userId);
+        boardLoader.load(sprint);
+        return sprint;
+    }
+
     /**
      * Lightweight access check for SSE subscriptions.
      * Uses REQUIRES_NEW to create a dedicated EntityManager and DB connection that is fully
@@ -270,5 +287,7 @@ public class SprintService extends BaseServiceLong<Sprint, SprintRepository> {
         for (Long sprintId : sprintIds) {
             repo().addSprintAssignmentForTask(sprintId, taskId);
         }
+        // Native writes skip the entity events that keep the project data version current
+        projectDataVersions.touchTask(taskId);
     }
 }
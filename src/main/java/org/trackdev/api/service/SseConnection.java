@@ -0,0 +1,153 @@
+package org.trackdev.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single SSE subscriber with its own bounded outbound queue.
+ *
+ * Producers only enqueue pre-encoded frames; a writer thread drains the queue and performs
+ * the actual socket writes, so a slow client never blocks the thread that published the event.
+ * A connection receives the events of every topic it is subscribed to; a sprint stream has a
+ * single fixed topic, a multiplexed stream can change its topics while open.
+ */
+final class SseConnection {
+
+    /**
+     * A pre-encoded SSE frame. A frame with a coalesce key drops a pending frame with the same
+     * key (e.g. an older task_updated for the same task) and queues at the tail, so frames still
+     * leave in publish order and event ids never go backwards.
+     */
+    record Frame(Set<ResponseBodyEmitter.DataWithMediaType> parts, Object coalesceKey, boolean heartbeat) {}
+
+    enum OfferResult { QUEUED, COALESCED, DROPPED }
+
+    private final String connectionId = UUID.randomUUID().toString();
+    private final SseEmitter emitter;
+    private final String userId;
+    private final int capacity;
+    private final Set<String> topics = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this
+    private final List<Frame> pending;
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile boolean registered = false;
+    private volatile long lastSentNanos = System.nanoTime();
+    private volatile long slowSinceNanos = 0L;
+    private volatile Runnable cleanup;
+
+    SseConnection(SseEmitter emitter, String userId, int capacity) {
+        this.emitter = emitter;
+        this.userId = userId;
+        this.capacity = Math.max(1, capacity);
+        this.pending = new ArrayList<>(this.capacity);
+    }
+
+    String connectionId() { return connectionId; }
+    SseEmitter emitter() { return emitter; }
+    String userId() { return userId; }
+    Set<String> topics() { return topics; }
+    long lastSentNanos() { return lastSentNanos; }
+
+    void markSent() { lastSentNanos = System.nanoTime(); }
+
+    /**
+     * Enqueue a frame. A full queue drops the frame and marks the connection as slow
+     * until the writer manages to empty it again.
+     */
+    synchronized OfferResult offer(Frame frame) {
+        if (removePending(frame.coalesceKey())) {
+            pending.add(frame);
+            return OfferResult.COALESCED;
+        }
+        if (pending.size() >= capacity) {
+            if (slowSinceNanos == 0L) {
+                slowSinceNanos = System.nanoTime();
+            }
+            return OfferResult.DROPPED;
+        }
+        pending.add(frame);
+        return OfferResult.QUEUED;
+    }
+
+    /**
+     * Queue replayed frames on a connection that is not yet registered for live events.
+     * The replay log is bounded, so the queue capacity is not applied here.
+     */
+    synchronized void preload(List<Frame> frames) {
+        for (Frame frame : frames) {
+            removePending(frame.coalesceKey());
+            pending.add(frame);
+        }
+    }
+
+    /** Drop the pending frame with the given coalesce key, if any. Caller holds the lock. */
+    private boolean removePending(Object coalesceKey) {
+        if (coalesceKey == null) {
+            return false;
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            if (coalesceKey.equals(pending.get(i).coalesceKey())) {
+                pending.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Next frame to write, or null once the queue is empty (which also clears the slow mark). */
+    synchronized Frame poll() {
+        if (pending.isEmpty()) {
+            slowSinceNanos = 0L;
+            return null;
+        }
+        return pending.remove(0);
+    }
+
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    /** True when the queue has been overflowing for longer than the given threshold. */
+    boolean isSlowFor(long thresholdNanos, long nowNanos) {
+        long since = slowSinceNanos;
+        return since != 0L && nowNanos - since >= thresholdNanos;
+    }
+
+    /** Claims the drain for the calling producer; only one writer drains a connection at a time. */
+    boolean tryStartDrain() { return draining.compareAndSet(false, true); }
+
+    void finishDrain() { draining.set(false); }
+
+    void setCleanup(Runnable cleanup) { this.cleanup = cleanup; }
+
+    void runCleanup() {
+        Runnable c = cleanup;
+        if (c != null) {
+            c.run();
+        }
+    }
+
+    /** Set once the connection is in the topic index and receives live events. */
+    void markRegistered() { registered = true; }
+
+    boolean isRegistered() { return registered; }
+
+    boolean isClosed() { return closed.get(); }
+
+    /** Returns true only for the first caller, so slot accounting happens once. */
+    boolean close() { return closed.compareAndSet(false, true); }
+}
@@ -1,17 +1,37 @@
 package org.trackdev.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.controller.exceptions.EntityNotFound;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.dto.ActivityDTO;
+import org.trackdev.api.dto.PointsReviewEventDTO;
+import org.trackdev.api.dto.SseSprintStatsDTO;
+import org.trackdev.api.dto.SseStatsDTO;
 import org.trackdev.api.dto.TaskBasicDTO;
 import org.trackdev.api.dto.TaskEventDTO;
+import org.trackdev.api.dto.UnreadChangedEventDTO;
+import org.trackdev.api.entity.Activity;
+import org.trackdev.api.entity.PointsReviewConversation;
 import org.trackdev.api.entity.Task;
 import org.trackdev.api.entity.User;
+import org.trackdev.api.mapper.ActivityMapper;
 import org.trackdev.api.mapper.TaskMapper;
+import org.trackdev.api.repository.TaskRepository;
+import org.trackdev.api.utils.ErrorConstants;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -19,25 +39,89 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class SseEmitterService {
 
     private static final Logger log = LoggerFactory.getLogger(SseEmitterService.class);
 
-    private final ConcurrentHashMap<Long, Set<SseConnection>> emitters = new ConcurrentHashMap<>();
+    /**
+     * Heartbeat frame encoded once and shared by every connection. The sweep writes this
+     * same set of data parts to all emitters instead of building a new event per send.
+     */
+    private static final SseConnection.Frame HEARTBEAT_FRAME = new SseConnection.Frame(
+            Collections.unmodifiableSet(SseEmitter.event().name("heartbeat").data("").build()), null, true);
+
+    private static final int DISPATCH_QUEUE_CAPACITY = 10_000;
+
+    private static final String TASK_CREATED = "task_created";
+    private static final String TASK_UPDATED = "task_updated";
+    private static final String TASK_DELETED = "task_deleted";
+
+    public static final String POINTS_REVIEW_MESSAGE_ADDED = "message_added";
+    public static final String POINTS_REVIEW_MESSAGE_EDITED = "message_edited";
+    public static final String POINTS_REVIEW_MESSAGE_DELETED = "message_deleted";
+
+    // SSE event names, one per kind of payload
+    private static final String TASK_EVENT = "task_event";
+    private static final String ACTIVITY_EVENT = "activity";
+    private static final String UNREAD_CHANGED_EVENT = "unread_changed";
+    private static final String POINTS_REVIEW_EVENT = "points_review_event";
+
+    // Subscribers indexed by topic; a multiplexed connection appears under each of its topics
+    private final ConcurrentHashMap<String, Set<SseConnection>> subscribers = new ConcurrentHashMap<>();
+    // Every open connection, by connection id
+    private final ConcurrentHashMap<String, SseConnection> connections = new ConcurrentHashMap<>();
     private final AtomicInteger totalConnections = new AtomicInteger(0);
     private final ConcurrentHashMap<String, AtomicInteger> userConnectionCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SseEventLog> eventLogs = new ConcurrentHashMap<>();
+
+    // Highest event id delivered on this node. Ids are assigned by the event bus.
+    private final AtomicLong lastDeliveredEventId = new AtomicLong(0);
 
     private ScheduledExecutorService heartbeatScheduler;
+    private ThreadPoolExecutor dispatchExecutor;
+    private ExecutorService writerExecutor;
     private final ObjectMapper objectMapper;
 
+    // Key under which the current transaction's pending events are bound
+    private final Object transactionEventsKey = new Object();
+
     @Autowired
     private TaskMapper taskMapper;
 
+    @Autowired
+    private ActivityMapper activityMapper;
+
     @Autowired
     private TrackDevProperties trackDevProperties;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SseEventBus eventBus;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Timer heartbeatSweepTimer;
+    private Counter heartbeatSentCounter;
+    private Counter heartbeatFailureCounter;
+    private Counter droppedFrameCounter;
+    private Counter coalescedFrameCounter;
+    private Counter evictedConnectionCounter;
+    private Counter rejectedDispatchCounter;
+    private Counter replayedFrameCounter;
+    private Counter resyncCounter;
+    private Counter deadConnectionCounter;
+    private Timer fanOutTimer;
+    private Timer sendTimer;
+
     public SseEmitterService(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
     }
@@ -45,11 +129,91 @@ public class SseEmitterService {
     @PostConstruct
     public void init() {
         int poolSize = trackDevProperties.getSse().getThreadPoolSize();
-        this.heartbeatScheduler = Executors.newScheduledThreadPool(poolSize, r -> {
+        this.heartbeatSweepTimer = Timer.builder("sse.heartbeat.sweep")
+                .description("Time spent writing one heartbeat round to all SSE connections")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.heartbeatSentCounter = Counter.builder("sse.heartbeat.sent")
+                .description("Heartbeat frames written to SSE connections")
+                .register(meterRegistry);
+        this.heartbeatFailureCounter = Counter.builder("sse.heartbeat.failures")
+                .description("Heartbeat writes that failed and closed the connection")
+                .register(meterRegistry);
+        this.droppedFrameCounter = Counter.builder("sse.dispatch.dropped")
+                .description("Frames dropped because a connection's outbound queue was full")
+                .register(meterRegistry);
+        this.coalescedFrameCounter = Counter.builder("sse.dispatch.coalesced")
+                .description("Pending task_updated frames replaced by a newer one for the same task")
+                .register(meterRegistry);
+        this.evictedConnectionCounter = Counter.builder("sse.dispatch.evicted")
+                .description("Connections closed for staying slow past the configured threshold")
+                .register(meterRegistry);
+        this.rejectedDispatchCounter = Counter.builder("sse.dispatch.rejected")
+                .description("Broadcasts discarded because the dispatch queue was full")
+                .register(meterRegistry);
+
+        this.replayedFrameCounter = Counter.builder("sse.replay.frames")
+                .description("Missed events replayed to clients reconnecting with Last-Event-ID")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("sse.replay.resync")
+                .description("Reconnects whose gap was not covered by the replay log")
+                .register(meterRegistry);
+        this.deadConnectionCounter = Counter.builder("sse.connections.dead")
+                .description("Connections released because a write to the client failed")
+                .register(meterRegistry);
+        this.fanOutTimer = Timer.builder("sse.dispatch.fanout")
+                .description("Time to log one event and enqueue it on every subscribed connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("sse.send")
+                .description("Time to write one frame to a client")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        // Fan-out runs off the request thread: publishers only hand the event over, and the
+        // dispatcher serializes it once and enqueues it on every connection. It is a single
+        // thread so events keep their publication order, which event ids and replay rely on.
+        this.dispatchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(DISPATCH_QUEUE_CAPACITY), r -> {
+                    Thread t = new Thread(r, "sse-dispatch");
+                    t.setDaemon(true);
+                    return t;
+                });
+        // Socket writes may block on slow clients, so each drain gets its own virtual thread
+        this.writerExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("sse-writer-", 0).factory());
+
+        // A single sweep task serves every connection, so one thread is enough
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "sse-heartbeat");
             t.setDaemon(true);
             return t;
         });
+        long interval = trackDevProperties.getSse().getHeartbeatIntervalSeconds();
+        heartbeatScheduler.scheduleAtFixedRate(this::sweepHeartbeats, interval, interval, TimeUnit.SECONDS);
+
+        // Evaluated on scrape; per-sprint detail is in the actuator sse endpoint instead of
+        // tags, which would create one series per sprint
+        Gauge.builder("sse.connections", totalConnections, AtomicInteger::get)
+                .description("Open SSE connections")
+                .register(meterRegistry);
+        Gauge.builder("sse.connections.users", userConnectionCounts, Map::size)
+                .description("Users with at least one open SSE connection")
+                .register(meterRegistry);
+        Gauge.builder("sse.connections.per.user.max", this, SseEmitterService::maxConnectionsOfOneUser)
+                .description("Open SSE connections of the user with the most")
+                .register(meterRegistry);
+        Gauge.builder("sse.subscribers.per.sprint.max", this, SseEmitterService::maxSubscribersOfOneSprint)
+                .description("Subscribers of the sprint with the most")
+                .register(meterRegistry);
+        Gauge.builder("sse.topics", subscribers, Map::size)
+                .description("Topics with at least one subscriber")
+                .register(meterRegistry);
+        Gauge.builder("sse.dispatch.queue", dispatchExecutor, executor -> executor.getQueue().size())
+                .description("Tasks waiting for the SSE dispatcher")
+                .register(meterRegistry);
+
+        eventBus.start(this::deliver);
         log.info("SSE service initialized: enabled={}, maxConnections={}, maxPerUser={}, threadPoolSize={}, asyncPoolSize={}",
                 trackDevProperties.getSse().isEnabled(),
                 trackDevProperties.getSse().getMaxConnections(),
@@ -61,45 +225,267 @@ public class SseEmitterService {
     /**
      * Publish a task event to all SSE subscribers on affected sprints.
      * No-op when SSE is disabled.
+     *
+     * Inside a transaction the event is only recorded: repeated events for the same task are
+     * collapsed, and the batch is mapped, serialized and dispatched once the transaction
+     * commits. Nothing is sent for work that rolls back. The task's event version is bumped
+     * once per transaction with an explicit UPDATE, so it is stored even when the given task
+     * is detached; outside a transaction the bump commits on its own before the event is sent.
      */
     public void publishTaskEvent(Task task, User actor, String eventType) {
         if (!trackDevProperties.getSse().isEnabled()) {
             return;
         }
 
-        Set<Long> affectedSprintIds = collectAffectedSprintIds(task);
-        if (affectedSprintIds.isEmpty()) {
+        PendingTaskEvent pending = new PendingTaskEvent(task, actor, eventType, collectAffectedTopics(task));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentTransactionEvents().addTaskEvent(pending);
+        } else {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> bumpEventVersion(task));
+            dispatch(toOutgoing(List.of(pending), Map.of()));
+        }
+    }
+
+    /**
+     * Increment the stored event version of a task and copy it to the given instance. Clients
+     * apply patches against the version they hold, so it must never be reused or go back.
+     */
+    private void bumpEventVersion(Task task) {
+        Long taskId = task.getId();
+        Optional<Long> stored = Optional.empty();
+        if (taskId != null && taskRepository.incrementEventVersion(taskId) > 0) {
+            stored = taskRepository.findEventVersion(taskId);
+        }
+        // A task deleted earlier in the transaction has no row left to bump
+        task.setEventVersion(stored.orElse(task.getEventVersion() + 1));
+    }
+
+    /**
+     * Record the board state of a task before a service changes it, so that the task_updated
+     * event sent after commit carries only the fields that changed. Only a capture taken
+     * before the task's first event in the transaction is used; without one, the event
+     * carries the full task.
+     */
+    public void captureTaskState(Task task) {
+        if (!trackDevProperties.getSse().isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        if (!eventBus.isDistributed() && !hasAudience(collectAffectedTopics(task))) {
             return;
         }
+        currentTransactionEvents().captureBefore(task);
+    }
 
-        TaskEventDTO event = new TaskEventDTO();
-        event.setEventType(eventType);
-        event.setTaskId(task.getId());
-        event.setActorUserId(actor.getId());
-        event.setActorFullName(actor.getFullName());
-        if (!"task_deleted".equals(eventType)) {
-            TaskBasicDTO taskDTO = taskMapper.toBasicDTO(task);
-            event.setTask(taskDTO);
+    private TaskState boardState(Task task) {
+        return new TaskState(taskMapper.toShallowBasicDTO(task), childTaskIds(task));
+    }
+
+    private static Set<Long> childTaskIds(Task task) {
+        Set<Long> ids = new HashSet<>();
+        if (task.getChildTasks() != null) {
+            task.getChildTasks().forEach(child -> ids.add(child.getId()));
         }
+        return ids;
+    }
 
-        for (Long sprintId : affectedSprintIds) {
-            broadcast(sprintId, event);
+    /**
+     * Publish a newly recorded activity to the project's activity feed topic, and signal the
+     * project's unread topic that unread counts changed. Sent after commit, like task events.
+     */
+    public void publishActivity(Activity activity) {
+        if (!trackDevProperties.getSse().isEnabled() || activity.getProject() == null) {
+            return;
+        }
+        Long projectId = activity.getProject().getId();
+        List<OutgoingEvent> events = new ArrayList<>(2);
+
+        String feedTopic = SseTopics.project(projectId);
+        if (eventBus.isDistributed() || hasAudience(Set.of(feedTopic))) {
+            ActivityDTO dto = activityMapper.toDTO(activity);
+            // Pushed payloads do not go through the response advice that filters emails
+            dto.setActorEmail(null);
+            events.add(new OutgoingEvent(ACTIVITY_EVENT, null, Set.of(feedTopic), dto));
+        }
+        String unreadTopic = SseTopics.unread(projectId);
+        if (eventBus.isDistributed() || hasAudience(Set.of(unreadTopic))) {
+            // Several pending signals for the same project collapse into one
+            events.add(new OutgoingEvent(UNREAD_CHANGED_EVENT, unreadTopic, Set.of(unreadTopic),
+                    new UnreadChangedEventDTO(projectId)));
         }
+        publishAfterCommit(events);
     }
 
-    private Set<Long> collectAffectedSprintIds(Task task) {
-        Set<Long> sprintIds = new HashSet<>();
+    /**
+     * Notify the viewers of a points review conversation that one of its messages changed.
+     */
+    public void publishPointsReviewEvent(PointsReviewConversation conversation, Long messageId,
+                                         User actor, String eventType) {
+        if (!trackDevProperties.getSse().isEnabled()) {
+            return;
+        }
+        String topic = SseTopics.pointsReview(conversation.getId());
+        if (!eventBus.isDistributed() && !hasAudience(Set.of(topic))) {
+            return;
+        }
+        PointsReviewEventDTO event = new PointsReviewEventDTO(eventType, conversation.getId(), messageId, actor.getId());
+        publishAfterCommit(List.of(new OutgoingEvent(POINTS_REVIEW_EVENT, null, Set.of(topic), event)));
+    }
+
+    private void publishAfterCommit(List<OutgoingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentTransactionEvents().addEvents(events);
+        } else {
+            dispatch(events);
+        }
+    }
+
+    private TransactionEvents currentTransactionEvents() {
+        TransactionEvents events = (TransactionEvents) TransactionSynchronizationManager.getResource(transactionEventsKey);
+        if (events == null) {
+            events = new TransactionEvents();
+            TransactionSynchronizationManager.bindResource(transactionEventsKey, events);
+            TransactionSynchronizationManager.registerSynchronization(events);
+        }
+        return events;
+    }
+
+    /**
+     * Maps each pending task event to its DTO, once per task and only when one of its sprints
+     * has subscribers (or other nodes might). Updates with a captured earlier state become
+     * patches; creations and other updates carry the full task.
+     */
+    private List<OutgoingEvent> toOutgoing(Collection<PendingTaskEvent> pendingEvents, Map<Long, TaskState> statesBefore) {
+        List<OutgoingEvent> batch = new ArrayList<>(pendingEvents.size());
+        for (PendingTaskEvent pending : pendingEvents) {
+            if (!eventBus.isDistributed() && !hasAudience(pending.topics())) {
+                continue;
+            }
+            TaskEventDTO event = new TaskEventDTO();
+            event.setEventType(pending.eventType());
+            event.setTaskId(pending.task().getId());
+            event.setVersion(pending.task().getEventVersion());
+            event.setActorUserId(pending.actor().getId());
+            event.setActorFullName(pending.actor().getFullName());
+            TaskState before = statesBefore.get(pending.task().getId());
+            if (TASK_UPDATED.equals(pending.eventType()) && before != null) {
+                event.setChanged(changedFields(before, pending.task()));
+            } else if (!TASK_DELETED.equals(pending.eventType())) {
+                TaskBasicDTO taskDTO = taskMapper.toBasicDTO(pending.task());
+                event.setTask(taskDTO);
+            }
+            batch.add(toOutgoing(event, pending.topics()));
+        }
+        return batch;
+    }
+
+    private Map<String, Object> changedFields(TaskState before, Task task) {
+        Map<String, Object> changed = TaskEventDiff.changedFields(before.task(), taskMapper.toShallowBasicDTO(task));
+        if (!before.childTaskIds().equals(childTaskIds(task))) {
+            changed.put("childTasks", taskMapper.childTasksToBasicDTO(task.getChildTasks()));
+        }
+        return changed;
+    }
+
+    private static OutgoingEvent toOutgoing(TaskEventDTO event, Set<String> topics) {
+        // A full snapshot may replace an older pending one; a patch never replaces anything,
+        // since it only makes sense on top of every earlier version
+        boolean snapshot = TASK_UPDATED.equals(event.getEventType()) && event.getTask() != null;
+        String coalesceKey = snapshot ? "task:" + event.getTaskId() : null;
+        return new OutgoingEvent(TASK_EVENT, coalesceKey, topics, event);
+    }
+
+    /**
+     * True when a topic has subscribers, or recently had some and keeps a replay log that
+     * reconnecting clients may still read from.
+     */
+    private boolean hasAudience(Set<String> topics) {
+        for (String topic : topics) {
+            Set<SseConnection> topicSubscribers = subscribers.get(topic);
+            if ((topicSubscribers != null && !topicSubscribers.isEmpty()) || eventLogs.containsKey(topic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> collectAffectedTopics(Task task) {
+        Set<String> topics = new HashSet<>();
         if (task.getActiveSprints() != null) {
-            task.getActiveSprints().forEach(s -> sprintIds.add(s.getId()));
+            task.getActiveSprints().forEach(s -> topics.add(SseTopics.sprint(s.getId())));
         }
         // For subtasks, also include parent's sprints (USER_STORY computed sprints)
         if (task.getParentTask() != null && task.getParentTask().getActiveSprints() != null) {
-            task.getParentTask().getActiveSprints().forEach(s -> sprintIds.add(s.getId()));
+            task.getParentTask().getActiveSprints().forEach(s -> topics.add(SseTopics.sprint(s.getId())));
         }
-        return sprintIds;
+        return topics;
     }
 
     public SseEmitter subscribe(Long sprintId, String userId) {
+        return subscribe(sprintId, userId, null);
+    }
+
+    /**
+     * Subscribe to a sprint's events. When the client sends the id of the last event it saw,
+     * the events it missed are replayed from the sprint's log before live delivery resumes,
+     * or a single resync_required event is sent if the log no longer covers the gap.
+     */
+    public SseEmitter subscribe(Long sprintId, String userId, String lastEventId) {
+        return open(userId, Set.of(SseTopics.sprint(sprintId)), lastEventId);
+    }
+
+    /**
+     * Open a multiplexed stream over several topics, whose access has already been checked.
+     * The connected event carries the connection id that {@link #updateTopics} expects.
+     * Replay works as for sprint streams, across all the requested topics.
+     */
+    public SseEmitter subscribeTopics(String userId, Set<String> topics, String lastEventId) {
+        if (topics.size() > trackDevProperties.getSse().getMaxTopicsPerConnection()) {
+            meterRegistry.counter("sse.subscriptions.rejected", "reason", "too_many_topics").increment();
+            throw new ServiceException(ErrorConstants.SSE_TOO_MANY_TOPICS);
+        }
+        return open(userId, topics, lastEventId);
+    }
+
+    /**
+     * Change the topics of an open multiplexed stream owned by the user, whose access to the
+     * added topics has already been checked. Returns the topics the stream now receives.
+     */
+    public Set<String> updateTopics(String connectionId, String userId, Set<String> added, Set<String> removed) {
+        SseConnection connection = connections.get(connectionId);
+        if (connection == null || connection.isClosed() || !connection.userId().equals(userId)) {
+            throw new EntityNotFound(ErrorConstants.SSE_CONNECTION_NOT_FOUND);
+        }
+        Set<String> current;
+        synchronized (connection) {
+            Set<String> next = new HashSet<>(connection.topics());
+            next.removeAll(removed);
+            next.addAll(added);
+            if (next.size() > trackDevProperties.getSse().getMaxTopicsPerConnection()) {
+                throw new ServiceException(ErrorConstants.SSE_TOO_MANY_TOPICS);
+            }
+            connection.topics().removeAll(removed);
+            connection.topics().addAll(added);
+            current = Set.copyOf(connection.topics());
+        }
+        for (String topic : added) {
+            openEventLog(topic);
+        }
+
+        // Applied on the dispatcher, ahead of any event published after this call returns
+        Runnable apply = () -> applyTopicChanges(connection, added, removed);
+        try {
+            dispatchExecutor.execute(apply);
+        } catch (RejectedExecutionException e) {
+            apply.run();
+        }
+        log.debug("SSE connection {} of user {} now has {} topics", connectionId, userId, current.size());
+        return current;
+    }
+
+    private SseEmitter open(String userId, Set<String> topics, String lastEventId) {
         TrackDevProperties.Sse sseConfig = trackDevProperties.getSse();
 
         // Kill switch
@@ -109,8 +495,8 @@ public class SseEmitterService {
 
         // Total connection limit
         if (totalConnections.get() >= sseConfig.getMaxConnections()) {
-            log.warn("SSE max total connections reached ({}). Rejecting for user {} on sprint {}",
-                    sseConfig.getMaxConnections(), userId, sprintId);
+            log.warn("SSE max total connections reached ({}). Rejecting for user {} on {}",
+                    sseConfig.getMaxConnections(), userId, topics);
             return createRejectedEmitter("max_connections");
         }
 
@@ -127,24 +513,21 @@ public class SseEmitterService {
         userCount.incrementAndGet();
 
         SseEmitter emitter = new SseEmitter(sseConfig.getEmitterTimeoutMs());
-        SseConnection connection = new SseConnection(emitter, userId);
-
-        emitters.computeIfAbsent(sprintId, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        SseConnection connection = new SseConnection(emitter, userId, sseConfig.getQueueCapacity());
+        connection.topics().addAll(topics);
+        connections.put(connection.connectionId(), connection);
 
-        // Schedule per-emitter heartbeat
-        long interval = sseConfig.getHeartbeatIntervalSeconds();
-        ScheduledFuture<?> heartbeat = heartbeatScheduler.scheduleAtFixedRate(() -> {
-            try {
-                emitter.send(SseEmitter.event().name("heartbeat").data(""));
-            } catch (IOException e) {
-                emitter.completeWithError(e);
-            }
-        }, interval, interval, TimeUnit.SECONDS);
+        for (String topic : topics) {
+            openEventLog(topic);
+        }
 
-        // Cleanup on completion, timeout, or error
+        // Cleanup on completion, timeout, or error. Spring may fire more than one of these
+        // callbacks for the same emitter, so the connection only releases its slot once.
         Runnable cleanup = () -> {
-            heartbeat.cancel(false);
-            removeConnection(sprintId, connection);
+            if (!connection.close()) {
+                return;
+            }
+            removeConnection(connection);
             totalConnections.decrementAndGet();
             AtomicInteger count = userConnectionCounts.get(userId);
             if (count != null) {
@@ -154,22 +537,120 @@ public class SseEmitterService {
                 }
             }
         };
+        connection.setCleanup(cleanup);
         emitter.onCompletion(cleanup);
         emitter.onTimeout(cleanup);
         emitter.onError(t -> cleanup.run());
 
         // Send initial connected event
         try {
-            emitter.send(SseEmitter.event().name("connected").data("{\"status\":\"connected\"}"));
+            emitter.send(SseEmitter.event().name("connected")
+                    .data("{\"status\":\"connected\",\"connectionId\":\"" + connection.connectionId() + "\"}"));
+            connection.markSent();
         } catch (IOException e) {
-            emitter.completeWithError(e);
+            deadConnectionCounter.increment();
+            closeDeadConnection(connection, e);
+        }
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            registerConnection(connection);
+        } else {
+            // Replay and registration run on the dispatcher, so no live event can slip in
+            // between the replayed ones or be delivered twice.
+            try {
+                dispatchExecutor.execute(() -> replayAndRegister(connection, lastEventId));
+            } catch (RejectedExecutionException e) {
+                rejectedDispatchCounter.increment();
+                closeDeadConnection(connection, null);
+            }
         }
 
-        log.debug("SSE subscriber added for sprint {} (user {}). Total: {}, User: {}",
-                sprintId, userId, totalConnections.get(), userCount.get());
+        log.debug("SSE subscriber added for {} (user {}). Total: {}, User: {}",
+                topics, userId, totalConnections.get(), userCount.get());
         return emitter;
     }
 
+    private void openEventLog(String topic) {
+        eventLogs.computeIfAbsent(topic, k -> new SseEventLog(
+                trackDevProperties.getSse().getReplayBufferSize(), lastDeliveredEventId.get())).touch();
+    }
+
+    private void registerConnection(SseConnection connection) {
+        connection.markRegistered();
+        for (String topic : connection.topics()) {
+            addToTopic(topic, connection);
+        }
+        // The client may have gone away while the registration was pending
+        if (connection.isClosed()) {
+            removeConnection(connection);
+        }
+    }
+
+    /**
+     * Brings the topic index in line with a subscription change. Before the connection's
+     * first registration there is nothing to do: registering reads its current topics.
+     */
+    private void applyTopicChanges(SseConnection connection, Set<String> added, Set<String> removed) {
+        if (!connection.isRegistered()) {
+            return;
+        }
+        for (String topic : removed) {
+            if (!connection.topics().contains(topic)) {
+                removeFromTopic(topic, connection);
+            }
+        }
+        for (String topic : added) {
+            if (connection.topics().contains(topic)) {
+                addToTopic(topic, connection);
+            }
+        }
+        if (connection.isClosed()) {
+            removeConnection(connection);
+        }
+    }
+
+    private void replayAndRegister(SseConnection connection, String lastEventId) {
+        if (connection.isClosed()) {
+            return;
+        }
+        // Keyed by event id: an event sent to several of the connection's topics is replayed once
+        TreeMap<Long, SseConnection.Frame> missed = null;
+        try {
+            long lastId = Long.parseLong(lastEventId.trim());
+            if (lastId <= lastDeliveredEventId.get()) {
+                missed = new TreeMap<>();
+                for (String topic : connection.topics()) {
+                    SseEventLog eventLog = eventLogs.get(topic);
+                    List<SseEventLog.Entry> entries = eventLog != null ? eventLog.entriesAfter(lastId) : null;
+                    if (entries == null) {
+                        missed = null;
+                        break;
+                    }
+                    for (SseEventLog.Entry entry : entries) {
+                        missed.put(entry.id(), entry.frame());
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Not one of our ids
+        }
+
+        if (missed != null) {
+            connection.preload(new ArrayList<>(missed.values()));
+            replayedFrameCounter.increment(missed.size());
+        } else {
+            // Carries the current id, so the client's next reconnect starts from here
+            connection.preload(List.of(new SseConnection.Frame(Collections.unmodifiableSet(SseEmitter.event()
+                    .id(String.valueOf(lastDeliveredEventId.get()))
+                    .name("resync_required")
+                    .data("{\"reason\":\"events_unavailable\"}")
+                    .build()), null, false)));
+            resyncCounter.increment();
+        }
+        registerConnection(connection);
+        scheduleDrain(connection);
+    }
+
     private SseEmitter createDisabledEmitter() {
         SseEmitter emitter = new SseEmitter(0L);
         try {
@@ -180,6 +661,7 @@ public class SseEmitterService {
     }
 
     private SseEmitter createRejectedEmitter(String reason) {
+        meterRegistry.counter("sse.subscriptions.rejected", "reason", reason).increment();
         SseEmitter emitter = new SseEmitter(0L);
         try {
             emitter.send(SseEmitter.event().name("rejected").data("{\"reason\":\"" + reason + "\"}"));
@@ -188,47 +670,304 @@ public class SseEmitterService {
         return emitter;
     }
 
+    /**
+     * Hands the event to the dispatch pool and returns immediately, regardless of how many
+     * subscribers the sprint has.
+     */
     public void broadcast(Long sprintId, TaskEventDTO event) {
-        Set<SseConnection> connections = emitters.get(sprintId);
-        if (connections == null || connections.isEmpty()) {
+        Set<String> topics = Set.of(SseTopics.sprint(sprintId));
+        if (!eventBus.isDistributed() && !hasAudience(topics)) {
             return;
         }
+        dispatch(List.of(toOutgoing(event, topics)));
+    }
 
-        String jsonData;
-        try {
-            jsonData = objectMapper.writeValueAsString(event);
-        } catch (IOException e) {
-            log.error("Failed to serialize TaskEventDTO", e);
+    private void dispatch(List<OutgoingEvent> batch) {
+        if (batch.isEmpty()) {
             return;
         }
+        try {
+            dispatchExecutor.execute(() -> publishToBus(batch));
+        } catch (RejectedExecutionException e) {
+            rejectedDispatchCounter.increment();
+            log.warn("SSE dispatch queue full, discarding batch of {} events", batch.size());
+        }
+    }
 
-        List<SseConnection> dead = new ArrayList<>();
-        for (SseConnection connection : connections) {
+    /** Serializes each event once and publishes the batch on the event bus. */
+    private void publishToBus(List<OutgoingEvent> batch) {
+        List<SseEnvelope> envelopes = new ArrayList<>(batch.size());
+        for (OutgoingEvent outgoing : batch) {
             try {
-                connection.emitter().send(SseEmitter.event().name("task_event").data(jsonData));
+                String jsonData = objectMapper.writeValueAsString(outgoing.payload());
+                envelopes.add(new SseEnvelope(0L, outgoing.eventName(), outgoing.coalesceKey(), outgoing.topics(), jsonData));
             } catch (IOException e) {
-                dead.add(connection);
+                log.error("Failed to serialize {} payload", outgoing.eventName(), e);
+            }
+        }
+        if (envelopes.isEmpty()) {
+            return;
+        }
+        try {
+            eventBus.publish(envelopes);
+        } catch (RuntimeException e) {
+            log.warn("SSE event bus publish failed for {} events: {}", envelopes.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Entry point for events coming off the bus, from this node or any other. Delivery runs
+     * on the dispatcher so it stays ordered with replays and with other deliveries.
+     */
+    void deliver(List<SseEnvelope> envelopes) {
+        try {
+            dispatchExecutor.execute(() -> envelopes.forEach(this::fanOut));
+        } catch (RejectedExecutionException e) {
+            rejectedDispatchCounter.increment();
+            log.warn("SSE dispatch queue full, discarding {} delivered events", envelopes.size());
+        }
+    }
+
+    private void fanOut(SseEnvelope envelope) {
+        long start = System.nanoTime();
+        long eventId = envelope.id();
+        lastDeliveredEventId.accumulateAndGet(eventId, Math::max);
+
+        // Encoded once, shared by every connection of every affected topic
+        SseConnection.Frame frame = new SseConnection.Frame(Collections.unmodifiableSet(SseEmitter.event()
+                .id(String.valueOf(eventId))
+                .name(envelope.eventName())
+                .data(envelope.payload())
+                .build()), envelope.coalesceKey(), false);
+
+        // A multiplexed connection may follow several of the event's topics but gets it once
+        Set<SseConnection> targets = new HashSet<>();
+        for (String topic : envelope.topics()) {
+            SseEventLog eventLog = eventLogs.get(topic);
+            if (eventLog != null) {
+                eventLog.append(eventId, frame);
+            }
+            Set<SseConnection> topicSubscribers = subscribers.get(topic);
+            if (topicSubscribers != null) {
+                targets.addAll(topicSubscribers);
+            }
+        }
+
+        long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(trackDevProperties.getSse().getSlowConsumerTimeoutMs());
+        for (SseConnection connection : targets) {
+            enqueue(connection, frame, slowThresholdNanos);
+        }
+        fanOutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void enqueue(SseConnection connection, SseConnection.Frame frame, long slowThresholdNanos) {
+        if (connection.isClosed()) {
+            return;
+        }
+        switch (connection.offer(frame)) {
+            case COALESCED -> coalescedFrameCounter.increment();
+            case DROPPED -> {
+                droppedFrameCounter.increment();
+                if (connection.isSlowFor(slowThresholdNanos, System.nanoTime())) {
+                    evictSlowConnection(connection);
+                    return;
+                }
+            }
+            case QUEUED -> { }
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(SseConnection connection) {
+        if (!connection.tryStartDrain()) {
+            return;
+        }
+        try {
+            writerExecutor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            connection.finishDrain();
+        }
+    }
+
+    /**
+     * Writes queued frames until the connection's queue is empty. Only one drain runs per
+     * connection at a time; a frame enqueued while finishing is picked up by the re-check.
+     */
+    private void drain(SseConnection connection) {
+        do {
+            SseConnection.Frame frame;
+            while ((frame = connection.poll()) != null) {
+                if (connection.isClosed()) {
+                    connection.finishDrain();
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    connection.emitter().send(frame.parts());
+                    connection.markSent();
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (IOException | IllegalStateException e) {
+                    if (frame.heartbeat()) {
+                        heartbeatFailureCounter.increment();
+                    }
+                    deadConnectionCounter.increment();
+                    connection.finishDrain();
+                    closeDeadConnection(connection, null);
+                    return;
+                }
+            }
+            connection.finishDrain();
+        } while (connection.hasPending() && connection.tryStartDrain());
+    }
+
+    /**
+     * One heartbeat round over every live connection, driven by a single scheduled task.
+     * Connections that already received a real event during the last interval, or that still
+     * have frames waiting to be written, are skipped. The sweep also evicts connections that
+     * have been overflowing their queue for longer than the slow-consumer threshold.
+     */
+    void sweepHeartbeats() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(trackDevProperties.getSse().getHeartbeatIntervalSeconds());
+        long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(trackDevProperties.getSse().getSlowConsumerTimeoutMs());
+        heartbeatSweepTimer.record(() -> {
+            long now = System.nanoTime();
+            List<SseConnection> slow = new ArrayList<>();
+            for (SseConnection connection : connections.values()) {
+                if (connection.isSlowFor(slowThresholdNanos, now)) {
+                    slow.add(connection);
+                    continue;
+                }
+                if (now - connection.lastSentNanos() < intervalNanos || connection.hasPending()) {
+                    continue;
+                }
+                if (connection.offer(HEARTBEAT_FRAME) == SseConnection.OfferResult.QUEUED) {
+                    heartbeatSentCounter.increment();
+                    scheduleDrain(connection);
+                }
+            }
+            slow.forEach(this::evictSlowConnection);
+
+            // Keep replay logs while their topic has subscribers, and for a retention window
+            // afterwards so that clients coming back from a network blip can still catch up
+            long retentionNanos = TimeUnit.SECONDS.toNanos(trackDevProperties.getSse().getReplayRetentionSeconds());
+            eventLogs.forEach((topic, eventLog) -> {
+                Set<SseConnection> topicSubscribers = subscribers.get(topic);
+                if (topicSubscribers != null && !topicSubscribers.isEmpty()) {
+                    eventLog.touch();
+                } else if (eventLog.isIdleFor(retentionNanos, now)) {
+                    eventLogs.remove(topic, eventLog);
+                }
+            });
+        });
+    }
+
+    private void evictSlowConnection(SseConnection connection) {
+        evictedConnectionCounter.increment();
+        log.info("Evicting slow SSE consumer for user {} ({} frames pending)",
+                connection.userId(), connection.pendingCount());
+        closeDeadConnection(connection, null);
+    }
+
+    /**
+     * Completes a connection whose last write failed and releases its slot right away,
+     * without waiting for the container to report the broken stream.
+     */
+    private void closeDeadConnection(SseConnection connection, Throwable cause) {
+        try {
+            if (cause != null) {
+                connection.emitter().completeWithError(cause);
+            } else {
+                connection.emitter().complete();
             }
+        } catch (Exception ignored) {
+            // Emitter already completed
         }
-        dead.forEach(c -> removeConnection(sprintId, c));
+        connection.runCleanup();
+    }
+
+    private void removeConnection(SseConnection connection) {
+        connections.remove(connection.connectionId(), connection);
+        for (String topic : connection.topics()) {
+            removeFromTopic(topic, connection);
+        }
+    }
+
+    /**
+     * Index updates run under the topic's map entry lock, so a cleanup dropping the last
+     * subscriber of a topic cannot discard a set another thread has just added to.
+     */
+    private void addToTopic(String topic, SseConnection connection) {
+        subscribers.compute(topic, (k, topicSubscribers) -> {
+            Set<SseConnection> set = topicSubscribers != null ? topicSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(connection);
+            return set;
+        });
     }
 
-    private void removeConnection(Long sprintId, SseConnection connection) {
-        Set<SseConnection> connections = emitters.get(sprintId);
-        if (connections != null) {
-            connections.remove(connection);
-            if (connections.isEmpty()) {
-                emitters.remove(sprintId, connections);
+    private void removeFromTopic(String topic, SseConnection connection) {
+        subscribers.computeIfPresent(topic, (k, topicSubscribers) -> {
+            topicSubscribers.remove(connection);
+            return topicSubscribers.isEmpty() ? null : topicSubscribers;
+        });
+    }
+
+    /**
+     * Current connection figures for the actuator sse endpoint, with the sprints that have the
+     * most subscribers first.
+     */
+    public SseStatsDTO getStats(int topSprintCount) {
+        SseStatsDTO stats = new SseStatsDTO();
+        stats.setEnabled(trackDevProperties.getSse().isEnabled());
+        stats.setTotalConnections(totalConnections.get());
+        stats.setMaxConnections(trackDevProperties.getSse().getMaxConnections());
+        stats.setConnectedUsers(userConnectionCounts.size());
+        stats.setMaxConnectionsPerUser(trackDevProperties.getSse().getMaxConnectionsPerUser());
+        stats.setActiveTopics(subscribers.size());
+        stats.setReplayLogs(eventLogs.size());
+        stats.setDispatchQueueSize(dispatchExecutor.getQueue().size());
+
+        String prefix = SseTopics.SPRINT + ":";
+        List<SseSprintStatsDTO> sprints = new ArrayList<>();
+        subscribers.forEach((topic, topicSubscribers) -> {
+            if (topic.startsWith(prefix)) {
+                sprints.add(new SseSprintStatsDTO(Long.valueOf(topic.substring(prefix.length())), topicSubscribers.size()));
+            }
+        });
+        sprints.sort(Comparator.comparingInt(SseSprintStatsDTO::getSubscribers).reversed());
+        stats.setTopSprints(sprints.subList(0, Math.min(Math.max(topSprintCount, 0), sprints.size())));
+        return stats;
+    }
+
+    private double maxConnectionsOfOneUser() {
+        int max = 0;
+        for (AtomicInteger count : userConnectionCounts.values()) {
+            max = Math.max(max, count.get());
+        }
+        return max;
+    }
+
+    private double maxSubscribersOfOneSprint() {
+        String prefix = SseTopics.SPRINT + ":";
+        int max = 0;
+        for (Map.Entry<String, Set<SseConnection>> entry : subscribers.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                max = Math.max(max, entry.getValue().size());
             }
         }
+        return max;
     }
 
     @PreDestroy
     public void shutdown() {
+        eventBus.stop();
         heartbeatScheduler.shutdownNow();
-        emitters.values().forEach(connections ->
-                connections.forEach(c -> c.emitter().complete()));
-        emitters.clear();
+        dispatchExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+        connections.values().forEach(c -> c.emitter().complete());
+        connections.clear();
+        subscribers.clear();
+        eventLogs.clear();
         totalConnections.set(0);
         userConnectionCounts.clear();
     }
@@ -244,5 +983,98 @@ public class SseEmitterService {
         return count != null ? count.get() : 0;
     }
 
-    private record SseConnection(SseEmitter emitter, String userId) {}
+    // Visible for testing
+    int getSprintConnectionCount(Long sprintId) {
+        return getTopicConnectionCount(SseTopics.sprint(sprintId));
+    }
+
+    // Visible for testing
+    int getTopicConnectionCount(String topic) {
+        Set<SseConnection> topicSubscribers = subscribers.get(topic);
+        return topicSubscribers != null ? topicSubscribers.size() : 0;
+    }
+
+    /** A task event as published by a service, before it is mapped to its DTO. */
+    private record PendingTaskEvent(Task task, User actor, String eventType, Set<String> topics) {
+
+        /**
+         * Combines this event with a later one for the same task: the later task state and
+         * actor win, topics are united, and the stronger event type is kept.
+         */
+        PendingTaskEvent merge(PendingTaskEvent later) {
+            Set<String> merged = new HashSet<>(topics);
+            merged.addAll(later.topics());
+            String type = rank(later.eventType()) >= rank(eventType) ? later.eventType() : eventType;
+            return new PendingTaskEvent(later.task(), later.actor(), type, merged);
+        }
+
+        private static int rank(String eventType) {
+            if (TASK_DELETED.equals(eventType)) return 2;
+            if (TASK_CREATED.equals(eventType)) return 1;
+            return 0;
+        }
+    }
+
+    /** Board state of a task as captured before a change. */
+    private record TaskState(TaskBasicDTO task, Set<Long> childTaskIds) {}
+
+    /** An event ready to be serialized, with its SSE event name and the topics it goes to. */
+    private record OutgoingEvent(String eventName, String coalesceKey, Set<String> topics, Object payload) {}
+
+    /**
+     * Events recorded during one transaction: task events keyed by task id in publication
+     * order, with the task states captured before the changes, and the other events as they
+     * come. Flushed to the dispatcher after commit and discarded on rollback.
+     */
+    private final class TransactionEvents implements TransactionSynchronization {
+
+        private final Map<Long, PendingTaskEvent> taskEvents = new LinkedHashMap<>();
+        private final Map<Long, TaskState> statesBefore = new HashMap<>();
+        private final List<OutgoingEvent> otherEvents = new ArrayList<>();
+
+        void captureBefore(Task task) {
+            Long taskId = task.getId();
+            if (taskId != null && !taskEvents.containsKey(taskId) && !statesBefore.containsKey(taskId)) {
+                statesBefore.put(taskId, boardState(task));
+            }
+        }
+
+        void addTaskEvent(PendingTaskEvent pending) {
+            Task task = pending.task();
+            if (!taskEvents.containsKey(task.getId())) {
+                bumpEventVersion(task);
+            }
+            taskEvents.merge(task.getId(), pending, PendingTaskEvent::merge);
+        }
+
+        void addEvents(List<OutgoingEvent> events) {
+            otherEvents.addAll(events);
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(transactionEventsKey);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(transactionEventsKey, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                List<OutgoingEvent> batch = toOutgoing(taskEvents.values(), statesBefore);
+                batch.addAll(otherEvents);
+                dispatch(batch);
+            } catch (RuntimeException ex) {
+                log.warn("SSE after-commit publication failed: {}", ex.getMessage());
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(transactionEventsKey);
+        }
+    }
 }
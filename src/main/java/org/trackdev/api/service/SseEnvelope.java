@@ -0,0 +1,17 @@
+package org.trackdev.api.service;
+
+import java.util.Set;
+
+/**
+ * A serialized event as it travels over the {@link SseEventBus}, addressed to one or more
+ * topics (see {@link SseTopics}).
+ * The id is assigned by the bus when the event is published and becomes the SSE event id
+ * clients see; it is 0 before that. A non-null coalesce key lets a newer event replace a
+ * pending one with the same key on a connection that has not caught up yet.
+ */
+public record SseEnvelope(long id, String eventName, String coalesceKey, Set<String> topics, String payload) {
+
+    public SseEnvelope withId(long newId) {
+        return new SseEnvelope(newId, eventName, coalesceKey, topics, payload);
+    }
+}
@@ -0,0 +1,30 @@
+package org.trackdev.api.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carries SSE events between API nodes.
+ *
+ * Each node publishes the events of its own commits, and receives through its local delivery
+ * callback the events of every node, in one global order and with bus-assigned ids. The node
+ * then fans them out to its own SSE subscribers only.
+ */
+public interface SseEventBus {
+
+    /** Starts delivering bus events to this node's subscribers. */
+    void start(Consumer<List<SseEnvelope>> localDelivery);
+
+    /** Publishes events to all nodes, this one included. */
+    void publish(List<SseEnvelope> events);
+
+    void stop();
+
+    /**
+     * True when other nodes may have subscribers for an event, so the publisher cannot skip
+     * an event just because it has no local audience for it.
+     */
+    default boolean isDistributed() {
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package org.trackdev.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded history of the frames sent to one topic, used to replay missed events when a
+ * client reconnects with Last-Event-ID.
+ *
+ * The log also tracks a floor id: the highest event id that may have been sent to the topic
+ * but is no longer (or was never) held in the buffer. A client whose last seen id is below the
+ * floor cannot be brought up to date from the buffer and has to resync.
+ *
+ * Ids normally arrive in increasing order. An event delivered late, with an id below one
+ * already appended, raises the floor past the highest id so far: a client that disconnected
+ * before the late event cannot tell from its last seen id that it missed it, so it resyncs.
+ */
+final class SseEventLog {
+
+    record Entry(long id, SseConnection.Frame frame) {}
+
+    private final Entry[] ring;
+    private int next = 0;
+    private int size = 0;
+    private long floorId;
+    private long highestId;
+    private volatile long lastTouchedNanos = System.nanoTime();
+
+    SseEventLog(int capacity, long floorId) {
+        this.ring = new Entry[Math.max(1, capacity)];
+        this.floorId = floorId;
+        this.highestId = floorId;
+    }
+
+    synchronized void append(long id, SseConnection.Frame frame) {
+        if (id < highestId) {
+            floorId = Math.max(floorId, highestId + 1);
+        }
+        highestId = Math.max(highestId, id);
+        if (size == ring.length) {
+            floorId = Math.max(floorId, ring[next].id());
+        } else {
+            size++;
+        }
+        ring[next] = new Entry(id, frame);
+        next = (next + 1) % ring.length;
+        touch();
+    }
+
+    /**
+     * Entries with an id greater than lastEventId, oldest first, or null when some of those
+     * events are no longer in the buffer.
+     */
+    synchronized List<Entry> entriesAfter(long lastEventId) {
+        if (lastEventId < floorId) {
+            return null;
+        }
+        List<Entry> entries = new ArrayList<>();
+        int start = (next - size + ring.length) % ring.length;
+        for (int i = 0; i < size; i++) {
+            Entry entry = ring[(start + i) % ring.length];
+            if (entry.id() > lastEventId) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    void touch() { lastTouchedNanos = System.nanoTime(); }
+
+    boolean isIdleFor(long thresholdNanos, long nowNanos) {
+        return nowNanos - lastTouchedNanos >= thresholdNanos;
+    }
+}
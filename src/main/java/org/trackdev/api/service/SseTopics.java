@@ -0,0 +1,25 @@
+package org.trackdev.api.service;
+
+/**
+ * Names of the topics SSE events are published to and connections subscribe to.
+ *
+ * Clients use the same names on the multiplexed stream, plus the "unread" alias which the
+ * server expands to the unread topics of the user's projects.
+ */
+final class SseTopics {
+
+    static final String SPRINT = "sprint";
+    static final String PROJECT = "project";
+    static final String POINTS_REVIEW = "points-review";
+    static final String UNREAD = "unread";
+
+    private SseTopics() {}
+
+    static String sprint(long sprintId) { return SPRINT + ":" + sprintId; }
+
+    static String project(long projectId) { return PROJECT + ":" + projectId; }
+
+    static String pointsReview(long conversationId) { return POINTS_REVIEW + ":" + conversationId; }
+
+    static String unread(long projectId) { return UNREAD + ":" + projectId; }
+}
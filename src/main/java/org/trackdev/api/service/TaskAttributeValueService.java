@@ -1,5 +1,6 @@
 package org.trackdev.api.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.trackdev.api.entity.TaskAttributeValue;
@@ -11,6 +12,9 @@ import java.util.Optional;
 @Service
 public class TaskAttributeValueService extends BaseServiceLong<TaskAttributeValue, TaskAttributeValueRepository> {
 
+    @Autowired
+    ProjectDataVersions projectDataVersions;
+
     public List<TaskAttributeValue> findByTaskId(Long taskId) {
         return repo().findByTaskId(taskId);
     }
@@ -22,10 +26,12 @@ public class TaskAttributeValueService extends BaseServiceLong<TaskAttributeValu
     @Transactional
     public void deleteByTaskId(Long taskId) {
         repo().deleteByTaskId(taskId);
+        projectDataVersions.touchTask(taskId);
     }
 
     @Transactional
     public void deleteByTaskIdAndAttributeId(Long taskId, Long attributeId) {
         repo().deleteByTaskIdAndAttributeId(taskId, attributeId);
+        projectDataVersions.touchTask(taskId);
     }
 }
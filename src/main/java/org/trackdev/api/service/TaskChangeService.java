@@ -1,14 +1,38 @@
 package org.trackdev.api.service;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.controller.exceptions.ServiceException;
 import org.trackdev.api.entity.Task;
 import org.trackdev.api.entity.taskchanges.TaskChange;
+import org.trackdev.api.query.CriteriaParser;
+import org.trackdev.api.query.GenericSpecificationsBuilder;
+import org.trackdev.api.query.SearchSpecification;
+import org.trackdev.api.query.SpecSearchCriteria;
 import org.trackdev.api.repository.TaskChangeRepository;
+import org.trackdev.api.utils.ErrorConstants;
+import org.trackdev.api.utils.KeysetCursor;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class TaskChangeService extends BaseServiceLong<TaskChange, TaskChangeRepository> {
 
+    private static final String CHANGED_AT = "changedAt";
+
+    /**
+     * Attributes a history search may filter on. Only the change's own columns: a path into
+     * the author would let the search probe any user attribute, password hash included. Dates
+     * are left to the typed from/to filters, since search values are compared as strings.
+     */
+    private static final Set<String> SEARCH_KEYS = Set.of("typeColumn", "author.id");
+
     public void store(TaskChange taskChange) {
         repo().save(taskChange);
     }
@@ -20,4 +44,85 @@ public class TaskChangeService extends BaseServiceLong<TaskChange, TaskChangeRep
     public void deleteByTask(Task task) {
         repo().deleteByTask(task);
     }
+
+    /**
+     * Changes of a task matching the filters, in the order they were recorded (by id, as the
+     * task's change collection returned them). Changes without a date are included.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskChange> getHistory(Long taskId, Collection<String> types, String authorId,
+                                       ZonedDateTime from, ZonedDateTime to, String search) {
+        Specification<TaskChange> spec = historySpec(taskId, types, authorId, from, to, search);
+        return repo().findBy(spec, q -> q
+                .sortBy(Sort.by(Sort.Direction.ASC, "id"))
+                .project("author.githubInfo", "author.discordInfo")
+                .all());
+    }
+
+    /**
+     * One page of the changes of a task matching the filters, newest first. Pages are read by
+     * (changedAt, id) keyset over the task_id index, so a page of a task with years of changes
+     * costs the same as one of a new task. Changes without a date are not listed.
+     * @param types  Change type discriminators (e.g. status_change), null or empty for all
+     * @param search Search expression over typeColumn and author.id, e.g. "typeColumn:name_change"
+     */
+    @Transactional(readOnly = true)
+    public KeysetCursor.Slice<TaskChange> scrollHistory(Long taskId, Collection<String> types, String authorId,
+                                                        ZonedDateTime from, ZonedDateTime to, String search,
+                                                        String cursor, int size, boolean includeTotal) {
+        Specification<TaskChange> spec = historySpec(taskId, types, authorId, from, to, search)
+                .and((root, query, cb) -> cb.isNotNull(root.get(CHANGED_AT)));
+        Specification<TaskChange> page = cursor != null
+                ? spec.and(KeysetCursor.decode(cursor).after(Sort.Direction.DESC, CHANGED_AT))
+                : spec;
+        Long total = includeTotal ? repo().count(spec) : null;
+        List<TaskChange> rows = repo().findBy(page, q -> q
+                .sortBy(KeysetCursor.sort(Sort.Direction.DESC, CHANGED_AT))
+                .limit(size + 1)
+                .project("author.githubInfo", "author.discordInfo")
+                .all());
+        return KeysetCursor.slice(rows, size, TaskChange::getChangedAt, TaskChange::getId, total);
+    }
+
+    private Specification<TaskChange> historySpec(Long taskId, Collection<String> types, String authorId,
+                                                  ZonedDateTime from, ZonedDateTime to, String search) {
+        Specification<TaskChange> spec = (root, query, cb) -> cb.equal(root.get("task").get("id"), taskId);
+        if (types != null && !types.isEmpty()) {
+            spec = spec.and((root, query, cb) -> root.get("typeColumn").in(types));
+        }
+        if (authorId != null && !authorId.isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("author").get("id"), authorId));
+        }
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(CHANGED_AT), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get(CHANGED_AT), to));
+        }
+        if (search != null && !search.isBlank()) {
+            spec = spec.and(buildSearchSpecification(search));
+        }
+        return spec;
+    }
+
+    private static Specification<TaskChange> buildSearchSpecification(String search) {
+        Deque<?> criteria;
+        try {
+            criteria = new CriteriaParser().parse(search);
+        } catch (RuntimeException e) {
+            // Unbalanced parentheses
+            throw new ServiceException(ErrorConstants.INVALID_SEARCH);
+        }
+        for (Object criterion : criteria) {
+            if (criterion instanceof SpecSearchCriteria c && !SEARCH_KEYS.contains(c.getKey())) {
+                throw new ServiceException(ErrorConstants.INVALID_SEARCH);
+            }
+        }
+        try {
+            return new GenericSpecificationsBuilder<TaskChange>().build(criteria, SearchSpecification::new);
+        } catch (RuntimeException e) {
+            // Dangling operators or no criteria at all
+            throw new ServiceException(ErrorConstants.INVALID_SEARCH);
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.trackdev.api.service;
+
+import org.trackdev.api.dto.TaskBasicDTO;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Computes the board fields that differ between two shallow task DTOs, for the patches sent
+ * in task_updated events. Values are taken from the newer DTO, in the same form the full
+ * TaskBasicDTO uses, so clients can merge them straight into their copy of the task.
+ */
+final class TaskEventDiff {
+
+    private static final Map<String, Function<TaskBasicDTO, Object>> FIELDS = new LinkedHashMap<>();
+    private static final Map<String, Function<TaskBasicDTO, Collection<?>>> UNORDERED_FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("name", TaskBasicDTO::getName);
+        FIELDS.put("description", TaskBasicDTO::getDescription);
+        FIELDS.put("type", TaskBasicDTO::getType);
+        FIELDS.put("status", TaskBasicDTO::getStatus);
+        FIELDS.put("statusText", TaskBasicDTO::getStatusText);
+        FIELDS.put("reporter", TaskBasicDTO::getReporter);
+        FIELDS.put("assignee", TaskBasicDTO::getAssignee);
+        FIELDS.put("estimationPoints", TaskBasicDTO::getEstimationPoints);
+        FIELDS.put("rank", TaskBasicDTO::getRank);
+        FIELDS.put("frozen", TaskBasicDTO::getFrozen);
+        FIELDS.put("parentTaskId", TaskBasicDTO::getParentTaskId);
+        // Mapped from sets, so their order carries no meaning
+        UNORDERED_FIELDS.put("activeSprints", TaskBasicDTO::getActiveSprints);
+        UNORDERED_FIELDS.put("pullRequests", TaskBasicDTO::getPullRequests);
+    }
+
+    private TaskEventDiff() {}
+
+    static Map<String, Object> changedFields(TaskBasicDTO before, TaskBasicDTO after) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        FIELDS.forEach((name, getter) -> {
+            Object newValue = getter.apply(after);
+            if (!Objects.equals(getter.apply(before), newValue)) {
+                changed.put(name, newValue);
+            }
+        });
+        UNORDERED_FIELDS.forEach((name, getter) -> {
+            Collection<?> newValue = getter.apply(after);
+            if (!sameElements(getter.apply(before), newValue)) {
+                changed.put(name, newValue);
+            }
+        });
+        return changed;
+    }
+
+    private static boolean sameElements(Collection<?> a, Collection<?> b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.size() == b.size() && new HashSet<>(a).equals(new HashSet<>(b));
+    }
+}
@@ -16,6 +16,7 @@ import org.trackdev.api.query.SearchSpecification;
 import org.trackdev.api.repository.TaskRepository;
 import org.trackdev.api.utils.ErrorConstants;
 import org.trackdev.api.utils.HtmlSanitizer;
+import org.trackdev.api.utils.KeysetCursor;
 
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -123,6 +124,7 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
 
         accessChecker.checkCanSelfAssignTask(task, userId);
 
+        sseEmitterService.captureTaskState(task);
         String oldValue = task.getAssignee() != null ? task.getAssignee().getUsername() : null;
         task.setAssignee(user);
         repo.save(task);
@@ -168,6 +170,7 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
             }
         }
 
+        sseEmitterService.captureTaskState(task);
         String oldValue = task.getAssignee() != null ? task.getAssignee().getUsername() : null;
         task.setAssignee(null);
         repo.save(task);
@@ -334,6 +337,7 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
             subtask.setStatus(TaskStatus.BACKLOG);
         }
 
+        sseEmitterService.captureTaskState(parentTask);
         parentTask.getProject().addTask(subtask);  // This sets project, taskNumber, and taskKey
         parentTask.addChildTask(subtask);
         this.repo.save(subtask);
@@ -388,6 +392,12 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
             accessChecker.checkCanEditTask(task, userId);
         }
 
+        // Board state before the edit, so the real-time event only carries what changed
+        sseEmitterService.captureTaskState(task);
+        if (task.getParentTask() != null) {
+            sseEmitterService.captureTaskState(task.getParentTask());
+        }
+
         List<TaskChange> changes = new ArrayList<>();
         if(editTask.name != null) {
             String oldName = task.getName();
@@ -894,6 +904,7 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
         // If deleting a subtask, also notify about parent update
         Task parentTask = task.getParentTask();
         if (parentTask != null) {
+            sseEmitterService.captureTaskState(parentTask);
             sseEmitterService.publishTaskEvent(parentTask, actor, "task_updated");
         }
 
@@ -1070,9 +1081,22 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
         Task task = get(taskId);
         accessChecker.checkCanViewProject(task.getProject(), userId);
 
-        // Simply return the task changes from the relationship
-        // The 'search' parameter is ignored for now - can be added later if needed
-        return task.getTaskChanges();
+        return taskChangeService.getHistory(taskId, null, null, null, null, search);
+    }
+
+    /**
+     * Scroll the history of a task, newest first, filtered by change type, author, date range
+     * [from, to) and search expression. See {@link TaskChangeService#scrollHistory}.
+     */
+    @Transactional(readOnly = true)
+    public KeysetCursor.Slice<TaskChange> scrollTaskHistory(Long taskId, String userId, Collection<String> types,
+                                                            String authorId, ZonedDateTime from, ZonedDateTime to,
+                                                            String search, String cursor, int size,
+                                                            boolean includeTotal) {
+        Task task = get(taskId);
+        accessChecker.checkCanViewProject(task.getProject(), userId);
+
+        return taskChangeService.scrollHistory(taskId, types, authorId, from, to, search, cursor, size, includeTotal);
     }
 
     private Collection<TaskChange> updateOtherTasksRank(User user, Integer newRank, Integer currentRank) {
@@ -1134,7 +1158,58 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
             org.springframework.data.domain.PageRequest.of(page, size,
                 org.springframework.data.domain.Sort.by(direction, "createdAt"));
 
-        // Build specification with filters
+        return repo.findAll(myTasksSpec(accessibleProjects, type, status, assigneeId, projectId, search), pageable);
+    }
+
+    /**
+     * Scroll "my tasks" by (createdAt, id) instead of page number, for infinite-scroll clients.
+     * Each page costs the same however deep the client is, and the total is only counted when
+     * asked for. Tasks without a creation date (older than the column) are not listed.
+     */
+    public KeysetCursor.Slice<Task> scrollMyTasks(
+            String userId,
+            String cursor,
+            int size,
+            TaskType type,
+            TaskStatus status,
+            String assigneeId,
+            Long projectId,
+            String sortOrder,
+            String search,
+            boolean includeTotal) {
+        Collection<Project> accessibleProjects = projectService.getProjectsForUser(userId);
+        if (accessibleProjects.isEmpty()) {
+            return KeysetCursor.Slice.empty();
+        }
+
+        org.springframework.data.domain.Sort.Direction direction =
+            "asc".equalsIgnoreCase(sortOrder)
+                ? org.springframework.data.domain.Sort.Direction.ASC
+                : org.springframework.data.domain.Sort.Direction.DESC;
+
+        org.springframework.data.jpa.domain.Specification<Task> spec =
+            myTasksSpec(accessibleProjects, type, status, assigneeId, projectId, search)
+                .and((root, query, cb) -> cb.isNotNull(root.get("createdAt")));
+        Long total = includeTotal ? repo.count(spec) : null;
+
+        org.springframework.data.jpa.domain.Specification<Task> page = cursor != null
+            ? spec.and(KeysetCursor.decode(cursor).after(direction))
+            : spec;
+        List<Task> rows = repo.findBy(page, q -> q
+            .sortBy(KeysetCursor.sort(direction))
+            .limit(size + 1)
+            .project("reporter.githubInfo", "reporter.discordInfo", "assignee.githubInfo", "assignee.discordInfo")
+            .all());
+        return KeysetCursor.slice(rows, size, Task::getCreatedAt, Task::getId, total);
+    }
+
+    private org.springframework.data.jpa.domain.Specification<Task> myTasksSpec(
+            Collection<Project> accessibleProjects,
+            TaskType type,
+            TaskStatus status,
+            String assigneeId,
+            Long projectId,
+            String search) {
         org.springframework.data.jpa.domain.Specification<Task> spec =
             (root, query, cb) -> root.get("project").in(accessibleProjects);
 
@@ -1162,7 +1237,7 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
             ));
         }
 
-        return repo.findAll(spec, pageable);
+        return spec;
     }
 
     /**
@@ -1476,6 +1551,13 @@ public class TaskService extends BaseServiceLong<Task, TaskRepository> {
         return this.repo.findByProjectIdAndStatusAndAssigneeId(projectId, status, assigneeId);
     }
 
+    /**
+     * Find all tasks of a project, including subtasks.
+     */
+    public List<Task> findByProjectId(Long projectId) {
+        return this.repo.findByProjectId(projectId);
+    }
+
     /**
      * Find all tasks in a project with a specific status.
      */
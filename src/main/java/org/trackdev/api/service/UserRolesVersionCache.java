@@ -0,0 +1,47 @@
+package org.trackdev.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.trackdev.api.configuration.AuthorizationConfiguration;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's roles version, so the token refresh path can tell whether
+ * the roles in a token are still current without reading the roles on every request.
+ */
+@Service
+public class UserRolesVersionCache {
+
+    private record Stamp(long rolesVersion, long loadedAtMillis) {}
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthorizationConfiguration authorizationConfiguration;
+
+    private final ConcurrentHashMap<String, Stamp> stamps = new ConcurrentHashMap<>();
+
+    public long getRolesVersion(String userId) {
+        long now = System.currentTimeMillis();
+        Stamp stamp = stamps.get(userId);
+        if (stamp == null || now - stamp.loadedAtMillis() >= ttlMillis()) {
+            stamp = new Stamp(userService.getRolesVersion(userId), now);
+            stamps.put(userId, stamp);
+        }
+        return stamp.rolesVersion();
+    }
+
+    @Scheduled(fixedDelay = 300_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long ttl = ttlMillis();
+        stamps.values().removeIf(stamp -> now - stamp.loadedAtMillis() >= ttl);
+    }
+
+    private long ttlMillis() {
+        return authorizationConfiguration.getRolesVersionTtlSeconds() * 1000L;
+    }
+}
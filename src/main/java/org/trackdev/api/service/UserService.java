@@ -11,6 +11,7 @@ import org.trackdev.api.configuration.UserType;
 import org.trackdev.api.controller.exceptions.EntityNotFound;
 import org.trackdev.api.controller.exceptions.SecurityException;
 import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.controller.exceptions.ServiceUnavailableException;
 import org.trackdev.api.entity.Course;
 import org.trackdev.api.entity.GithubInfo;
 import org.trackdev.api.entity.Project;
@@ -53,9 +54,20 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
     @Autowired
     private UserPushTokenRepository userPushTokenRepository;
 
+    @Autowired
+    private ProjectAccessIndex accessIndex;
+
 
+    /**
+     * Check the credentials of a login. The user and their roles are read in the repository's
+     * own transaction, and the hash is verified after it has ended, so a login waiting for a
+     * hashing thread holds no database connection. Callers must not hold a transaction either.
+     */
     public User matchPassword(String email, String password) {
-        User user = this.getByEmail(email);
+        User user = repo().findWithRolesByEmail(email);
+        if (user == null) {
+            throw new EntityNotFound(ErrorConstants.USER_NOT_FOUND.formatted(email));
+        }
 
         if (user == null) throw new ServiceException(ErrorConstants.LOGIN_KO);
         if (!user.getEnabled()) throw new SecurityException(ErrorConstants.USER_DISABLED);
@@ -86,6 +98,7 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
             }
             
             repo().save(user);
+            accessIndex.userChanged(user);
 
             // Enroll student in course if courseId is provided
             if (courseId != null && userType == UserType.STUDENT) {
@@ -97,6 +110,9 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
 
             return user;
         }
+        catch (ServiceUnavailableException e) {
+            throw e;
+        }
         catch (Exception e) {
             throw new ServiceException(ErrorConstants.REGISTER_KO + ": " + email, e);
         }
@@ -111,6 +127,15 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
             throw new EntityNotFound(ErrorConstants.USER_MAIL_NOT_FOUND.formatted(id));
     }
 
+    /**
+     * Current roles version of the user, read without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public long getRolesVersion(String userId) {
+        return repo().findRolesVersionById(userId)
+                .orElseThrow(() -> new EntityNotFound(ErrorConstants.USER_MAIL_NOT_FOUND.formatted(userId)));
+    }
+
     /**
      * Fetches user roles within a transaction to avoid lazy initialization issues.
      * Use this method when you need to access roles outside of a service context.
@@ -219,6 +244,7 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
             user.addRole(role);
         }
         repo().save(user);
+        accessIndex.userChanged(user);
 
         return user;
     }
@@ -251,7 +277,10 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
      * Change password with old password verification.
      * All operations in a single transaction.
      */
-    @Transactional
+    /**
+     * Not transactional: both hashes run between short repository transactions, see
+     * {@link #matchPassword}.
+     */
     public void changePasswordWithVerification(String userId, String oldPassword, String newPassword) {
         User user = get(userId);
         matchPassword(user.getEmail(), oldPassword);
@@ -471,6 +500,7 @@ public class UserService extends BaseServiceUUID<User, UserRepository> {
 
         // Delete the user (cascade will handle GithubInfo, PointsReview)
         repo().delete(user);
+        accessIndex.userRemoved(userId);
     }
 
     @Transactional
@@ -211,8 +211,19 @@ public final class ErrorConstants {
     public static final String PAT_EXPIRATION_IN_PAST = "error.pat.expiration.past";
     public static final String PAT_ALREADY_REVOKED = "error.pat.already.revoked";
 
+    // Capacity errors
+    public static final String PASSWORD_HASHING_BUSY = "error.password.hashing.busy";
+
+    // Event stream errors
+    public static final String SSE_INVALID_TOPIC = "error.sse.invalid.topic";
+    public static final String SSE_TOO_MANY_TOPICS = "error.sse.too.many.topics";
+    public static final String SSE_CONNECTION_NOT_FOUND = "error.sse.connection.not.found";
+
     // Input validation errors
     public static final String INPUT_CONTAINS_HTML = "error.input.contains.html";
+    public static final String INVALID_CURSOR = "error.cursor.invalid";
+    public static final String INVALID_SEARCH = "error.search.invalid";
+    public static final String INVALID_STATUS_FILTER = "error.status.filter.invalid";
 
     public static final String EMPTY = "";
 }
@@ -0,0 +1,104 @@
+package org.trackdev.api.utils;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.trackdev.api.controller.exceptions.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a list ordered by (timestamp, id), used for keyset ("load more") pagination.
+ * The timestamp is whichever attribute the list is ordered by (createdAt by default).
+ *
+ * A page is read with WHERE (timestamp, id) beyond the cursor ORDER BY timestamp, id LIMIT
+ * size + 1, so its cost does not depend on how deep the client has scrolled, and no COUNT is
+ * needed to know whether another page exists. Clients get the cursor as an opaque string.
+ */
+public record KeysetCursor(Instant timestamp, long id) {
+
+    private static final String CREATED_AT = "createdAt";
+    private static final String ID = "id";
+
+    /**
+     * One page of a keyset scroll.
+     *
+     * @param items         the rows of the page
+     * @param nextCursor    cursor of the last row, or null on the last page
+     * @param totalElements total matching rows, only when the caller asked for it
+     */
+    public record Slice<T>(List<T> items, String nextCursor, Long totalElements) {
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+
+        public static <T> Slice<T> empty() {
+            return new Slice<>(List.of(), null, null);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new ServiceException(ErrorConstants.INVALID_CURSOR);
+            }
+            return new KeysetCursor(Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ServiceException(ErrorConstants.INVALID_CURSOR);
+        }
+    }
+
+    /** Sort matching the keyset: createdAt, then id to break ties between rows of the same instant. */
+    public static Sort sort(Sort.Direction direction) {
+        return sort(direction, CREATED_AT);
+    }
+
+    /** Sort matching the keyset, for entities whose timestamp attribute is not createdAt. */
+    public static Sort sort(Sort.Direction direction, String timestampAttribute) {
+        return Sort.by(direction, timestampAttribute).and(Sort.by(direction, ID));
+    }
+
+    /** Rows strictly after this cursor when scrolling in the given direction. */
+    public <T> Specification<T> after(Sort.Direction direction) {
+        return after(direction, CREATED_AT);
+    }
+
+    /** Rows strictly after this cursor, for entities whose timestamp attribute is not createdAt. */
+    public <T> Specification<T> after(Sort.Direction direction, String timestampAttribute) {
+        ZonedDateTime at = timestamp.atZone(ZoneId.of("UTC"));
+        return (root, query, cb) -> direction.isDescending()
+                ? cb.or(cb.lessThan(root.get(timestampAttribute), at),
+                        cb.and(cb.equal(root.get(timestampAttribute), at), cb.lessThan(root.get(ID), id)))
+                : cb.or(cb.greaterThan(root.get(timestampAttribute), at),
+                        cb.and(cb.equal(root.get(timestampAttribute), at), cb.greaterThan(root.get(ID), id)));
+    }
+
+    /**
+     * Build a page from rows read with a limit of size + 1: the extra row only tells there is
+     * a next page and is dropped.
+     */
+    public static <T> Slice<T> slice(List<T> rows, int size, Function<T, ZonedDateTime> timestamp,
+                                     Function<T, Long> id, Long totalElements) {
+        if (rows.size() <= size) {
+            return new Slice<>(rows, null, totalElements);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        String next = new KeysetCursor(timestamp.apply(last).toInstant(), id.apply(last)).encode();
+        return new Slice<>(items, next, totalElements);
+    }
+}
@@ -0,0 +1,19 @@
+-- Shared outbox for the database-backed SSE event bus (trackdev.sse.bus=database).
+-- Events are addressed to topics (sprint, project activity, points review, unread).
+CREATE TABLE `sse_outbox_events` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `node_id` varchar(64) NOT NULL,
+    `event_name` varchar(32) NOT NULL,
+    `coalesce_key` varchar(64) NULL,
+    `topics` varchar(1024) NOT NULL,
+    `payload` mediumtext NOT NULL,
+    `created_at` timestamp(3) NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `IDX_sse_outbox_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE `sse_bus_nodes` (
+    `node_id` varchar(64) NOT NULL,
+    `last_seen_at` timestamp NOT NULL,
+    PRIMARY KEY (`node_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,3 @@
+-- Per-task version carried by SSE task events, so clients can detect missed patches
+ALTER TABLE `tasks`
+    ADD COLUMN `event_version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Bumped whenever a user's roles change, so a JWT carrying an older value gets its roles reloaded
+ALTER TABLE `users`
+    ADD COLUMN `roles_version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Token buckets of the database-backed API rate limit store (trackdev.rate-limit.store=database)
+CREATE TABLE `rate_limit_buckets` (
+    `bucket_key` varchar(191) NOT NULL,
+    `arrival_micros` bigint NOT NULL,
+    PRIMARY KEY (`bucket_key`),
+    KEY `IDX_rate_limit_buckets_arrival` (`arrival_micros`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
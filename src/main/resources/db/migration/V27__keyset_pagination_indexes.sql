@@ -0,0 +1,8 @@
+-- Composite indexes serving the (created_at, id) keyset scroll of the activity feed and "my tasks"
+ALTER TABLE `activities`
+    ADD KEY `IDX_activities_project_created` (`project_id`, `created_at`, `id`),
+    ADD KEY `IDX_activities_project_actor_created` (`project_id`, `actor_id`, `created_at`, `id`);
+
+ALTER TABLE `tasks`
+    ADD KEY `IDX_tasks_project_created` (`project_id`, `created_at`, `id`),
+    ADD KEY `IDX_tasks_created` (`created_at`, `id`);
@@ -0,0 +1,13 @@
+-- Unread activity counter kept next to the last access time, so the badge is a single-row read.
+-- unread_counted_at is the creation time up to which the counter was last recomputed; batched
+-- increments only add activities created after it.
+ALTER TABLE `user_activity_access`
+    ADD COLUMN `unread_count` int NOT NULL DEFAULT 0 AFTER `last_accessed_at`,
+    ADD COLUMN `unread_counted_at` timestamp(3) NULL AFTER `unread_count`;
+
+UPDATE `user_activity_access` uaa SET `unread_count` = (
+    SELECT COUNT(*) FROM `activities` a
+    JOIN `projects_members` pm ON pm.`project_id` = a.`project_id`
+    WHERE pm.`user_id` = uaa.`user_id`
+      AND (uaa.`last_accessed_at` IS NULL OR a.`created_at` > uaa.`last_accessed_at`)
+);
@@ -0,0 +1,3 @@
+-- Bumped with every change to what a report of the project reads, to validate cached report results
+ALTER TABLE `projects`
+    ADD COLUMN `data_version` bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Composite index serving the (changed_at, id) keyset scroll of a task's history
+ALTER TABLE `task_changes`
+    ADD KEY `IDX_task_changes_task_changed` (`task_id`, `changed_at`, `id`);
@@ -0,0 +1,11 @@
+-- Changes to memberships, course ownership and roles, so every node refreshes its access index
+-- within seconds of another node's commit instead of at its next full rebuild.
+CREATE TABLE `access_index_changes` (
+    `id` bigint NOT NULL AUTO_INCREMENT,
+    `node_id` varchar(64) NOT NULL,
+    `kind` varchar(32) NOT NULL,
+    `entity_id` varchar(64) NOT NULL,
+    `created_at` timestamp(3) NOT NULL,
+    PRIMARY KEY (`id`),
+    KEY `IDX_access_index_changes_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,98 @@
+package org.trackdev.api.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.trackdev.api.controller.exceptions.ServiceUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedPasswordEncoder admission control.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Blocks every hash until released, so the pool can be saturated on purpose
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+    };
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void delegatesOnThePool() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 1000, meterRegistry);
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertEquals(2, meterRegistry.get("password.hash").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 10000, meterRegistry);
+
+        // One hash running, one queued: the pool and queue are full
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueue(1);
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> encoder.encode("c"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesUpAfterMaxWait() {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 4, 50, meterRegistry);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("a", "hashed:a"));
+    }
+
+    private void waitForQueue(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hash.queue").gauge().value() < size
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.trackdev.api.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.trackdev.api.dto.UserBasicDTO;
+import org.trackdev.api.serializer.EmailPrivacyFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Emails in user DTOs are written as the response goes out: a student only gets their own,
+ * everyone else gets all of them.
+ */
+class EmailPrivacyAdviceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .setFilterProvider(EmailPrivacyFilter.SHOW_ALL);
+    private final EmailPrivacyAdvice advice = new EmailPrivacyAdvice();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void studentOnlySeesTheirOwnEmail() throws Exception {
+        authenticate("student-id", "ROLE_STUDENT");
+
+        JsonNode users = write(List.of(user("student-id"), user("other-id")));
+
+        assertEquals("student-id@trackdev.test", users.get(0).get("email").asText());
+        assertFalse(users.get(1).has("email"));
+        assertEquals("other-id", users.get(1).get("username").asText());
+    }
+
+    @Test
+    void professorSeesEveryEmail() throws Exception {
+        authenticate("professor-id", "ROLE_PROFESSOR");
+
+        JsonNode users = write(List.of(user("student-id"), user("other-id")));
+
+        assertEquals("student-id@trackdev.test", users.get(0).get("email").asText());
+        assertEquals("other-id@trackdev.test", users.get(1).get("email").asText());
+    }
+
+    private static void authenticate(String userId, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                userId, null, AuthorityUtils.createAuthorityList(authority)));
+    }
+
+    /** Runs the advice and the message converter the way a controller response does. */
+    private JsonNode write(Object body) throws Exception {
+        MethodParameter returnType = new MethodParameter(Object.class.getMethod("toString"), -1);
+        Object container = advice.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(new MockHttpServletRequest()),
+                new ServletServerHttpResponse(new MockHttpServletResponse()));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        new MappingJackson2HttpMessageConverter(objectMapper).write(container, MediaType.APPLICATION_JSON, output);
+        return objectMapper.readTree(output.getBodyAsString());
+    }
+
+    private static UserBasicDTO user(String id) {
+        UserBasicDTO user = new UserBasicDTO();
+        user.setId(id);
+        user.setUsername(id);
+        user.setEmail(id + "@trackdev.test");
+        return user;
+    }
+}
@@ -0,0 +1,116 @@
+package org.trackdev.api.configuration;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.trackdev.api.service.UserRolesVersionCache;
+import org.trackdev.api.service.UserService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sliding session refresh: a token is reissued only near expiry, with the roles of its claims,
+ * or at once with reloaded roles when the user's roles version moved on.
+ */
+class JWTTokenRefreshFilterTest {
+
+    private static final String USER_ID = "user-1";
+
+    private final AuthorizationConfiguration configuration = new AuthorizationConfiguration();
+    private final UserService userService = mock(UserService.class);
+    private final UserRolesVersionCache rolesVersionCache = mock(UserRolesVersionCache.class);
+    private final CookieManager cookieManager = mock(CookieManager.class);
+    private JWTTokenProvider tokenProvider;
+    private JWTTokenVerifier verifier;
+    private JWTTokenRefreshFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        configuration.setSecretKeyBase("refresh-filter-test-secret-key-base-0123456789");
+        configuration.setTokenLifetimeInMinutes(60);
+        tokenProvider = new JWTTokenProvider(configuration);
+        verifier = new JWTTokenVerifier(configuration, new SimpleMeterRegistry());
+        filter = new JWTTokenRefreshFilter(tokenProvider, cookieManager, userService, rolesVersionCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void keepsAFreshTokenWithoutReadingRoles() throws Exception {
+        when(rolesVersionCache.getRolesVersion(USER_ID)).thenReturn(3L);
+
+        MockHttpServletResponse response = filter(tokenProvider.createToken(USER_ID, List.of("ROLE_STUDENT"), 3L));
+
+        assertNull(response.getHeader("X-Refreshed-Token"));
+        verify(userService, never()).getRoles(any());
+        verify(cookieManager, never()).addSessionCookie(any(), any(), any(), any());
+    }
+
+    @Test
+    void reissuesNearExpiryWithTheRolesOfTheClaims() throws Exception {
+        configuration.setRefreshThreshold(1.0);
+        when(rolesVersionCache.getRolesVersion(USER_ID)).thenReturn(3L);
+
+        MockHttpServletResponse response = filter(tokenProvider.createToken(USER_ID, List.of("ROLE_STUDENT"), 3L));
+
+        Claims refreshed = claimsOf(response.getHeader("X-Refreshed-Token"));
+        assertEquals(USER_ID, refreshed.getSubject());
+        assertEquals(List.of("ROLE_STUDENT"), refreshed.get(JWTTokenProvider.AUTHORITIES_CLAIM));
+        assertEquals(3L, JWTTokenProvider.rolesVersionOf(refreshed));
+        verify(userService, never()).getRoles(any());
+        verify(cookieManager).addSessionCookie(any(), any(), eq(JWTTokenVerifier.COOKIE_NAME), any());
+    }
+
+    @Test
+    void reloadsRolesAtOnceWhenTheRolesVersionChanged() throws Exception {
+        when(rolesVersionCache.getRolesVersion(USER_ID)).thenReturn(4L);
+        when(userService.getRoles(USER_ID)).thenReturn(List.of("PROFESSOR"));
+
+        MockHttpServletResponse response = filter(tokenProvider.createToken(USER_ID, List.of("ROLE_STUDENT"), 3L));
+
+        Claims refreshed = claimsOf(response.getHeader("X-Refreshed-Token"));
+        assertEquals(List.of("ROLE_PROFESSOR"), refreshed.get(JWTTokenProvider.AUTHORITIES_CLAIM));
+        assertEquals(4L, JWTTokenProvider.rolesVersionOf(refreshed));
+        // The current request already runs with the new roles
+        assertEquals(List.of("ROLE_PROFESSOR"), SecurityContextHolder.getContext().getAuthentication()
+                .getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    private MockHttpServletResponse filter(String bearerToken) throws Exception {
+        Claims claims = claimsOf(bearerToken);
+        @SuppressWarnings("unchecked")
+        List<String> authorities = (List<String>) claims.get(JWTTokenProvider.AUTHORITIES_CLAIM);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(USER_ID, null,
+                authorities.stream().map(SimpleGrantedAuthority::new).toList()));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/1");
+        request.setServletPath("/tasks/1");
+        request.setAttribute(JWTAuthorizationFilter.CLAIMS_ATTRIBUTE, claims);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private Claims claimsOf(String bearerToken) {
+        assertNotNull(bearerToken);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTAuthorizationFilter.HEADER, bearerToken);
+        return verifier.verify(request);
+    }
+}
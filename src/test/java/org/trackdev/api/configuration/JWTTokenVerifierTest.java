@@ -0,0 +1,113 @@
+package org.trackdev.api.configuration;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A token's signature is checked once; later requests with it are served from the cache until
+ * it expires or is invalidated, and tampered or expired tokens never get in.
+ */
+class JWTTokenVerifierTest {
+
+    private final AuthorizationConfiguration configuration = new AuthorizationConfiguration();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JWTTokenProvider tokenProvider;
+    private JWTTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        configuration.setSecretKeyBase("verifier-test-secret-key-base-0123456789abcdef");
+        configuration.setTokenLifetimeInMinutes(60);
+        tokenProvider = new JWTTokenProvider(configuration);
+        verifier = new JWTTokenVerifier(configuration, meterRegistry);
+    }
+
+    @Test
+    void servesARepeatedTokenFromTheCache() {
+        String token = tokenProvider.createToken("user-1", List.of("ROLE_STUDENT"), 1L);
+
+        Claims first = verifier.verify(header(token));
+        Claims second = verifier.verify(header(token));
+
+        assertEquals("user-1", second.getSubject());
+        assertSame(first, second);
+        assertEquals(1.0, count("miss"));
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void readsTheSessionCookie() {
+        String token = tokenProvider.createToken("user-1", List.of("ROLE_STUDENT"), 1L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(JWTTokenVerifier.COOKIE_NAME,
+                Base64.getEncoder().withoutPadding().encodeToString(token.getBytes())));
+
+        assertEquals("user-1", verifier.verify(request).getSubject());
+        assertEquals("user-1", verifier.verify(request).getSubject());
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void rejectsATamperedToken() {
+        String token = tokenProvider.createToken("user-1", List.of("ROLE_STUDENT"), 1L);
+        verifier.verify(header(token));
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature)
+                + (token.charAt(signature) == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertThrows(JwtException.class, () -> verifier.verify(header(tampered)));
+        assertEquals(0.0, count("hit"));
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        configuration.setTokenLifetimeInMinutes(-1);
+        String token = tokenProvider.createToken("user-1", List.of("ROLE_STUDENT"), 1L);
+
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(header(token)));
+        // Not remembered either
+        assertThrows(ExpiredJwtException.class, () -> verifier.verify(header(token)));
+        assertEquals(0.0, count("hit"));
+    }
+
+    @Test
+    void verifiesAgainAfterInvalidate() {
+        String token = tokenProvider.createToken("user-1", List.of("ROLE_STUDENT"), 1L);
+        verifier.verify(header(token));
+
+        verifier.invalidate(header(token));
+        verifier.verify(header(token));
+
+        assertEquals(2.0, count("miss"));
+        assertEquals(0.0, count("hit"));
+    }
+
+    @Test
+    void ignoresAHeaderWithoutBearerPrefix() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTAuthorizationFilter.HEADER, "Basic dXNlcjpwYXNz");
+
+        assertNull(verifier.verify(request));
+    }
+
+    private static MockHttpServletRequest header(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTAuthorizationFilter.HEADER, token);
+        return request;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("auth.jwt.cache").tag("result", result).counter().count();
+    }
+}
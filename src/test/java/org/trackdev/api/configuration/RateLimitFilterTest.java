@@ -0,0 +1,81 @@
+package org.trackdev.api.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.trackdev.api.configuration.TrackDevProperties.RateLimitGroup;
+import org.trackdev.api.service.InMemoryRateLimitStore;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requests are limited by the address the proxy saw, not by a client-supplied header, and a
+ * request a group rejects does not use up the per-IP bucket.
+ */
+class RateLimitFilterTest {
+
+    private final TrackDevProperties properties = new TrackDevProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties.getRateLimit().getPerIp().setCapacity(2);
+        properties.getRateLimit().getPerIp().setRefillPerMinute(1);
+        RateLimitGroup auth = new RateLimitGroup();
+        auth.setPaths(List.of("/auth/login"));
+        auth.setCapacity(1);
+        auth.setRefillPerMinute(1);
+        properties.getRateLimit().getGroups().put("auth", auth);
+        filter = new RateLimitFilter(properties, new InMemoryRateLimitStore(), new SimpleMeterRegistry(), objectMapper);
+    }
+
+    @Test
+    void ignoresForgedForwardedFor() throws Exception {
+        assertEquals(200, request("/tasks", "203.0.113.1").getStatus());
+        assertEquals(200, request("/tasks", "203.0.113.2").getStatus());
+
+        // A third spoofed address still draws from the same bucket
+        assertEquals(429, request("/tasks", "203.0.113.3").getStatus());
+    }
+
+    @Test
+    void groupRejectionDoesNotChargeTheAddress() throws Exception {
+        assertEquals(200, request("/auth/login", null).getStatus());
+        assertEquals(429, request("/auth/login", null).getStatus());
+        assertEquals(429, request("/auth/login", null).getStatus());
+
+        // Only the admitted login drew from the per-IP bucket
+        assertEquals(200, request("/tasks", null).getStatus());
+    }
+
+    @Test
+    void rejectionCarriesRetryAfterAndErrorBody() throws Exception {
+        request("/auth/login", null);
+
+        MockHttpServletResponse response = request("/auth/login", null);
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many requests", objectMapper.readTree(response.getContentAsString()).get("message").asText());
+    }
+
+    private MockHttpServletResponse request(String path, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        request.setRemoteAddr("198.51.100.7");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,26 @@
+package org.trackdev.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.trackdev.api.controller.exceptions.ControllerException;
+import org.trackdev.api.entity.TaskStatus;
+import org.trackdev.api.utils.ErrorConstants;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaseControllerTests {
+
+    @Test
+    void parseStatusFilters_readsCommaSeparatedStatuses() {
+        assertEquals(List.of(TaskStatus.TODO, TaskStatus.DONE), BaseController.parseStatusFilters("TODO, DONE"));
+        assertNull(BaseController.parseStatusFilters(" "));
+    }
+
+    @Test
+    void parseStatusFilters_whenStatusIsUnknown_shouldBeABadRequest() {
+        ControllerException ex = assertThrows(ControllerException.class,
+                () -> BaseController.parseStatusFilters("TODO,FINISHED"));
+        assertEquals(ErrorConstants.INVALID_STATUS_FILTER, ex.getMessage());
+    }
+}
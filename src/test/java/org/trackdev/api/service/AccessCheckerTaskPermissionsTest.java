@@ -42,6 +42,10 @@ class AccessCheckerTaskPermissionsTest {
     @Mock
     private CourseService courseService;
 
+    // Knows no user or project, so every check falls back to the entities
+    @Mock
+    private ProjectAccessIndex accessIndex;
+
     private AccessChecker accessChecker;
 
     // Test entities
@@ -65,6 +69,7 @@ class AccessCheckerTaskPermissionsTest {
         accessChecker = new AccessChecker();
         ReflectionTestUtils.setField(accessChecker, "userService", userService);
         ReflectionTestUtils.setField(accessChecker, "courseService", courseService);
+        ReflectionTestUtils.setField(accessChecker, "accessIndex", accessIndex);
 
         // Create workspace
         workspace = new Workspace();
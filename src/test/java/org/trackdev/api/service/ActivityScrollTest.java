@@ -0,0 +1,109 @@
+package org.trackdev.api.service;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.entity.*;
+import org.trackdev.api.repository.ActivityRepository;
+import org.trackdev.api.utils.KeysetCursor;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Scrolls the activity feed by cursor: every row once, in order, at a constant statement count
+ * per page.
+ */
+@JpaSliceTest
+class ActivityScrollTest {
+
+    private static final String USER_ID = "reader";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    private ActivityService activityService;
+    private Statistics statistics;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        statistics = JpaFixtures.statistics(entityManager);
+
+        User actor = JpaFixtures.user(entityManager, "scroller");
+        project = JpaFixtures.project(entityManager, "Scroll");
+
+        // Three rows per second, so pages have to break ties on the id
+        ZonedDateTime start = ZonedDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+        for (int i = 0; i < 25; i++) {
+            Activity activity = new Activity(ActivityType.TASK_CREATED, actor, project, null, "activity " + i);
+            activity.setCreatedAt(start.plusSeconds(i / 3));
+            entityManager.persist(activity);
+        }
+        entityManager.flush();
+
+        User reader = mock(User.class);
+        when(reader.getProjects()).thenReturn(List.of(project));
+        UserService userService = mock(UserService.class);
+        when(userService.get(USER_ID)).thenReturn(reader);
+
+        activityService = new ActivityService();
+        activityService.repo = activityRepository;
+        activityService.userService = userService;
+    }
+
+    @Test
+    void scrollsEveryActivityOnceNewestFirst() {
+        List<Activity> seen = new ArrayList<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        String cursor = null;
+        do {
+            entityManager.clear();
+            statistics.clear();
+            KeysetCursor.Slice<Activity> slice = activityService.scrollActivitiesForUser(
+                    USER_ID, null, null, null, cursor, 10, false);
+            slice.items().forEach(a -> a.getActor().getUsername());
+            statementsPerPage.add(statistics.getPrepareStatementCount());
+            assertNull(slice.totalElements());
+            seen.addAll(slice.items());
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, new HashSet<>(seen.stream().map(Activity::getId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            Activity previous = seen.get(i - 1);
+            Activity current = seen.get(i);
+            int byDate = previous.getCreatedAt().compareTo(current.getCreatedAt());
+            assertTrue(byDate > 0 || (byDate == 0 && previous.getId() > current.getId()));
+        }
+        assertEquals(List.of(1L, 1L, 1L), statementsPerPage);
+    }
+
+    @Test
+    void countsOnlyWhenAsked() {
+        KeysetCursor.Slice<Activity> slice = activityService.scrollActivitiesForUser(
+                USER_ID, null, null, null, null, 30, true);
+
+        assertEquals(25L, slice.totalElements());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThrows(ServiceException.class, () -> activityService.scrollActivitiesForUser(
+                USER_ID, null, null, null, "not-a-cursor", 10, false));
+    }
+}
@@ -0,0 +1,110 @@
+package org.trackdev.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.trackdev.api.entity.*;
+import org.trackdev.api.repository.UserActivityAccessRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unread counters follow what the count over the activities would return: only project
+ * members who had not read the feed when the activity happened, only once committed, and
+ * back to the real count after reconciliation, without counting what the recount covered again.
+ */
+@JpaSliceTest
+@Import(ActivityUnreadCounters.class)
+class ActivityUnreadCountersTest {
+
+    private static final ZonedDateTime T0 = ZonedDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ActivityUnreadCounters counters;
+
+    @Autowired
+    private UserActivityAccessRepository userActivityAccessRepository;
+
+    @Test
+    void countersMatchTheRealCount() {
+        User earlyReader = JpaFixtures.user(entityManager, "early");
+        User lateReader = JpaFixtures.user(entityManager, "late");
+        User outsider = JpaFixtures.user(entityManager, "outsider");
+        Project project = new Project("Unread");
+        project.setSlug("unread");
+        project.addMember(earlyReader);
+        project.addMember(lateReader);
+        entityManager.persist(project);
+        access(earlyReader, T0);
+        access(lateReader, T0.plusSeconds(10));
+        access(outsider, T0);
+
+        for (int i = 0; i < 2; i++) {
+            Activity activity = new Activity(ActivityType.TASK_CREATED, earlyReader, project, null, "activity " + i);
+            activity.setCreatedAt(T0.plusSeconds(5));
+            entityManager.persist(activity);
+            counters.activityRecorded(activity);
+        }
+        entityManager.flush();
+
+        // Nothing is counted before the activities commit
+        counters.flush();
+        assertEquals(Optional.of(0), counters.find(earlyReader.getId()));
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        counters.flush();
+
+        assertEquals(Optional.of(2), counters.find(earlyReader.getId()));
+        assertEquals(Optional.of(0), counters.find(lateReader.getId()));
+        assertEquals(Optional.of(0), counters.find(outsider.getId()));
+
+        // Drift, e.g. increments for activities that were later deleted
+        userActivityAccessRepository.incrementUnreadCount(project.getId(), T0.plusSeconds(20), 5);
+        assertEquals(Optional.of(5), counters.find(lateReader.getId()));
+
+        counters.reconcile();
+
+        assertEquals(Optional.of(2), counters.find(earlyReader.getId()));
+        assertEquals(Optional.of(0), counters.find(lateReader.getId()));
+        assertEquals(Optional.of(0), counters.find(outsider.getId()));
+
+        // Another node flushing increments the recount already covered adds nothing
+        userActivityAccessRepository.incrementUnreadCount(project.getId(), T0.plusSeconds(5), 2);
+        assertEquals(Optional.of(2), counters.find(earlyReader.getId()));
+
+        // Activities created after the recount are still added
+        userActivityAccessRepository.incrementUnreadCount(project.getId(), ZonedDateTime.now(ZoneId.of("UTC")).plusMinutes(1), 1);
+        assertEquals(Optional.of(3), counters.find(earlyReader.getId()));
+    }
+
+    @Test
+    void firstReadCreatesTheCounterOnce() {
+        User newcomer = JpaFixtures.user(entityManager, "newcomer");
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(Optional.empty(), counters.find(newcomer.getId()));
+        assertEquals(4, counters.create(newcomer, 4, T0));
+        assertEquals(Optional.of(4), counters.find(newcomer.getId()));
+
+        // A concurrent first read loses the insert and returns the stored count
+        assertEquals(4, counters.create(newcomer, 7, T0));
+        assertEquals(Optional.of(4), counters.find(newcomer.getId()));
+    }
+
+    private void access(User user, ZonedDateTime lastAccessedAt) {
+        UserActivityAccess access = new UserActivityAccess(user);
+        access.setLastAccessedAt(lastAccessedAt);
+        entityManager.persist(access);
+    }
+}
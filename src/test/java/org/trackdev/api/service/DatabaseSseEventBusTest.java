@@ -0,0 +1,98 @@
+package org.trackdev.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.entity.SseOutboxEvent;
+import org.trackdev.api.repository.SseBusNodeRepository;
+import org.trackdev.api.repository.SseOutboxEventRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The outbox poll moves past id gaps, but still delivers an event whose transaction commits
+ * after the poll has moved past its id.
+ */
+@ExtendWith(MockitoExtension.class)
+class DatabaseSseEventBusTest {
+
+    @Mock
+    private SseOutboxEventRepository outboxRepository;
+
+    @Mock
+    private SseBusNodeRepository nodeRepository;
+
+    private DatabaseSseEventBus bus;
+    private final List<Long> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TrackDevProperties properties = new TrackDevProperties();
+        // Polls are driven by the test
+        properties.getSse().setBusPollIntervalMs(3_600_000L);
+        bus = new DatabaseSseEventBus();
+        ReflectionTestUtils.setField(bus, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(bus, "nodeRepository", nodeRepository);
+        ReflectionTestUtils.setField(bus, "trackDevProperties", properties);
+        ReflectionTestUtils.setField(bus, "meterRegistry", new SimpleMeterRegistry());
+        when(outboxRepository.findMaxId()).thenReturn(1L);
+        bus.start(batch -> batch.forEach(envelope -> delivered.add(envelope.id())));
+        bus.gapGraceMillis = 0L;
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    void deliversAnIdThatCommitsAfterItsGapWasSkipped() {
+        when(outboxRepository.findTop500ByIdGreaterThanOrderByIdAsc(1L)).thenReturn(List.of(row(2), row(4)));
+        when(outboxRepository.findByIdInOrderByIdAsc(List.of(3L))).thenReturn(List.of());
+
+        bus.poll();
+        assertEquals(List.of(2L, 4L), delivered);
+
+        // The slow transaction of id 3 has committed by the next poll
+        when(outboxRepository.findTop500ByIdGreaterThanOrderByIdAsc(4L)).thenReturn(List.of());
+        when(outboxRepository.findByIdInOrderByIdAsc(List.of(3L))).thenReturn(List.of(row(3)));
+        bus.poll();
+        assertEquals(List.of(2L, 4L, 3L), delivered);
+
+        // Delivered once, then no longer awaited
+        bus.poll();
+        assertEquals(3, delivered.size());
+        verify(outboxRepository, times(2)).findByIdInOrderByIdAsc(anyCollection());
+    }
+
+    @Test
+    void waitsForAGapDuringTheGracePeriod() {
+        bus.gapGraceMillis = 60_000L;
+        when(outboxRepository.findTop500ByIdGreaterThanOrderByIdAsc(1L)).thenReturn(List.of(row(3)));
+
+        bus.poll();
+
+        assertTrue(delivered.isEmpty());
+        verify(outboxRepository, never()).findByIdInOrderByIdAsc(anyCollection());
+    }
+
+    private static SseOutboxEvent row(long id) {
+        SseOutboxEvent row = new SseOutboxEvent("node", "task_event", null, "sprint:1", "{}",
+                ZonedDateTime.now(ZoneId.of("UTC")));
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+}
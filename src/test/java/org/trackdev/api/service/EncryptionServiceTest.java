@@ -0,0 +1,47 @@
+package org.trackdev.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EncryptionService.
+ * Tests the round trip and that repeated reads of a value are served from the decrypt cache.
+ */
+class EncryptionServiceTest {
+
+    private static final String KEY = "0123456789abcdef0123456789abcdef";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void decryptsEachCiphertextOnce() {
+        EncryptionService service = new EncryptionService(KEY, 100, meterRegistry);
+        // Written by another node: nothing cached yet
+        String ciphertext = new EncryptionService(KEY, 100, new SimpleMeterRegistry()).encrypt("student@uni.edu");
+
+        assertTrue(ciphertext.startsWith("ENC:"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("student@uni.edu", service.decrypt(ciphertext));
+        }
+        assertEquals(1, meterRegistry.get("encryption.decrypt.time").timer().count());
+    }
+
+    @Test
+    void encryptedValuesReadBackWithoutDecrypting() {
+        EncryptionService service = new EncryptionService(KEY, 100, meterRegistry);
+
+        String ciphertext = service.encrypt("token");
+        assertEquals("token", service.decrypt(ciphertext));
+        assertEquals(0, meterRegistry.get("encryption.decrypt.time").timer().count());
+    }
+
+    @Test
+    void plainValuesPassThrough() {
+        EncryptionService service = new EncryptionService("", 100, meterRegistry);
+
+        assertEquals("plain", service.encrypt("plain"));
+        assertEquals("plain", service.decrypt("plain"));
+    }
+}
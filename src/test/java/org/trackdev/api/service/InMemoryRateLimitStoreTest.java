@@ -0,0 +1,86 @@
+package org.trackdev.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryRateLimitStore and the token bucket step it shares with the
+ * database store.
+ */
+class InMemoryRateLimitStoreTest {
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            RateLimitStore.Decision decision = store.tryAcquire("user-a", 5, 60);
+            assertTrue(decision.allowed());
+            assertEquals(4 - i, decision.remaining());
+        }
+        RateLimitStore.Decision rejected = store.tryAcquire("user-a", 5, 60);
+        assertFalse(rejected.allowed());
+        // One token per second
+        assertTrue(rejected.retryAfterMillis() > 0 && rejected.retryAfterMillis() <= 1000);
+
+        // Other keys have their own bucket
+        assertTrue(store.tryAcquire("user-b", 5, 60).allowed());
+    }
+
+    @Test
+    void stepRefillsOverTime() {
+        long now = 1_000_000_000L;
+        long arrival = 0L;
+        for (int i = 0; i < 2; i++) {
+            RateLimitStore.Step step = RateLimitStore.step(arrival, now, 2, 60);
+            assertTrue(step.decision().allowed());
+            arrival = step.arrivalMicros();
+        }
+        assertFalse(RateLimitStore.step(arrival, now, 2, 60).decision().allowed());
+        // A second later one token is back
+        assertTrue(RateLimitStore.step(arrival, now + 1_000_000L, 2, 60).decision().allowed());
+    }
+
+    @Test
+    void purgeDropsOnlyFullBuckets() {
+        store.tryAcquire("busy", 5, 1);
+        store.tryAcquire("idle", 5, Integer.MAX_VALUE);
+        // The idle bucket refills within a microsecond, the busy one only after a minute
+        sleepMillis(2);
+        store.purgeExpired();
+
+        assertEquals(1, store.size());
+        RateLimitStore.Decision decision = store.tryAcquire("busy", 5, 1);
+        assertEquals(3, decision.remaining());
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws Exception {
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            executor.submit(() -> {
+                if (store.tryAcquire("shared", 100, 1).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, allowed.get());
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
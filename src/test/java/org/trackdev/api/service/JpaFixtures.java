@@ -0,0 +1,37 @@
+package org.trackdev.api.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.trackdev.api.entity.Project;
+import org.trackdev.api.entity.User;
+
+/**
+ * Entities and helpers shared by the {@link JpaSliceTest} classes.
+ */
+final class JpaFixtures {
+
+    private JpaFixtures() {}
+
+    /** Persists an enabled user named after the username, with an email derived from it. */
+    static User user(TestEntityManager entityManager, String username) {
+        User user = new User(username, username, username + "@trackdev.test", "secret");
+        user.setChangePassword(false);
+        user.setEnabled(true);
+        entityManager.persist(user);
+        return user;
+    }
+
+    /** Persists a project whose slug is its lower-cased name. */
+    static Project project(TestEntityManager entityManager, String name) {
+        Project project = new Project(name);
+        project.setSlug(name.toLowerCase());
+        entityManager.persist(project);
+        return project;
+    }
+
+    static Statistics statistics(TestEntityManager entityManager) {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+}
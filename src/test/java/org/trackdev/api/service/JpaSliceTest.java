@@ -0,0 +1,25 @@
+package org.trackdev.api.service;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.annotation.*;
+
+/**
+ * JPA slice over an in-memory H2 database in MySQL mode, with Flyway off and Hibernate
+ * statistics on so tests can count statements. Each application context gets its own
+ * database, so rows a test commits never reach another test class.
+ * Extra properties go in a {@code @TestPropertySource} on the test class.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=KEY,VALUE,YEAR,MONTH,DAY,USER"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public @interface JpaSliceTest {
+}
@@ -0,0 +1,112 @@
+package org.trackdev.api.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.trackdev.api.configuration.BoundedPasswordEncoder;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A login waiting for a password hashing thread holds no database connection, and the user it
+ * returns carries what the login response needs without one.
+ */
+@JpaSliceTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoginConnectionTest {
+
+    private static final String EMAIL = "waiting@trackdev.test";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        // Blocks every hash until released, so the pool can be saturated on purpose
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return encodedPassword.equals("hashed:" + rawPassword);
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 4, 10000, meterRegistry);
+
+        User user = new User("waiting", "waiting", EMAIL, "hashed:secret");
+        user.setChangePassword(false);
+        user.setEnabled(true);
+        userRepository.save(user);
+
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "repo", userRepository);
+        ReflectionTestUtils.setField(userService, "passwordEncoder", encoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void waitsForAHashThreadWithoutAConnection() throws Exception {
+        // The only hashing thread is busy, so the login queues behind it
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("other"));
+        CompletableFuture<User> login = CompletableFuture.supplyAsync(() -> userService.matchPassword(EMAIL, "secret"));
+        waitForQueue(1);
+
+        assertEquals(0, ((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections());
+
+        release.countDown();
+        User user = login.get(5, TimeUnit.SECONDS);
+        assertEquals("waiting", user.getUsername());
+        assertTrue(Hibernate.isInitialized(user.getRoles()));
+        assertEquals("hashed:other", running.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueue(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hash.queue").gauge().value() < size
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(size, meterRegistry.get("password.hash.queue").gauge().value());
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
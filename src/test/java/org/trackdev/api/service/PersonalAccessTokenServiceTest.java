@@ -0,0 +1,118 @@
+package org.trackdev.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.trackdev.api.configuration.UserType;
+import org.trackdev.api.entity.PersonalAccessToken;
+import org.trackdev.api.entity.Role;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.repository.PersonalAccessTokenRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Personal access tokens are resolved from the database once and then served from the cache,
+ * a revoked token is rejected as soon as its revocation commits, and each token keeps its own
+ * last use time.
+ */
+@ExtendWith(MockitoExtension.class)
+class PersonalAccessTokenServiceTest {
+
+    private static final String PLAINTEXT = PersonalAccessTokenService.TOKEN_PREFIX + "test-token";
+    private static final String USER_ID = "user-1";
+
+    @Mock private PersonalAccessTokenRepository tokenRepository;
+    @Mock private UserService userService;
+    @Mock private SecurityAuditLogger auditLogger;
+
+    private PersonalAccessTokenService service;
+    private PersonalAccessToken pat;
+
+    @BeforeEach
+    void setUp() {
+        service = new PersonalAccessTokenService();
+        ReflectionTestUtils.setField(service, "repo", tokenRepository);
+        ReflectionTestUtils.setField(service, "userService", userService);
+        ReflectionTestUtils.setField(service, "auditLogger", auditLogger);
+
+        User user = new User("student", "Student", "student@trackdev.test", "secret");
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+        user.setEnabled(true);
+        user.addRole(new Role(UserType.STUDENT));
+        pat = new PersonalAccessToken("cli", PersonalAccessTokenService.hashToken(PLAINTEXT),
+                "tdpat_test", user, null);
+        ReflectionTestUtils.setField(pat, "id", "token-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void servesARepeatedTokenFromTheCache() {
+        when(tokenRepository.findActiveWithUserRoles(pat.getTokenHash())).thenReturn(Optional.of(pat));
+
+        PersonalAccessTokenService.PatPrincipal first = service.authenticate(PLAINTEXT);
+        PersonalAccessTokenService.PatPrincipal second = service.authenticate(PLAINTEXT);
+
+        assertEquals(USER_ID, second.userId());
+        assertEquals(List.of("ROLE_STUDENT"), second.authorities());
+        assertSame(first, second);
+        verify(tokenRepository, times(1)).findActiveWithUserRoles(any());
+    }
+
+    @Test
+    void rejectsATokenOnceItsRevocationCommits() {
+        when(tokenRepository.findActiveWithUserRoles(pat.getTokenHash())).thenReturn(Optional.of(pat));
+        when(tokenRepository.findById("token-1")).thenReturn(Optional.of(pat));
+        assertNotNull(service.authenticate(PLAINTEXT));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.revokeToken("token-1", USER_ID);
+        // A request racing the revocation still reads the uncommitted, active row
+        assertNotNull(service.authenticate(PLAINTEXT));
+
+        when(tokenRepository.findActiveWithUserRoles(pat.getTokenHash())).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertNull(service.authenticate(PLAINTEXT));
+    }
+
+    @Test
+    void flushKeepsTheLastUseOfEachToken() {
+        ZonedDateTime earlier = ZonedDateTime.of(2026, 1, 10, 9, 0, 0, 0, ZoneId.of("UTC"));
+        ZonedDateTime later = earlier.plusMinutes(5);
+        @SuppressWarnings("unchecked")
+        Map<String, ZonedDateTime> pending =
+                (Map<String, ZonedDateTime>) ReflectionTestUtils.getField(service, "pendingLastUsed");
+        pending.put("token-1", earlier);
+        pending.put("token-2", later);
+        pending.put("token-3", later.plusNanos(1_000));
+
+        service.flushLastUsed();
+
+        verify(tokenRepository).updateLastUsedAt(List.of("token-1"), earlier);
+        verify(tokenRepository).updateLastUsedAt(argThat(ids -> ids.containsAll(List.of("token-2", "token-3"))
+                && ids.size() == 2), eq(later));
+        verifyNoMoreInteractions(tokenRepository);
+        assertTrue(pending.isEmpty());
+    }
+}
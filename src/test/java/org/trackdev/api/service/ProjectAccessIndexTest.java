@@ -0,0 +1,168 @@
+package org.trackdev.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.configuration.UserType;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.entity.AccessIndexChange;
+import org.trackdev.api.entity.Project;
+import org.trackdev.api.repository.AccessIndexChangeRepository;
+import org.trackdev.api.repository.CourseRepository;
+import org.trackdev.api.repository.GroupRepository;
+import org.trackdev.api.repository.UserRepository;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectAccessIndex.
+ * The repositories are mocked with a small mutable "database" so refreshes can be checked
+ * against a fresh load.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectAccessIndexTest {
+
+    @Mock
+    private GroupRepository projectRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccessIndexChangeRepository changeRepository;
+
+    @Mock
+    private UserService userService;
+
+    private ProjectAccessIndex index;
+
+    private final List<Object[]> memberRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        index = new ProjectAccessIndex();
+        ReflectionTestUtils.setField(index, "projectRepository", projectRepository);
+        ReflectionTestUtils.setField(index, "courseRepository", courseRepository);
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "changeRepository", changeRepository);
+        ReflectionTestUtils.setField(index, "trackDevProperties", new TrackDevProperties());
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+
+        memberRows.add(new Object[]{1L, "student-id"});
+        lenient().when(projectRepository.findAllMemberIds()).thenAnswer(inv -> List.copyOf(memberRows));
+        lenient().when(projectRepository.findAllCourseIds()).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        lenient().when(projectRepository.findCourseIdById(1L)).thenReturn(Optional.of(10L));
+        lenient().when(projectRepository.findMemberIdsById(1L)).thenAnswer(inv -> memberRows.stream()
+                .filter(row -> row[0].equals(1L)).map(row -> (String) row[1]).toList());
+        lenient().when(courseRepository.findAllOwnerIds())
+                .thenReturn(List.<Object[]>of(new Object[]{10L, "professor-id", "subject-owner-id"}));
+        lenient().when(userRepository.findAllAccessRows()).thenReturn(List.of(
+                new Object[]{"admin-id", 1L, UserType.ADMIN},
+                new Object[]{"professor-id", 1L, UserType.PROFESSOR},
+                new Object[]{"professor-id", 1L, UserType.WORKSPACE_ADMIN},
+                new Object[]{"student-id", 1L, UserType.STUDENT},
+                new Object[]{"other-id", null, null}));
+
+        index.buildOnStartup();
+    }
+
+    @Test
+    void buildLoadsProjectsCoursesAndRoles() {
+        assertTrue(index.isReady());
+        assertTrue(index.project(1L).isMember("student-id"));
+        assertFalse(index.project(1L).isMember("other-id"));
+        assertEquals(10L, index.project(1L).courseId());
+        assertEquals("subject-owner-id", index.course(10L).subjectOwnerId());
+
+        assertTrue(index.user("admin-id").hasRole(UserType.ADMIN));
+        assertTrue(index.user("professor-id").hasRole(UserType.PROFESSOR));
+        assertTrue(index.user("professor-id").hasRole(UserType.WORKSPACE_ADMIN));
+        assertFalse(index.user("professor-id").hasRole(UserType.ADMIN));
+        assertFalse(index.user("other-id").hasRole(UserType.STUDENT));
+
+        assertNull(index.project(99L));
+        assertNull(index.user("unknown-id"));
+    }
+
+    @Test
+    void projectChangedRefreshesMembership() {
+        Project project = new Project("Alpha");
+        ReflectionTestUtils.setField(project, "id", 1L);
+
+        memberRows.add(new Object[]{1L, "other-id"});
+        // No transaction is active, so the refresh is applied straight away
+        index.projectChanged(project);
+
+        assertTrue(index.project(1L).isMember("other-id"));
+        assertTrue(index.findInconsistencies().isEmpty());
+        verify(changeRepository).save(argThat(change -> change.getKind() == AccessIndexChange.Kind.PROJECT_CHANGED
+                && change.getEntityId().equals("1")));
+    }
+
+    @Test
+    void changesCommittedOnAnotherNodeAreAppliedOnce() {
+        // Another node removed the student from the project
+        memberRows.clear();
+        AccessIndexChange change = new AccessIndexChange("other-node", AccessIndexChange.Kind.PROJECT_CHANGED,
+                "1", ZonedDateTime.now(ZoneId.of("UTC")));
+        ReflectionTestUtils.setField(change, "id", 7L);
+        when(changeRepository.findByCreatedAtAfterAndNodeIdNotOrderByIdAsc(any(), any())).thenReturn(List.of(change));
+        assertTrue(index.project(1L).isMember("student-id"));
+
+        index.syncChanges();
+        index.syncChanges();
+
+        assertFalse(index.project(1L).isMember("student-id"));
+        verify(projectRepository, times(1)).findMemberIdsById(1L);
+        assertTrue(index.findInconsistencies().isEmpty());
+    }
+
+    @Test
+    void userRemovedDropsUserAndMemberships() {
+        memberRows.clear();
+        index.userRemoved("student-id");
+
+        assertNull(index.user("student-id"));
+        assertFalse(index.project(1L).isMember("student-id"));
+        when(userRepository.findAllAccessRows()).thenReturn(List.of(
+                new Object[]{"admin-id", 1L, UserType.ADMIN},
+                new Object[]{"professor-id", 1L, UserType.PROFESSOR},
+                new Object[]{"professor-id", 1L, UserType.WORKSPACE_ADMIN},
+                new Object[]{"other-id", null, null}));
+        assertTrue(index.findInconsistencies().isEmpty());
+    }
+
+    @Test
+    void accessCheckerAnswersFromIndex() {
+        AccessChecker accessChecker = new AccessChecker();
+        ReflectionTestUtils.setField(accessChecker, "userService", userService);
+        ReflectionTestUtils.setField(accessChecker, "accessIndex", index);
+
+        // Only the id is set: the entity's members and course are never consulted
+        Project project = new Project("Alpha");
+        ReflectionTestUtils.setField(project, "id", 1L);
+
+        assertDoesNotThrow(() -> accessChecker.checkCanViewProject(project, "student-id"));
+        assertDoesNotThrow(() -> accessChecker.checkCanViewProject(project, "professor-id"));
+        assertDoesNotThrow(() -> accessChecker.checkCanViewProject(project, "subject-owner-id"));
+        assertDoesNotThrow(() -> accessChecker.checkCanViewProject(project, "admin-id"));
+        assertThrows(ServiceException.class, () -> accessChecker.checkCanViewProject(project, "other-id"));
+        verifyNoInteractions(userService);
+    }
+}
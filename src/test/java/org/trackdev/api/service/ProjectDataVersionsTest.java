@@ -0,0 +1,81 @@
+package org.trackdev.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.trackdev.api.entity.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The project data version moves with every committed change a report of the project reads,
+ * and only then.
+ */
+@JpaSliceTest
+@Import(ProjectDataVersions.class)
+class ProjectDataVersionsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectDataVersions versions;
+
+    @Test
+    void versionFollowsCommittedChanges() {
+        User reporter = JpaFixtures.user(entityManager, "versions");
+        Project project = project("tracked");
+        Project other = project("other");
+        Task task = new Task("Task", reporter);
+        task.setProject(project);
+        entityManager.persist(task);
+        Sprint sprint = new Sprint("Sprint");
+        sprint.setProject(project);
+        entityManager.persist(sprint);
+        commit();
+        long otherVersion = versions.getVersion(other.getId());
+
+        long version = versions.getVersion(project.getId());
+        update(() -> entityManager.find(Task.class, task.getId()).setEstimationPoints(5));
+        assertTrue(versions.getVersion(project.getId()) > version, "task update");
+
+        version = versions.getVersion(project.getId());
+        update(() -> entityManager.find(Task.class, task.getId()).getName());
+        assertEquals(version, versions.getVersion(project.getId()), "read only");
+
+        version = versions.getVersion(project.getId());
+        update(() -> entityManager.find(Sprint.class, sprint.getId()).getActiveTasks()
+                .add(entityManager.find(Task.class, task.getId())));
+        assertTrue(versions.getVersion(project.getId()) > version, "sprint assignment");
+
+        version = versions.getVersion(project.getId());
+        update(() -> versions.touchTask(task.getId()));
+        assertTrue(versions.getVersion(project.getId()) > version, "bulk write");
+
+        version = versions.getVersion(project.getId());
+        TestTransaction.start();
+        entityManager.find(Task.class, task.getId()).setEstimationPoints(8);
+        entityManager.flush();
+        TestTransaction.end();
+        assertEquals(version, versions.getVersion(project.getId()), "rolled back");
+
+        assertEquals(otherVersion, versions.getVersion(other.getId()), "other project");
+    }
+
+    private void update(Runnable change) {
+        TestTransaction.start();
+        change.run();
+        commit();
+    }
+
+    private void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+
+    private Project project(String slug) {
+        return JpaFixtures.project(entityManager, slug);
+    }
+}
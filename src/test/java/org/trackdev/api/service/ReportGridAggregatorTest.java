@@ -0,0 +1,181 @@
+package org.trackdev.api.service;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.trackdev.api.dto.ReportResultDTO;
+import org.trackdev.api.entity.*;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Report grids computed by the aggregate query match the per-task rules: the assignee is the
+ * student, every active sprint of a task is a sprint of it, user stories are left out, and
+ * profile attribute values fall back to the default.
+ */
+@JpaSliceTest
+@Import(ReportGridAggregator.class)
+class ReportGridAggregatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReportGridAggregator aggregator;
+
+    private Statistics statistics;
+    private Project project;
+    private User ana;
+    private User biel;
+    private Sprint first;
+    private Sprint second;
+    private Task small;
+    private Task shared;
+    private Task other;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = JpaFixtures.statistics(entityManager);
+        project = JpaFixtures.project(entityManager, "Report");
+        ana = user();
+        biel = user();
+        first = sprint();
+        second = sprint();
+
+        small = task(TaskType.TASK, ana, TaskStatus.TODO, 3, first);
+        shared = task(TaskType.BUG, ana, TaskStatus.DONE, 5, first, second);
+        other = task(TaskType.TASK, biel, TaskStatus.DONE, 2, second);
+        task(TaskType.USER_STORY, ana, TaskStatus.DONE, 8, first);
+        task(TaskType.TASK, null, TaskStatus.DONE, 4, first);
+        task(TaskType.TASK, biel, TaskStatus.DONE, 7);
+    }
+
+    @Test
+    void sumsEstimationPointsByStudentAndSprint() {
+        Report report = report(ReportAxisType.STUDENTS, ReportAxisType.SPRINTS);
+        report.setMagnitude(ReportMagnitude.ESTIMATION_POINTS);
+
+        ReportGridAggregator.Grid grid = compute(report, null);
+
+        assertEquals(Map.of(cell(ana, first), 8, cell(ana, second), 5, cell(biel, second), 2), grid.data());
+        assertEquals(Map.of(ana.getId(), 13, biel.getId(), 2), grid.rowTotals());
+        assertEquals(Map.of(id(first), 8, id(second), 7), grid.columnTotals());
+        assertEquals(15, grid.grandTotal());
+    }
+
+    @Test
+    void filtersByStatus() {
+        Report report = report(ReportAxisType.STUDENTS, ReportAxisType.SPRINTS);
+        report.setMagnitude(ReportMagnitude.ESTIMATION_POINTS);
+
+        ReportGridAggregator.Grid grid = compute(report, List.of(TaskStatus.DONE));
+
+        assertEquals(Map.of(cell(ana, first), 5, cell(ana, second), 5, cell(biel, second), 2), grid.data());
+        assertEquals(12, grid.grandTotal());
+    }
+
+    @Test
+    void countsPullRequestsInEverySprintPair() {
+        addPullRequest(small);
+        addPullRequest(shared);
+        addPullRequest(shared);
+        Report report = report(ReportAxisType.SPRINTS, ReportAxisType.SPRINTS);
+        report.setMagnitude(ReportMagnitude.PULL_REQUESTS);
+
+        ReportGridAggregator.Grid grid = compute(report, null);
+
+        String f = id(first);
+        String s = id(second);
+        assertEquals(Map.of(f + ":" + f, 3, f + ":" + s, 2, s + ":" + f, 2, s + ":" + s, 2), grid.data());
+        assertEquals(9, grid.grandTotal());
+    }
+
+    @Test
+    void usesTheAttributeDefaultForMissingAndInvalidValues() {
+        Profile profile = new Profile("Profile", "Report profile", ana);
+        entityManager.persist(profile);
+        ProfileAttribute attribute = new ProfileAttribute("Effort", AttributeType.FLOAT, AttributeTarget.TASK, profile);
+        attribute.setDefaultValue("1");
+        entityManager.persist(attribute);
+        entityManager.persist(new TaskAttributeValue(small, attribute, "2.6"));
+        entityManager.persist(new TaskAttributeValue(shared, attribute, "lots"));
+        Report report = report(ReportAxisType.STUDENTS, ReportAxisType.STUDENTS);
+        report.setProfileAttribute(attribute);
+
+        ReportGridAggregator.Grid grid = compute(report, null);
+
+        // ana: 3 + 1, biel: one task with a sprint and one without, both with the default
+        assertEquals(Map.of(cell(ana, ana), 4, cell(biel, biel), 2), grid.data());
+        assertEquals(6, grid.grandTotal());
+    }
+
+    private ReportGridAggregator.Grid compute(Report report, List<TaskStatus> statuses) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        ReportGridAggregator.Grid grid = aggregator.compute(report, project.getId(),
+                headers(report.getRowType()), headers(report.getColumnType()), statuses);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return grid;
+    }
+
+    private List<ReportResultDTO.AxisHeader> headers(ReportAxisType axisType) {
+        return axisType == ReportAxisType.STUDENTS
+                ? List.of(new ReportResultDTO.AxisHeader(ana.getId(), "Ana"), new ReportResultDTO.AxisHeader(biel.getId(), "Biel"))
+                : List.of(new ReportResultDTO.AxisHeader(id(first), "First"), new ReportResultDTO.AxisHeader(id(second), "Second"));
+    }
+
+    private Report report(ReportAxisType rowType, ReportAxisType columnType) {
+        Report report = new Report();
+        report.setRowType(rowType);
+        report.setColumnType(columnType);
+        report.setElement(ReportElement.TASK);
+        return report;
+    }
+
+    private static String cell(Object row, Object column) {
+        return id(row) + ":" + id(column);
+    }
+
+    private static String id(Object axis) {
+        return axis instanceof User user ? user.getId() : ((Sprint) axis).getId().toString();
+    }
+
+    private void addPullRequest(Task task) {
+        PullRequest pr = new PullRequest("https://github.com/trackdev/report/pull/" + (++sequence), "PR_" + sequence);
+        entityManager.persist(pr);
+        task.addPullRequest(pr);
+    }
+
+    private Task task(TaskType type, User assignee, TaskStatus status, int points, Sprint... sprints) {
+        Task task = new Task("Task " + (++sequence), ana);
+        task.setType(type);
+        task.setProject(project);
+        task.setAssignee(assignee);
+        task.forceSetStatus(status);
+        task.setEstimationPoints(points);
+        entityManager.persist(task);
+        for (Sprint sprint : sprints) {
+            sprint.getActiveTasks().add(task);
+        }
+        return task;
+    }
+
+    private Sprint sprint() {
+        Sprint sprint = new Sprint("Sprint " + (++sequence));
+        sprint.setProject(project);
+        entityManager.persist(sprint);
+        return sprint;
+    }
+
+    private User user() {
+        return JpaFixtures.user(entityManager, "user" + (++sequence));
+    }
+}
@@ -0,0 +1,66 @@
+package org.trackdev.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.dto.CourseReportResultDTO;
+import org.trackdev.api.dto.ReportResultDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReportMatrixServiceTest {
+
+    private ReportMatrixService matrixService;
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(ReportService.class);
+        matrixService = new ReportMatrixService();
+        matrixService.reportService = reportService;
+        matrixService.parallelism = 2;
+        matrixService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matrixService.shutdown();
+    }
+
+    @Test
+    void combinesProjectsInParallelWithinTheLimit() {
+        List<Long> projectIds = List.of(1L, 2L, 3L, 4L, 5L, 6L);
+        when(reportService.planCourseReport(7L, 3L, "prof"))
+                .thenReturn(new ReportService.CourseReportPlan(7L, "Points", 3L, projectIds));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(reportService.computeReportForCourseProject(eq(7L), anyLong(), isNull())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            Long projectId = invocation.getArgument(1);
+            if (projectId == 4L) {
+                throw new ServiceException("Report configuration is incomplete");
+            }
+            ReportResultDTO result = new ReportResultDTO();
+            result.setProjectId(projectId);
+            result.setGrandTotal(projectId.intValue() * 10);
+            return result;
+        });
+
+        CourseReportResultDTO result = matrixService.computeForCourse(3L, 7L, "prof", null);
+
+        assertEquals(List.of(1L, 2L, 3L, 5L, 6L), result.getProjects().stream().map(ReportResultDTO::getProjectId).toList());
+        assertEquals(Map.of(1L, 10, 2L, 20, 3L, 30, 5L, 50, 6L, 60), result.getProjectTotals());
+        assertEquals(170, result.getGrandTotal());
+        assertEquals(List.of(4L), result.getFailedProjectIds());
+        assertTrue(maxRunning.get() <= 2, "ran " + maxRunning.get() + " projects at once");
+    }
+}
@@ -0,0 +1,118 @@
+package org.trackdev.api.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.trackdev.api.entity.User;
+import org.trackdev.api.repository.SprintRepository;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reference entities are read from the second-level cache after the first load, writes through
+ * Hibernate keep the cached copy current, and the native sprint assignment statements leave
+ * unrelated regions alone.
+ */
+@JpaSliceTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.cache.auto_evict_collection_cache=true",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=classpath:hibernate-cache.conf"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SprintRepository sprintRepository;
+
+    private Statistics statistics;
+    private String username;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        // Committed rows outlive each test, so every test gets its own user
+        username = "cached" + UUID.randomUUID().toString().substring(0, 8);
+        userId = JpaFixtures.user(entityManager, username).getId();
+        commit();
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    void servesUsersFromTheCacheAfterTheFirstLoad() {
+        assertEquals(username, inTransaction(this::findUser));
+        assertEquals(1, users().getMissCount());
+        assertEquals(1, users().getPutCount());
+
+        statistics.clear();
+        assertEquals(username, inTransaction(this::findUser));
+        assertEquals(1, users().getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keepsTheCachedUserCurrentOnWrite() {
+        inTransaction(this::findUser);
+
+        inTransaction(() -> {
+            entityManager.find(User.class, userId).setFullName("Renamed User");
+            return null;
+        });
+
+        statistics.clear();
+        assertEquals("Renamed User", inTransaction(this::findUser));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void sprintAssignmentStatementsKeepTheUserRegion() {
+        inTransaction(this::findUser);
+
+        inTransaction(() -> {
+            sprintRepository.clearSprintAssignmentsForTask(-1L);
+            return null;
+        });
+
+        statistics.clear();
+        inTransaction(this::findUser);
+        assertEquals(1, users().getHitCount());
+        assertEquals(0, users().getMissCount());
+    }
+
+    private String findUser() {
+        return entityManager.find(User.class, userId).getFullName();
+    }
+
+    private CacheRegionStatistics users() {
+        return statistics.getDomainDataRegionStatistics("users");
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        TestTransaction.start();
+        T result = work.get();
+        commit();
+        return result;
+    }
+
+    private void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+    }
+}
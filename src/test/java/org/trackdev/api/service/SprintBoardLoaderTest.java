@@ -0,0 +1,139 @@
+package org.trackdev.api.service;
+
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.trackdev.api.entity.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements the sprint board needs. Runs against an in-memory H2 schema
+ * generated from the entities.
+ */
+@JpaSliceTest
+@Import(SprintBoardLoader.class)
+class SprintBoardLoaderTest {
+
+    private static final long MAX_BOARD_STATEMENTS = 7;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SprintBoardLoader boardLoader;
+
+    private Statistics statistics;
+    private Project project;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = JpaFixtures.statistics(entityManager);
+        project = JpaFixtures.project(entityManager, "Board");
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheBoard() {
+        Long smallSprint = createSprint(2);
+        Long largeSprint = createSprint(25);
+        entityManager.flush();
+
+        long small = loadAndWalk(smallSprint, 2);
+        long large = loadAndWalk(largeSprint, 25);
+
+        assertEquals(small, large);
+        assertTrue(large <= MAX_BOARD_STATEMENTS, "board took " + large + " statements");
+    }
+
+    @Test
+    void emptySprintLoads() {
+        Long sprintId = createSprint(0);
+        entityManager.flush();
+
+        assertTrue(loadAndWalk(sprintId, 0) <= 3);
+    }
+
+    /** Loads the board and reads everything the board mapping reads, returning the statement count. */
+    private long loadAndWalk(Long sprintId, int expectedTasks) {
+        entityManager.clear();
+        statistics.clear();
+
+        Sprint sprint = entityManager.find(Sprint.class, sprintId);
+        boardLoader.load(sprint);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(Hibernate.isInitialized(sprint.getActiveTasks()));
+        assertEquals(expectedTasks, sprint.getActiveTasks().size());
+        for (Task task : sprint.getActiveTasks()) {
+            walk(task);
+            assertTrue(Hibernate.isInitialized(task.getChildTasks()));
+            assertEquals(1, task.getChildTasks().size());
+            task.getChildTasks().forEach(this::walk);
+            assertNotNull(task.getParentTaskId());
+        }
+        assertEquals(statements, statistics.getPrepareStatementCount(), "mapping the board ran extra statements");
+        return statements;
+    }
+
+    private void walk(Task task) {
+        walk(task.getReporter());
+        walk(task.getAssignee());
+        assertTrue(Hibernate.isInitialized(task.getActiveSprints()));
+        task.getActiveSprints().forEach(Sprint::getStatusText);
+        assertTrue(Hibernate.isInitialized(task.getPullRequests()));
+        task.getPullRequests().forEach(pr -> walk(pr.getAuthor()));
+    }
+
+    private void walk(User user) {
+        if (user != null) {
+            assertTrue(Hibernate.isInitialized(user));
+            user.getFullName();
+            user.getGithubInfo().getLogin();
+            user.getDiscordInfo().getUsername();
+        }
+    }
+
+    /**
+     * A sprint with the given number of tasks. Each task has its own reporter and assignee,
+     * a sub-task, a pull request and a parent story outside the sprint, so every collection
+     * and user the board shows grows with the task count.
+     */
+    private Long createSprint(int tasks) {
+        Sprint sprint = new Sprint("Sprint " + (++sequence));
+        sprint.setProject(project);
+        entityManager.persist(sprint);
+
+        Task story = task(newUser(), null);
+        for (int i = 0; i < tasks; i++) {
+            Task task = task(newUser(), story);
+            task.setAssignee(newUser());
+            sprint.getActiveTasks().add(task);
+
+            Task subtask = task(newUser(), task);
+            subtask.setAssignee(newUser());
+
+            PullRequest pr = new PullRequest("https://github.com/trackdev/board/pull/" + (++sequence), "PR_" + sequence);
+            pr.setAuthor(newUser());
+            entityManager.persist(pr);
+            task.addPullRequest(pr);
+        }
+        return sprint.getId();
+    }
+
+    private Task task(User reporter, Task parent) {
+        Task task = new Task("Task " + (++sequence), reporter);
+        task.setProject(project);
+        task.setParentTask(parent);
+        entityManager.persist(task);
+        return task;
+    }
+
+    private User newUser() {
+        return JpaFixtures.user(entityManager, "user" + (++sequence));
+    }
+}
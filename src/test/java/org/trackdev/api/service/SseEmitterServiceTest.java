@@ -1,6 +1,7 @@
 package org.trackdev.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +11,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.trackdev.api.configuration.TrackDevProperties;
+import org.trackdev.api.controller.exceptions.EntityNotFound;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.dto.SseStatsDTO;
+import org.trackdev.api.dto.TaskBasicDTO;
+import org.trackdev.api.dto.TaskEventDTO;
 import org.trackdev.api.entity.Sprint;
 import org.trackdev.api.entity.Task;
 import org.trackdev.api.entity.User;
 import org.trackdev.api.mapper.TaskMapper;
+import org.trackdev.api.repository.TaskRepository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,8 +50,15 @@ class SseEmitterServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private SseEmitterService sseEmitterService;
     private TrackDevProperties trackDevProperties;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
@@ -45,8 +70,14 @@ class SseEmitterServiceTest {
         trackDevProperties.getSse().setHeartbeatIntervalSeconds(30);
         trackDevProperties.getSse().setThreadPoolSize(2);
 
+        meterRegistry = new SimpleMeterRegistry();
+
         sseEmitterService = new SseEmitterService(objectMapper);
+        ReflectionTestUtils.setField(sseEmitterService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(sseEmitterService, "eventBus", new InJvmSseEventBus());
         ReflectionTestUtils.setField(sseEmitterService, "taskMapper", taskMapper);
+        ReflectionTestUtils.setField(sseEmitterService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(sseEmitterService, "transactionManager", transactionManager);
         ReflectionTestUtils.setField(sseEmitterService, "trackDevProperties", trackDevProperties);
 
         // Call @PostConstruct manually
@@ -119,6 +150,36 @@ class SseEmitterServiceTest {
             assertEquals(1, sseEmitterService.getUserConnectionCount("userB"));
             assertEquals(2, sseEmitterService.getTotalConnections());
         }
+
+        @Test
+        @DisplayName("counts rejected subscriptions by reason")
+        void countsRejectionsByReason() {
+            trackDevProperties.getSse().setMaxConnectionsPerUser(1);
+
+            sseEmitterService.subscribe(1L, "userA");
+            sseEmitterService.subscribe(1L, "userA");
+
+            assertEquals(1.0, meterRegistry.counter("sse.subscriptions.rejected", "reason", "max_user_connections").count());
+            assertEquals(0.0, meterRegistry.counter("sse.subscriptions.rejected", "reason", "max_connections").count());
+        }
+
+        @Test
+        @DisplayName("stats list the sprints with the most subscribers first")
+        void statsListTopSprints() {
+            sseEmitterService.subscribe(1L, "user1");
+            sseEmitterService.subscribe(2L, "user2");
+            sseEmitterService.subscribe(2L, "user3");
+            sseEmitterService.subscribe(3L, "user4");
+
+            SseStatsDTO stats = sseEmitterService.getStats(2);
+
+            assertEquals(4, stats.getTotalConnections());
+            assertEquals(4, stats.getConnectedUsers());
+            assertEquals(2, stats.getTopSprints().size());
+            assertEquals(2L, stats.getTopSprints().get(0).getSprintId());
+            assertEquals(2, stats.getTopSprints().get(0).getSubscribers());
+            assertEquals(2.0, meterRegistry.get("sse.subscribers.per.sprint.max").gauge().value());
+        }
     }
 
     @Nested
@@ -163,7 +224,442 @@ class SseEmitterServiceTest {
 
             sseEmitterService.publishTaskEvent(task, actor, "task_updated");
 
-            verify(objectMapper).writeValueAsString(any());
+            // Fan-out happens on the dispatch pool, not on the publishing thread
+            verify(objectMapper, timeout(1000)).writeValueAsString(any());
+        }
+
+        @Test
+        @DisplayName("without subscribers, does not map the task")
+        void withoutSubscribers_skipsMapping() {
+            Task task = new Task();
+            ReflectionTestUtils.setField(task, "id", 1L);
+            Sprint sprint = new Sprint();
+            ReflectionTestUtils.setField(sprint, "id", 1L);
+            task.setActiveSprints(List.of(sprint));
+
+            User actor = new User();
+            ReflectionTestUtils.setField(actor, "id", "actor1");
+
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+
+            verify(taskMapper, never()).toBasicDTO(any());
+        }
+
+        @Test
+        @DisplayName("outside a transaction, commits the version bump and sends the stored version")
+        void outsideTransaction_persistsVersion() throws Exception {
+            sseEmitterService.subscribe(1L, "user1");
+
+            Task task = new Task();
+            ReflectionTestUtils.setField(task, "id", 1L);
+            Sprint sprint = new Sprint();
+            ReflectionTestUtils.setField(sprint, "id", 1L);
+            task.setActiveSprints(List.of(sprint));
+
+            User actor = new User();
+            ReflectionTestUtils.setField(actor, "id", "actor1");
+
+            // The instance is stale: another transaction already moved the task to version 5
+            when(taskRepository.incrementEventVersion(1L)).thenReturn(1);
+            when(taskRepository.findEventVersion(1L)).thenReturn(Optional.of(6L));
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"test\":true}");
+
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+
+            verify(transactionManager).commit(any());
+            assertEquals(6L, task.getEventVersion());
+            verify(objectMapper, timeout(1000)).writeValueAsString(
+                    argThat((TaskEventDTO event) -> event.getVersion() == 6L));
+        }
+    }
+
+    @Nested
+    @DisplayName("publishTaskEvent() inside a transaction")
+    class PublishInTransaction {
+
+        private Task task;
+        private User actor;
+
+        @BeforeEach
+        void setUpTransaction() {
+            TransactionSynchronizationManager.initSynchronization();
+            sseEmitterService.subscribe(1L, "user1");
+
+            task = new Task();
+            ReflectionTestUtils.setField(task, "id", 1L);
+            Sprint sprint = new Sprint();
+            ReflectionTestUtils.setField(sprint, "id", 1L);
+            task.setActiveSprints(List.of(sprint));
+
+            actor = new User();
+            ReflectionTestUtils.setField(actor, "id", "actor1");
+        }
+
+        @AfterEach
+        void tearDownTransaction() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("collapses repeated events for a task and sends them only after commit")
+        void coalescesUntilCommit() throws Exception {
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"test\":true}");
+
+            sseEmitterService.publishTaskEvent(task, actor, "task_created");
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+
+            verify(taskMapper, never()).toBasicDTO(any());
+            verify(objectMapper, never()).writeValueAsString(any());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+
+            verify(taskMapper, times(1)).toBasicDTO(task);
+            // One stored version bump per task and transaction
+            verify(taskRepository, times(1)).incrementEventVersion(1L);
+            verify(transactionManager, never()).getTransaction(any());
+            verify(objectMapper, timeout(1000).times(1)).writeValueAsString(
+                    argThat((TaskEventDTO event) -> "task_created".equals(event.getEventType())));
+        }
+
+        @Test
+        @DisplayName("an update with a captured earlier state is sent as a versioned patch")
+        void sendsPatchOfChangedFields() throws Exception {
+            TaskBasicDTO before = new TaskBasicDTO();
+            before.setName("Board");
+            before.setStatus("TODO");
+            TaskBasicDTO after = new TaskBasicDTO();
+            after.setName("Board");
+            after.setStatus("INPROGRESS");
+            when(taskMapper.toShallowBasicDTO(task)).thenReturn(before, after);
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"test\":true}");
+
+            sseEmitterService.captureTaskState(task);
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+
+            verify(taskMapper, never()).toBasicDTO(any());
+            verify(objectMapper, timeout(1000)).writeValueAsString(argThat((TaskEventDTO event) ->
+                    event.getTask() == null
+                            && Map.of("status", "INPROGRESS").equals(event.getChanged())
+                            && event.getVersion() == 1L));
+        }
+
+        @Test
+        @DisplayName("sends nothing when the transaction rolls back")
+        void discardsOnRollback() throws Exception {
+            sseEmitterService.publishTaskEvent(task, actor, "task_updated");
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            verify(taskMapper, never()).toBasicDTO(any());
+            verify(objectMapper, never()).writeValueAsString(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("per-connection outbound queue")
+    class OutboundQueue {
+
+        private SseConnection.Frame frame(Object coalesceKey) {
+            return new SseConnection.Frame(SseEmitter.event().name("task_event").data("{}").build(), coalesceKey, false);
+        }
+
+        @Test
+        @DisplayName("a newer task_updated drops the pending one for the same task and queues at the tail")
+        void coalescesSameTask() {
+            SseConnection connection = new SseConnection(new SseEmitter(), "user1", 4);
+            SseConnection.Frame first = frame(7L);
+            SseConnection.Frame other = frame(8L);
+            SseConnection.Frame second = frame(7L);
+
+            assertEquals(SseConnection.OfferResult.QUEUED, connection.offer(first));
+            assertEquals(SseConnection.OfferResult.QUEUED, connection.offer(other));
+            assertEquals(SseConnection.OfferResult.COALESCED, connection.offer(second));
+
+            // Publish order is kept: the frame queued in between leaves first
+            assertEquals(2, connection.pendingCount());
+            assertSame(other, connection.poll());
+            assertSame(second, connection.poll());
+        }
+
+        @Test
+        @DisplayName("replayed frames coalesce without reordering")
+        void preloadKeepsPublishOrder() {
+            SseConnection connection = new SseConnection(new SseEmitter(), "user1", 4);
+            SseConnection.Frame snapshot = frame(7L);
+            SseConnection.Frame patch = frame(8L);
+            SseConnection.Frame newer = frame(7L);
+
+            connection.preload(List.of(snapshot, patch, newer));
+
+            assertSame(patch, connection.poll());
+            assertSame(newer, connection.poll());
+            assertNull(connection.poll());
+        }
+
+        @Test
+        @DisplayName("a full queue drops new frames and marks the connection slow until drained")
+        void dropsWhenFullAndTracksSlowness() {
+            SseConnection connection = new SseConnection(new SseEmitter(), "user1", 2);
+            connection.offer(frame(null));
+            connection.offer(frame(null));
+
+            assertEquals(SseConnection.OfferResult.DROPPED, connection.offer(frame(null)));
+            assertTrue(connection.isSlowFor(0L, System.nanoTime()));
+
+            while (connection.poll() != null) {
+                // drain
+            }
+            assertFalse(connection.isSlowFor(0L, System.nanoTime()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Last-Event-ID replay")
+    class Replay {
+
+        private SseConnection.Frame frame() {
+            return new SseConnection.Frame(SseEmitter.event().name("task_event").data("{}").build(), null, false);
+        }
+
+        private List<SseConnection.Frame> frames(List<SseEventLog.Entry> entries) {
+            return entries.stream().map(SseEventLog.Entry::frame).toList();
+        }
+
+        @Test
+        @DisplayName("event log returns the frames after the last seen id, oldest first")
+        void logReturnsMissedFrames() {
+            SseEventLog eventLog = new SseEventLog(3, 10L);
+            SseConnection.Frame f11 = frame();
+            SseConnection.Frame f12 = frame();
+            eventLog.append(11L, f11);
+            eventLog.append(12L, f12);
+
+            assertEquals(List.of(f11, f12), frames(eventLog.entriesAfter(10L)));
+            assertEquals(List.of(f12), frames(eventLog.entriesAfter(11L)));
+            assertEquals(List.of(), frames(eventLog.entriesAfter(12L)));
+        }
+
+        @Test
+        @DisplayName("event log reports a gap once the missed events were overwritten")
+        void logReportsGapBeyondBuffer() {
+            SseEventLog eventLog = new SseEventLog(2, 10L);
+            eventLog.append(11L, frame());
+            eventLog.append(12L, frame());
+            eventLog.append(13L, frame());
+
+            assertNull(eventLog.entriesAfter(10L));
+            assertNotNull(eventLog.entriesAfter(11L));
+            assertNull(eventLog.entriesAfter(5L));
+        }
+
+        @Test
+        @DisplayName("an event delivered late makes clients that may have missed it resync")
+        void lateEventRaisesTheFloor() {
+            SseEventLog eventLog = new SseEventLog(10, 10L);
+            eventLog.append(11L, frame());
+            eventLog.append(13L, frame());
+            eventLog.append(12L, frame());
+
+            // Last seen 13 does not tell whether 12 was received before disconnecting
+            assertNull(eventLog.entriesAfter(13L));
+            // Clients that saw an event after the late one are up to date
+            eventLog.append(14L, frame());
+            assertEquals(List.of(), frames(eventLog.entriesAfter(14L)));
+        }
+
+        @Test
+        @DisplayName("reconnecting with an unknown id gets a single resync_required event")
+        void unknownIdResyncs() throws InterruptedException {
+            sseEmitterService.subscribe(1L, "user1", "not-an-id");
+
+            long deadline = System.currentTimeMillis() + 1000;
+            while (sseEmitterService.getSprintConnectionCount(1L) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(1.0, meterRegistry.counter("sse.replay.resync").count());
+            assertEquals(1, sseEmitterService.getSprintConnectionCount(1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("multiplexed stream")
+    class MultiplexedStream {
+
+        @SuppressWarnings("unchecked")
+        private String connectionIdOf(String userId) {
+            Map<String, SseConnection> connections =
+                    (Map<String, SseConnection>) ReflectionTestUtils.getField(sseEmitterService, "connections");
+            return connections.values().stream()
+                    .filter(c -> c.userId().equals(userId))
+                    .map(SseConnection::connectionId)
+                    .findFirst().orElseThrow();
+        }
+
+        private void awaitTopicCount(String topic, int expected) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 1000;
+            while (sseEmitterService.getTopicConnectionCount(topic) != expected && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        @Test
+        @DisplayName("one connection follows several topics and counts once against the limits")
+        void oneConnectionManyTopics() {
+            sseEmitterService.subscribeTopics("user1", Set.of("sprint:1", "sprint:2", "project:5"), null);
+
+            assertEquals(1, sseEmitterService.getTotalConnections());
+            assertEquals(1, sseEmitterService.getUserConnectionCount("user1"));
+            assertEquals(1, sseEmitterService.getSprintConnectionCount(1L));
+            assertEquals(1, sseEmitterService.getSprintConnectionCount(2L));
+            assertEquals(1, sseEmitterService.getTopicConnectionCount("project:5"));
+        }
+
+        @Test
+        @DisplayName("rejects more topics than allowed per connection")
+        void rejectsTooManyTopics() {
+            trackDevProperties.getSse().setMaxTopicsPerConnection(1);
+
+            assertThrows(ServiceException.class,
+                    () -> sseEmitterService.subscribeTopics("user1", Set.of("sprint:1", "sprint:2"), null));
+            assertEquals(0, sseEmitterService.getTotalConnections());
+        }
+
+        @Test
+        @DisplayName("topics can be added and removed while the stream is open")
+        void updatesTopics() throws InterruptedException {
+            sseEmitterService.subscribeTopics("user1", Set.of("sprint:1"), null);
+            String connectionId = connectionIdOf("user1");
+
+            Set<String> topics = sseEmitterService.updateTopics(connectionId, "user1",
+                    Set.of("sprint:2"), Set.of("sprint:1"));
+
+            assertEquals(Set.of("sprint:2"), topics);
+            awaitTopicCount("sprint:2", 1);
+            assertEquals(1, sseEmitterService.getSprintConnectionCount(2L));
+            assertEquals(0, sseEmitterService.getSprintConnectionCount(1L));
+        }
+
+        @Test
+        @DisplayName("a cleanup emptying a topic never drops a subscriber added at the same time")
+        void concurrentAddAndRemoveKeepSubscriber() throws Exception {
+            ExecutorService threads = Executors.newFixedThreadPool(2);
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    String topic = "sprint:" + (100 + i);
+                    SseConnection leaving = new SseConnection(new SseEmitter(), "user1", 4);
+                    SseConnection joining = new SseConnection(new SseEmitter(), "user2", 4);
+                    ReflectionTestUtils.invokeMethod(sseEmitterService, "addToTopic", topic, leaving);
+
+                    CountDownLatch start = new CountDownLatch(1);
+                    Future<?> remove = threads.submit(() -> {
+                        start.await();
+                        ReflectionTestUtils.invokeMethod(sseEmitterService, "removeFromTopic", topic, leaving);
+                        return null;
+                    });
+                    Future<?> add = threads.submit(() -> {
+                        start.await();
+                        ReflectionTestUtils.invokeMethod(sseEmitterService, "addToTopic", topic, joining);
+                        return null;
+                    });
+                    start.countDown();
+                    remove.get();
+                    add.get();
+
+                    assertEquals(1, sseEmitterService.getTopicConnectionCount(topic), topic);
+                }
+            } finally {
+                threads.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("another user cannot change a stream's topics")
+        void otherUserCannotUpdate() {
+            sseEmitterService.subscribeTopics("user1", Set.of("sprint:1"), null);
+            String connectionId = connectionIdOf("user1");
+
+            assertThrows(EntityNotFound.class,
+                    () -> sseEmitterService.updateTopics(connectionId, "user2", Set.of("sprint:2"), Set.of()));
+        }
+
+        @Test
+        @DisplayName("closing the stream removes it from every topic")
+        void closeRemovesFromAllTopics() throws InterruptedException {
+            SseEmitter emitter = sseEmitterService.subscribeTopics("user1", Set.of("sprint:1", "project:5"), null);
+            emitter.complete();
+
+            // The failed heartbeat write releases the connection
+            trackDevProperties.getSse().setHeartbeatIntervalSeconds(0);
+            sseEmitterService.sweepHeartbeats();
+            awaitTopicCount("project:5", 0);
+
+            assertEquals(0, sseEmitterService.getTotalConnections());
+            assertEquals(0, sseEmitterService.getSprintConnectionCount(1L));
+            assertEquals(0, sseEmitterService.getTopicConnectionCount("project:5"));
+        }
+    }
+
+    @Nested
+    @DisplayName("heartbeat sweep")
+    class HeartbeatSweep {
+
+        @Test
+        @DisplayName("skips connections that were written to during the current interval")
+        void skipsRecentlyActiveConnections() {
+            sseEmitterService.subscribe(1L, "user1");
+
+            sseEmitterService.sweepHeartbeats();
+
+            assertEquals(0.0, meterRegistry.counter("sse.heartbeat.sent").count());
+            assertEquals(1, meterRegistry.timer("sse.heartbeat.sweep").count());
+        }
+
+        @Test
+        @DisplayName("writes one heartbeat to every idle connection across sprints")
+        void sendsToIdleConnections() {
+            sseEmitterService.subscribe(1L, "user1");
+            sseEmitterService.subscribe(1L, "user2");
+            sseEmitterService.subscribe(2L, "user3");
+
+            // Interval of zero makes every connection idle for this sweep
+            trackDevProperties.getSse().setHeartbeatIntervalSeconds(0);
+            sseEmitterService.sweepHeartbeats();
+
+            assertEquals(3.0, meterRegistry.counter("sse.heartbeat.sent").count());
+            assertEquals(0.0, meterRegistry.counter("sse.heartbeat.failures").count());
+            assertEquals(3, sseEmitterService.getTotalConnections());
+        }
+
+        @Test
+        @DisplayName("completed emitters are counted as failures and released")
+        void releasesFailedConnections() throws InterruptedException {
+            SseEmitter emitter = sseEmitterService.subscribe(1L, "user1");
+            emitter.complete();
+
+            trackDevProperties.getSse().setHeartbeatIntervalSeconds(0);
+            sseEmitterService.sweepHeartbeats();
+
+            // The write happens on a writer thread
+            long deadline = System.currentTimeMillis() + 1000;
+            while (sseEmitterService.getTotalConnections() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertEquals(1.0, meterRegistry.counter("sse.heartbeat.failures").count());
+            assertEquals(0, sseEmitterService.getTotalConnections());
+            assertEquals(0, sseEmitterService.getUserConnectionCount("user1"));
+            assertEquals(0, sseEmitterService.getSprintConnectionCount(1L));
         }
     }
 
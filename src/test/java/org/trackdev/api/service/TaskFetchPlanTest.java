@@ -0,0 +1,201 @@
+package org.trackdev.api.service;
+
+import org.hibernate.Hibernate;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.trackdev.api.entity.*;
+import org.trackdev.api.repository.TaskRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements of the main task read paths now that to-one associations are
+ * lazy, and checks each path loads what its response needs and nothing it doesn't.
+ */
+@JpaSliceTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=50"
+})
+class TaskFetchPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = JpaFixtures.statistics(entityManager);
+    }
+
+    @Test
+    void projectTaskListDoesNotGrowWithTheProject() {
+        Long smallProject = createProject(3);
+        Long largeProject = createProject(20);
+        entityManager.flush();
+
+        long small = countStatements(() -> walkList(taskRepository.findByProjectId(smallProject), 6));
+        long large = countStatements(() -> walkList(taskRepository.findByProjectId(largeProject), 40));
+
+        assertEquals(small, large);
+    }
+
+    @Test
+    void myTasksPageLoadsPeopleButNotProjects() {
+        Long projectId = createProject(12);
+        entityManager.flush();
+
+        Specification<Task> spec = (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        long statements = countStatements(() -> {
+            Page<Task> page = taskRepository.findAll(spec, pageable);
+            assertEquals(24, page.getTotalElements());
+            for (Task task : page.getContent()) {
+                assertTrue(Hibernate.isInitialized(task.getReporter()));
+                assertTrue(Hibernate.isInitialized(task.getAssignee()));
+                assertFalse(Hibernate.isInitialized(task.getProject()));
+            }
+        });
+        // Page query and count query
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void analysisLoadsPullRequestsOnly() {
+        Long projectId = createProject(10);
+        entityManager.flush();
+
+        long statements = countStatements(() -> {
+            List<Task> done = taskRepository.findByProjectIdAndStatus(projectId, TaskStatus.DONE);
+            assertEquals(10, done.size());
+            for (Task task : done) {
+                assertTrue(Hibernate.isInitialized(task.getPullRequests()));
+                task.getPullRequests().forEach(PullRequest::getMerged);
+                assertFalse(Hibernate.isInitialized(task.getReporter()));
+                assertFalse(Hibernate.isInitialized(task.getProject()));
+            }
+        });
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void webhookLinkingLoadsProjectAndPullRequests() {
+        createProject(5);
+        entityManager.flush();
+        String taskKey = "t-" + sequence;
+        Task keyed = taskRepository.findAll().get(0);
+        keyed.setTaskKey(taskKey);
+        entityManager.flush();
+
+        long statements = countStatements(() -> {
+            Task task = taskRepository.findByTaskKey(taskKey).orElseThrow();
+            assertTrue(Hibernate.isInitialized(task.getProject()));
+            task.getProject().getName();
+            assertTrue(Hibernate.isInitialized(task.getPullRequests()));
+            assertFalse(Hibernate.isInitialized(task.getReporter()));
+            assertFalse(Hibernate.isInitialized(task.getProject().getCourse()));
+        });
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /** Reads what TaskMapper.toBasicDTO reads for each task of a project task list. */
+    private void walkList(Collection<Task> tasks, int expected) {
+        assertEquals(expected, tasks.size());
+        for (Task task : tasks) {
+            walk(task);
+            task.getChildTasks().forEach(this::walk);
+            assertFalse(Hibernate.isInitialized(task.getProject()));
+        }
+    }
+
+    private void walk(Task task) {
+        walk(task.getReporter());
+        walk(task.getAssignee());
+        task.getActiveSprints().forEach(Sprint::getStatusText);
+        task.getPullRequests().forEach(pr -> walk(pr.getAuthor()));
+        task.getParentTaskId();
+    }
+
+    private void walk(User user) {
+        if (user != null) {
+            user.getFullName();
+            user.getGithubInfo().getLogin();
+            user.getDiscordInfo().getUsername();
+        }
+    }
+
+    /**
+     * A project in a course with the given number of DONE tasks. Each task has its own
+     * reporter and assignee, sits in the project's sprint, has a merged pull request and a
+     * sub-task, so everything a task list shows grows with the task count.
+     */
+    private Long createProject(int tasks) {
+        User professor = newUser();
+        Subject subject = new Subject("Subject " + (++sequence), "S" + sequence, professor);
+        entityManager.persist(subject);
+        Course course = new Course(2025);
+        course.setSubject(subject);
+        entityManager.persist(course);
+
+        Project project = new Project("Project " + (++sequence));
+        project.setSlug("project-" + sequence);
+        project.setCourse(course);
+        entityManager.persist(project);
+
+        Sprint sprint = new Sprint("Sprint " + (++sequence));
+        sprint.setProject(project);
+        entityManager.persist(sprint);
+
+        for (int i = 0; i < tasks; i++) {
+            Task task = task(project, null);
+            ReflectionTestUtils.setField(task, "status", TaskStatus.DONE);
+            sprint.getActiveTasks().add(task);
+
+            PullRequest pr = new PullRequest("https://github.com/trackdev/plans/pull/" + (++sequence), "PR_" + sequence);
+            pr.setAuthor(newUser());
+            pr.setMerged(true);
+            entityManager.persist(pr);
+            task.addPullRequest(pr);
+
+            task(project, task);
+        }
+        return project.getId();
+    }
+
+    private Task task(Project project, Task parent) {
+        Task task = new Task("Task " + (++sequence), newUser());
+        task.setProject(project);
+        task.setAssignee(newUser());
+        task.setParentTask(parent);
+        entityManager.persist(task);
+        return task;
+    }
+
+    private User newUser() {
+        return JpaFixtures.user(entityManager, "user" + (++sequence));
+    }
+}
@@ -0,0 +1,139 @@
+package org.trackdev.api.service;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.trackdev.api.controller.exceptions.ServiceException;
+import org.trackdev.api.entity.*;
+import org.trackdev.api.entity.taskchanges.TaskChange;
+import org.trackdev.api.entity.taskchanges.TaskNameChange;
+import org.trackdev.api.entity.taskchanges.TaskStatusChange;
+import org.trackdev.api.utils.KeysetCursor;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scrolls a task's history by cursor with the type, author, date and search filters applied in
+ * the query, at a constant statement count per page.
+ */
+@JpaSliceTest
+@Import(TaskChangeService.class)
+class TaskHistoryScrollTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskChangeService taskChangeService;
+
+    private Statistics statistics;
+    private Task task;
+    private User ana;
+    private User biel;
+
+    @BeforeEach
+    void setUp() {
+        statistics = JpaFixtures.statistics(entityManager);
+        ana = JpaFixtures.user(entityManager, "ana");
+        biel = JpaFixtures.user(entityManager, "biel");
+        Project project = JpaFixtures.project(entityManager, "History");
+        task = new Task("Task", ana);
+        task.setProject(project);
+        entityManager.persist(task);
+        Task other = new Task("Other", ana);
+        other.setProject(project);
+        entityManager.persist(other);
+
+        // 15 status changes by ana, 10 name changes by biel, and noise on another task
+        for (int i = 0; i < 15; i++) {
+            entityManager.persist(new TaskStatusChange(ana, task, "TODO", "INPROGRESS"));
+        }
+        for (int i = 0; i < 10; i++) {
+            entityManager.persist(new TaskNameChange(biel, task, "name " + i, "name " + (i + 1)));
+        }
+        entityManager.persist(new TaskStatusChange(ana, other, "TODO", "DONE"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void scrollsEveryChangeOnceNewestFirst() {
+        List<TaskChange> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            KeysetCursor.Slice<TaskChange> slice = taskChangeService.scrollHistory(
+                    task.getId(), null, null, null, null, null, cursor, 10, false);
+            slice.items().forEach(change -> assertNotNull(change.getAuthorUsername()));
+            // The page query, authors fetched in it
+            assertEquals(1, statistics.getPrepareStatementCount());
+            seen.addAll(slice.items());
+            cursor = slice.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, new HashSet<>(seen.stream().map(TaskChange::getId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            TaskChange previous = seen.get(i - 1);
+            TaskChange current = seen.get(i);
+            assertTrue(!current.getChangedAt().isAfter(previous.getChangedAt()));
+            if (current.getChangedAt().isEqual(previous.getChangedAt())) {
+                assertTrue(current.getId() < previous.getId());
+            }
+        }
+    }
+
+    @Test
+    void filtersByTypeAuthorAndDate() {
+        assertEquals(15, scroll(List.of(TaskStatusChange.CHANGE_TYPE_NAME), null, null, null, null));
+        assertEquals(10, scroll(null, biel.getId(), null, null, null));
+        assertEquals(0, scroll(List.of(TaskStatusChange.CHANGE_TYPE_NAME), biel.getId(), null, null, null));
+
+        ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        assertEquals(25, scroll(null, null, now.minusHours(1), now.plusHours(1), null));
+        assertEquals(0, scroll(null, null, null, now.minusHours(1), null));
+    }
+
+    @Test
+    void appliesTheSearchExpression() {
+        assertEquals(10, scroll(null, null, null, null, "typeColumn:" + TaskNameChange.CHANGE_TYPE_NAME));
+        assertEquals(25, taskChangeService.getHistory(task.getId(), null, null, null, null,
+                "typeColumn:" + TaskStatusChange.CHANGE_TYPE_NAME + " or author.id:" + biel.getId()).size());
+    }
+
+    @Test
+    void fullHistoryKeepsTheRecordedOrder() {
+        List<TaskChange> history = taskChangeService.getHistory(task.getId(), null, null, null, null, null);
+
+        assertEquals(25, history.size());
+        for (int i = 1; i < history.size(); i++) {
+            assertTrue(history.get(i - 1).getId() < history.get(i).getId());
+        }
+    }
+
+    @Test
+    void rejectsInvalidSearches() {
+        assertThrows(ServiceException.class, () -> scroll(null, null, null, null, "and"));
+        assertThrows(ServiceException.class, () -> scroll(null, null, null, null, "missing:value"));
+        // Paths into the author would expose any user column
+        assertThrows(ServiceException.class, () -> scroll(null, null, null, null, "author.password:a*"));
+        // Dates go through the typed from/to filters
+        assertThrows(ServiceException.class, () -> scroll(null, null, null, null, "changedAt>2025-01-01"));
+        assertThrows(ServiceException.class, () -> taskChangeService.getHistory(task.getId(), null, null, null, null,
+                "typeColumn:" + TaskNameChange.CHANGE_TYPE_NAME + " or author.username:biel"));
+    }
+
+    private long scroll(List<String> types, String authorId, ZonedDateTime from, ZonedDateTime to, String search) {
+        return taskChangeService.scrollHistory(task.getId(), types, authorId, from, to, search, null, 50, true)
+                .totalElements();
+    }
+}
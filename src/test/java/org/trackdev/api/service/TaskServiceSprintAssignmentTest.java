@@ -39,6 +39,9 @@ class TaskServiceSprintAssignmentTest {
     @Mock
     private SprintService sprintService;
 
+    @Mock
+    private SseEmitterService sseEmitterService;
+
     private TaskService taskService;
 
     private Task task;
@@ -54,6 +57,7 @@ class TaskServiceSprintAssignmentTest {
         ReflectionTestUtils.setField(taskService, "userService", userService);
         ReflectionTestUtils.setField(taskService, "accessChecker", accessChecker);
         ReflectionTestUtils.setField(taskService, "sprintService", sprintService);
+        ReflectionTestUtils.setField(taskService, "sseEmitterService", sseEmitterService);
 
         user = new User();
         ReflectionTestUtils.setField(user, "id", "user-1");